@@ -33,6 +33,9 @@ object V {
 	val minimalMixin = "0.7.10"
 	val simpleConfig = "1.0.+"
 	val lazuLib = "1.2+"
+	
+	// Benchmarks
+	val jmh = "1.37"
 
 	// Integration
 	val jei = "15.2.0.27"
@@ -105,6 +108,14 @@ sourceSets.main.get().resources {
 	srcDir("src/generated/resources")
 }
 
+// JMH benchmarks, which may reuse the test fixtures
+val jmhSourceSet: SourceSet = sourceSets.create("jmh") {
+	compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+	runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+configurations[jmhSourceSet.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[jmhSourceSet.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
 // Java options ----------------------------------------------------------------
 
 java {
@@ -254,6 +265,11 @@ dependencies {
 	// IDE
 	implementation("org.junit.jupiter:junit-jupiter:5.9.0")
 	implementation("org.jetbrains:annotations:23.0.0")
+	
+	// Tests and benchmarks
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.9.0")
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:${V.jmh}")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${V.jmh}")
 
 	// Minecraft
 	minecraft("net.neoforged:forge:${V.minecraftForge}")
@@ -321,6 +337,18 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// Run benchmarks, optionally filtered with -Pjmh=<regex>
+val jmhTask = tasks.register<JavaExec>("jmh") {
+	group = "verification"
+	description = "Runs the JMH benchmarks"
+	classpath = jmhSourceSet.runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+	val results = layout.buildDirectory.file("reports/jmh/results.json")
+	args("-prof", "gc", "-rf", "json", "-rff", results.get().asFile.path)
+	(findProperty("jmh") as String?)?.let { args(it) }
+	doFirst { results.get().asFile.parentFile.mkdirs() }
+}
+
 tasks.classes {
 	dependsOn(tasks.extractNatives.get())
 }
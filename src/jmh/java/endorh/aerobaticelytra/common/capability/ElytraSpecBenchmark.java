@@ -0,0 +1,126 @@
+package endorh.aerobaticelytra.common.capability;
+
+import endorh.aerobaticelytra.common.capability.ElytraSpecCapability.ElytraSpec;
+import endorh.aerobaticelytra.common.capability.IElytraSpec.TrailData;
+import endorh.aerobaticelytra.common.item.IAbility;
+import endorh.aerobaticelytra.common.item.IAbility.Ability;
+import net.minecraft.world.item.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ability accessors of {@link ElytraSpec}, compared with the
+ * hash map it used to store its abilities in ({@link LegacySpec})<br>
+ * Only built-in abilities are used, so the ability registry doesn't
+ * need to be baked.<br>
+ * Run with {@code -prof gc} to check that writes to the shared default
+ * spec ({@link #defaultSpecWrites}) are dropped without allocating.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElytraSpecBenchmark {
+	private static final Ability[] ABILITIES = Ability.values();
+	private static final Map<String, Float> UNKNOWN = Map.of("unknown:ability", 1F);
+	
+	private final ElytraSpec spec = new ElytraSpec();
+	private final ElytraSpec other = new ElytraSpec();
+	private final LegacySpec legacy = new LegacySpec();
+	private final LegacySpec legacyOther = new LegacySpec();
+	private int i;
+	
+	@Setup public void setup() {
+		for (Ability ability: ABILITIES) {
+			spec.setAbility(ability, ability.ordinal() + 0.5F);
+			other.setAbility(ability, ability.ordinal() + 0.5F);
+			legacy.setAbility(ability, ability.ordinal() + 0.5F);
+			legacyOther.setAbility(ability, ability.ordinal() + 0.5F);
+		}
+	}
+	
+	@Benchmark public float get() {
+		return spec.getAbility(ABILITIES[i++ % ABILITIES.length]);
+	}
+	
+	@Benchmark public float legacyGet() {
+		return legacy.getAbility(ABILITIES[i++ % ABILITIES.length]);
+	}
+	
+	@Benchmark public ElytraSpec set() {
+		spec.setAbility(ABILITIES[i % ABILITIES.length], i++);
+		return spec;
+	}
+	
+	@Benchmark public LegacySpec legacySet() {
+		legacy.setAbility(ABILITIES[i % ABILITIES.length], i++);
+		return legacy;
+	}
+	
+	@Benchmark public ElytraSpec copy() {
+		spec.copy(other);
+		return spec;
+	}
+	
+	@Benchmark public LegacySpec legacyCopy() {
+		legacy.copy(legacyOther);
+		return legacy;
+	}
+	
+	@Benchmark public boolean areAbilitiesEqual() {
+		return spec.areAbilitiesEqual(other);
+	}
+	
+	@Benchmark public boolean legacyAreAbilitiesEqual() {
+		return legacy.areAbilitiesEqual(legacyOther);
+	}
+	
+	/**
+	 * Writes of the ability inheriting recipes and the set abilities
+	 * loot function on a stack without a spec
+	 */
+	@Benchmark public IElytraSpec defaultSpecWrites() {
+		final IElytraSpec spec = ElytraSpecCapability.getElytraSpecOrDefault(ItemStack.EMPTY);
+		spec.setAbility(ABILITIES[i++ % ABILITIES.length], i);
+		spec.getUnknownAbilities().clear();
+		spec.getUnknownAbilities().putAll(UNKNOWN);
+		spec.getEffectAbilities().clear();
+		return spec;
+	}
+	
+	/**
+	 * The ability storage of {@link ElytraSpec} before it used an
+	 * {@link endorh.aerobaticelytra.common.registry.AbilityLayout}
+	 */
+	public static class LegacySpec {
+		private final Map<IAbility, Float> properties = new HashMap<>();
+		private final Map<String, Float> unknownProperties = new HashMap<>();
+		private final TrailData trailData = TrailData.empty();
+		
+		public float getAbility(IAbility prop) {
+			return properties.getOrDefault(prop, prop.getDefault());
+		}
+		
+		public void setAbility(IAbility prop, float value) {
+			properties.put(prop, value);
+		}
+		
+		public void copy(LegacySpec spec) {
+			properties.clear();
+			properties.putAll(spec.properties);
+			unknownProperties.clear();
+			unknownProperties.putAll(spec.unknownProperties);
+			trailData.read(spec.trailData.write());
+		}
+		
+		public boolean areAbilitiesEqual(LegacySpec other) {
+			return properties.equals(other.properties)
+			       && unknownProperties.equals(other.unknownProperties);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package endorh.aerobaticelytra.common.flight;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the collision query of a flyer crossing a dense canopy at high
+ * speed, with {@link CollisionSweep}, compared with the single pass
+ * sweep it replaced ({@link LegacyCollisionSweep})<br>
+ * Blocks are read from a generated canopy of leaves, through a
+ * {@link CanopyReader}, so no level is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionSweepBenchmark {
+	private static final int SIZE = 64;
+	private static final int MASK = SIZE - 1;
+	/**
+	 * Blocks flown per tick
+	 */
+	private static final double SPEED = 3D;
+	private static final double WIDTH = 0.6D;
+	
+	/**
+	 * Fraction of the canopy filled with leaves
+	 */
+	@Param({"0.1", "0.5", "0.9"})
+	public double density;
+	
+	private CollisionSweep sweep;
+	private LegacyCollisionSweep legacy;
+	private double x;
+	
+	@Setup public void setup() {
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+		final BlockState[] blocks = new BlockState[SIZE * SIZE * SIZE];
+		final BlockState leaves = Blocks.OAK_LEAVES.defaultBlockState();
+		final BlockState air = Blocks.AIR.defaultBlockState();
+		final Random random = new Random(0L);
+		for (int i = 0; i < blocks.length; i++)
+			blocks[i] = random.nextDouble() < density? leaves : air;
+		sweep = new CollisionSweep(new CanopyReader(blocks));
+		legacy = new LegacyCollisionSweep(new CanopyReader(blocks));
+	}
+	
+	private AABB next() {
+		x += SPEED;
+		final double z = x * 0.37D, y = 16.3D + (x % 7D);
+		return new AABB(x, y, z, x + WIDTH, y + WIDTH, z + WIDTH);
+	}
+	
+	@Benchmark public int sweep() {
+		sweep.sweep(null, next());
+		return sweep.size();
+	}
+	
+	@Benchmark public int legacySweep() {
+		legacy.sweep(null, next());
+		return legacy.size();
+	}
+	
+	/**
+	 * Reads blocks from a repeating cube of blocks
+	 */
+	private static final class CanopyReader extends BlockReader {
+		private final BlockState[] blocks;
+		
+		private CanopyReader(BlockState[] blocks) {
+			this.blocks = blocks;
+		}
+		
+		@Override void begin(Level world, boolean load) {}
+		@Override void end() {}
+		
+		@Override BlockState get(int x, int y, int z) {
+			return blocks[(x & MASK) | (z & MASK) << 6 | (y & MASK) << 12];
+		}
+	}
+}
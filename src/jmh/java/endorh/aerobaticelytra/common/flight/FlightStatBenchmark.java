@@ -0,0 +1,124 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.flight.FlightStatCounter.StatSink;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the flight stats of many flyers per server tick, accumulated
+ * by {@link FlightStatCounter}s, compared with awarding the distance
+ * stat of every flyer each tick, as it used to be done<br>
+ * Awarding is modelled by {@link ServerStats}, which does the same work
+ * as a vanilla server player: the lookup of the custom stat, the update
+ * of the stats counter and its dirty set, and of every scoreboard
+ * objective tracking the stat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightStatBenchmark {
+	private static final int FLUSH_TICKS = 10 * 20;
+	private static final double DISTANCE = 1.3D;
+	
+	@Param({"16", "128", "1024"})
+	public int flyers;
+	
+	/**
+	 * Scoreboard objectives tracking the distance stat
+	 */
+	@Param({"0", "2"})
+	public int objectives;
+	
+	private FlightStatCounter[] counters;
+	private ServerStats[] stats;
+	private int tick;
+	
+	@Setup public void setup() {
+		FlightStats.AEROBATIC_FLIGHT_ONE_CM = new ResourceLocation("aerobaticelytra", "aerobatic_flight_one_cm");
+		FlightStats.AEROBATIC_BOOSTS = new ResourceLocation("aerobaticelytra", "aerobatic_boosts");
+		FlightStats.AEROBATIC_SLIME_BOUNCES = new ResourceLocation("aerobaticelytra", "aerobatic_slime_bounces");
+		final Scoreboard scoreboard = new Scoreboard(objectives);
+		counters = new FlightStatCounter[flyers];
+		stats = new ServerStats[flyers];
+		for (int i = 0; i < flyers; i++) {
+			counters[i] = new FlightStatCounter();
+			stats[i] = new ServerStats("player" + i, scoreboard);
+		}
+	}
+	
+	@Benchmark public FlightStatCounter[] counter() {
+		final int tick = ++this.tick;
+		for (int i = 0; i < flyers; i++) {
+			final FlightStatCounter counter = counters[i];
+			counter.addDistance(DISTANCE);
+			// Flyers are spread across the flush interval, like their tick counts
+			counter.tick(tick + i, FLUSH_TICKS, stats[i]);
+		}
+		return counters;
+	}
+	
+	@Benchmark public ServerStats[] perTick() {
+		for (int i = 0; i < flyers; i++)
+			stats[i].award(
+			  FlightStats.AEROBATIC_FLIGHT_ONE_CM, (int) Math.round(DISTANCE * 100F));
+		return stats;
+	}
+	
+	/**
+	 * Stats of a server player, doing the work of
+	 * {@code ServerPlayer#awardStat}
+	 */
+	public static class ServerStats implements StatSink {
+		// Like Stats.CUSTOM, shared by every player
+		private static final Map<ResourceLocation, Object> CUSTOM_STATS = new IdentityHashMap<>();
+		
+		private final Object2IntOpenHashMap<Object> values = new Object2IntOpenHashMap<>();
+		private final ObjectOpenHashSet<Object> dirty = new ObjectOpenHashSet<>();
+		private final String name;
+		private final Scoreboard scoreboard;
+		
+		public ServerStats(String name, Scoreboard scoreboard) {
+			this.name = name;
+			this.scoreboard = scoreboard;
+		}
+		
+		@Override public void award(ResourceLocation stat, int amount) {
+			final Object s = CUSTOM_STATS.computeIfAbsent(stat, k -> new Object());
+			values.addTo(s, amount);
+			dirty.add(s);
+			for (Map<String, int[]> scores: scoreboard.get(s))
+				scores.computeIfAbsent(name, k -> new int[1])[0] += amount;
+		}
+	}
+	
+	/**
+	 * Objectives by criterion, each with its scores by player
+	 */
+	public static class Scoreboard {
+		private final int objectives;
+		private final Map<Object, List<Map<String, int[]>>> byCriterion = new HashMap<>();
+		
+		public Scoreboard(int objectives) {
+			this.objectives = objectives;
+		}
+		
+		public List<Map<String, int[]>> get(Object criterion) {
+			return byCriterion.computeIfAbsent(criterion, k -> {
+				final Map<String, int[]>[] list = new HashMap[objectives];
+				for (int i = 0; i < objectives; i++) list[i] = new HashMap<>();
+				return List.of(list);
+			});
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.lazulib.math.Vec3f;
+import net.minecraft.util.Mth;
+
+import static endorh.lazulib.math.Vec3f.PI;
+import static java.lang.Math.abs;
+
+/**
+ * The vector based implementation of {@link VectorBase} that preceded
+ * the quaternion backed one, trimmed to the methods compared by
+ * {@link VectorBaseBenchmark}
+ */
+public class LegacyVectorBase {
+	private static final Vec3f tempVec = Vec3f.ZERO.get();
+	private static final LegacyVectorBase temp = new LegacyVectorBase();
+	
+	public final Vec3f look = Vec3f.ZERO.get();
+	public final Vec3f roll = Vec3f.ZERO.get();
+	public final Vec3f normal = Vec3f.ZERO.get();
+	
+	public void update(float yawDeg, float pitchDeg, float rollDeg) {
+		look.set(yawDeg, pitchDeg, true);
+		roll.set(yawDeg + 90F, 0F, true);
+		roll.rotateAlongOrtVecDegrees(look, rollDeg);
+		normal.set(roll);
+		normal.cross(look);
+	}
+	
+	public float[] toSpherical(float prevYaw) {
+		float newPitch = look.getPitch();
+		float newYaw;
+		float newRoll;
+		
+		if (abs(newPitch) <= 89.9F) {
+			newYaw = look.getYaw();
+			tempVec.set(newYaw + 90F, 0F, true);
+			newRoll = tempVec.angleUnitaryDegrees(roll, look);
+		} else {
+			newYaw = newPitch > 0? normal.getYaw() : (normal.getYaw() + 180F) % 360F;
+			newRoll = 0F;
+		}
+		
+		newYaw += Mth.floor(prevYaw / 360F) * 360F;
+		if (newYaw - prevYaw > 180F)
+			newYaw -= 360F;
+		if (newYaw - prevYaw <= -180F)
+			newYaw += 360F;
+		
+		if (Float.isNaN(newYaw) || Float.isNaN(newPitch) || Float.isNaN(newRoll))
+			return new float[]{0F, 0F, 0F};
+		return new float[]{newYaw, newPitch, newRoll};
+	}
+	
+	public void interpolate(
+	  float t, LegacyVectorBase pre, LegacyVectorBase pos, LegacyVectorBase target
+	) {
+		set(pre);
+		Vec3f axis = look.copy();
+		axis.cross(pos.look);
+		if (axis.isZero()) {
+			axis.set(normal);
+		} else axis.unitary();
+		float lookAngle = look.angleUnitary(pos.look, axis);
+		tempVec.set(roll);
+		tempVec.rotateAlongVec(axis, lookAngle);
+		tempVec.unitary();
+		float rollAngle = tempVec.angleUnitary(pos.roll, pos.look);
+		if (rollAngle > PI)
+			rollAngle = rollAngle - 2 * PI;
+		look.rotateAlongOrtVec(axis, lookAngle * t);
+		normal.rotateAlongVec(axis, lookAngle * t);
+		roll.rotateAlongVec(axis, lookAngle * t);
+		roll.rotateAlongOrtVec(look, rollAngle * t);
+		normal.rotateAlongOrtVec(look, rollAngle * t);
+		
+		rotate(pos.angles(target));
+		
+		look.unitary();
+		roll.unitary();
+		normal.unitary();
+	}
+	
+	public float[] angles(LegacyVectorBase other) {
+		temp.set(this);
+		final float pitch = temp.look.angleProjectedDegrees(other.look, temp.roll);
+		temp.look.rotateAlongOrtVecDegrees(temp.roll, pitch);
+		temp.normal.rotateAlongOrtVecDegrees(temp.roll, pitch);
+		final float yaw = temp.look.angleProjectedDegrees(other.look, temp.normal);
+		temp.look.rotateAlongOrtVecDegrees(temp.normal, yaw);
+		temp.roll.rotateAlongOrtVecDegrees(temp.normal, yaw);
+		final float roll = temp.roll.angleProjectedDegrees(other.roll, temp.look);
+		return new float[]{pitch, yaw, roll};
+	}
+	
+	public void rotate(float[] angles) {
+		rotate(angles[0], angles[1], angles[2]);
+	}
+	
+	public void rotate(float pitch, float yaw, float roll) {
+		look.rotateAlongOrtVecDegrees(this.roll, pitch);
+		normal.rotateAlongOrtVecDegrees(this.roll, pitch);
+		look.rotateAlongOrtVecDegrees(normal, yaw);
+		this.roll.rotateAlongOrtVecDegrees(normal, yaw);
+		this.roll.rotateAlongOrtVecDegrees(look, roll);
+		normal.rotateAlongOrtVecDegrees(look, roll);
+		look.unitary();
+		normal.unitary();
+		this.roll.unitary();
+	}
+	
+	public void set(LegacyVectorBase base) {
+		look.set(base.look);
+		roll.set(base.roll);
+		normal.set(base.normal);
+	}
+}
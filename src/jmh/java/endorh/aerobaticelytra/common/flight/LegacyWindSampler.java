@@ -0,0 +1,120 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.lazulib.math.Vec3f;
+import net.minecraft.world.level.Level;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.synchronizedMap;
+
+/**
+ * The wind sampling of {@link WeatherData} before regions were keyed by
+ * packed coordinates<br>
+ * Regions are looked up by {@link Pair} keys in synchronized maps, and
+ * the wind of a position is the average of the regions whose border it
+ * is close to, collected into sets.
+ */
+public final class LegacyWindSampler {
+	public static final int DIAMETER_SHIFT = 8;
+	public static final long DIAMETER = 1 << DIAMETER_SHIFT;
+	public static final long BORDER = 16 * 2;
+	
+	public final Map<Level, Map<Pair<Long, Long>, WeatherRegion>> weatherRegions = synchronizedMap(new HashMap<>());
+	public final Map<WeatherRegion, WindRegion> windRegions = synchronizedMap(new HashMap<>());
+	
+	public static long scale(double c) {
+		return (long) c >> DIAMETER_SHIFT;
+	}
+	
+	public Set<WeatherRegion> regionsOf(Level world, double x, double z) {
+		long dX = scale(x), dZ = scale(z);
+		double rX = x - (dX << DIAMETER_SHIFT), rZ = z - (dZ << DIAMETER_SHIFT);
+		Set<WeatherRegion> adj = new HashSet<>();
+		adj.add(regionOf(world, dX, dZ));
+		if (rX < BORDER) {
+			adj.add(regionOf(world, dX - 1, dZ));
+			if (rZ < BORDER) {
+				adj.add(regionOf(world, dX, dZ - 1));
+				adj.add(regionOf(world, dX - 1, dZ - 1));
+			} else if (DIAMETER - rZ < BORDER) {
+				adj.add(regionOf(world, dX, dZ + 1));
+				adj.add(regionOf(world, dX - 1, dZ + 1));
+			}
+		} else if (DIAMETER - rX < BORDER) {
+			adj.add(regionOf(world, dX + 1, dZ));
+			if (rZ < BORDER) {
+				adj.add(regionOf(world, dX, dZ - 1));
+				adj.add(regionOf(world, dX + 1, dZ - 1));
+			} else if (DIAMETER - rZ < BORDER) {
+				adj.add(regionOf(world, dX, dZ + 1));
+				adj.add(regionOf(world, dX + 1, dZ + 1));
+			}
+		} else if (rZ < BORDER) {
+			adj.add(regionOf(world, dX, dZ - 1));
+		} else if (DIAMETER - rZ < BORDER) {
+			adj.add(regionOf(world, dX, dZ + 1));
+		}
+		return adj;
+	}
+	
+	public WeatherRegion regionOf(Level world, long x, long z) {
+		Pair<Long, Long> xz = Pair.of(x, z);
+		if (weatherRegions.containsKey(world)) {
+			if (weatherRegions.get(world).containsKey(xz))
+				return weatherRegions.get(world).get(xz);
+			else {
+				WeatherRegion reg = new WeatherRegion(x, z);
+				weatherRegions.get(world).put(xz, reg);
+				return reg;
+			}
+		} else {
+			weatherRegions.put(world, synchronizedMap(new HashMap<>()));
+			WeatherRegion reg = new WeatherRegion(x, z);
+			weatherRegions.get(world).put(xz, reg);
+			return reg;
+		}
+	}
+	
+	public Set<WindRegion> windRegionsOf(Level world, double x, double z) {
+		return regionsOf(world, x, z).stream().map(this::windRegionOf).collect(Collectors.toSet());
+	}
+	
+	public WindRegion windRegionOf(WeatherRegion region) {
+		if (windRegions.containsKey(region)) {
+			return windRegions.get(region);
+		} else {
+			WindRegion node = new WindRegion();
+			windRegions.put(region, node);
+			return node;
+		}
+	}
+	
+	public Vec3f getWindVector(Level world, double x, double z) {
+		return Vec3f.average(
+		  windRegionsOf(world, x, z).stream().map(r -> r.wind).collect(Collectors.toSet()));
+	}
+	
+	public Vec3f getAngularWindVector(Level world, double x, double z) {
+		return Vec3f.average(
+		  windRegionsOf(world, x, z).stream().map(r -> r.angularWind).collect(Collectors.toSet()));
+	}
+	
+	public static final class WeatherRegion {
+		public final long x, z;
+		
+		private WeatherRegion(long x, long z) {
+			this.x = x;
+			this.z = z;
+		}
+	}
+	
+	public static final class WindRegion {
+		public final Vec3f wind = Vec3f.ZERO.get();
+		public final Vec3f angularWind = Vec3f.ZERO.get();
+	}
+}
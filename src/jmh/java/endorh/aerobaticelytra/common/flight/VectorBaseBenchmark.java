@@ -0,0 +1,82 @@
+package endorh.aerobaticelytra.common.flight;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link VectorBase} operations used every frame, compared
+ * with the vector based {@link LegacyVectorBase} that preceded it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorBaseBenchmark {
+	private static final int BASES = 1024;
+	
+	private final VectorBase[] bases = new VectorBase[BASES];
+	private final LegacyVectorBase[] legacyBases = new LegacyVectorBase[BASES];
+	private final float[] angles = new float[BASES * 3];
+	private final float[] spherical = new float[3];
+	private final VectorBase base = new VectorBase();
+	private final LegacyVectorBase legacyBase = new LegacyVectorBase();
+	private int i;
+	
+	@Setup public void setup() {
+		final Random random = new Random(0L);
+		for (int i = 0; i < BASES; i++) {
+			final float yaw = random.nextFloat() * 360F;
+			final float pitch = random.nextFloat() * 170F - 85F;
+			final float roll = random.nextFloat() * 360F;
+			bases[i] = new VectorBase();
+			bases[i].update(yaw, pitch, roll);
+			legacyBases[i] = new LegacyVectorBase();
+			legacyBases[i].update(yaw, pitch, roll);
+			// Rotations of a single rotation step
+			angles[i * 3] = random.nextFloat() * 4F - 2F;
+			angles[i * 3 + 1] = random.nextFloat() * 4F - 2F;
+			angles[i * 3 + 2] = random.nextFloat() * 4F - 2F;
+		}
+		base.set(bases[0]);
+		legacyBase.set(legacyBases[0]);
+	}
+	
+	@Benchmark public VectorBase rotate() {
+		final int a = (i++ & BASES - 1) * 3;
+		base.rotate(angles[a], angles[a + 1], angles[a + 2]);
+		return base;
+	}
+	
+	@Benchmark public LegacyVectorBase legacyRotate() {
+		final int a = (i++ & BASES - 1) * 3;
+		legacyBase.rotate(angles[a], angles[a + 1], angles[a + 2]);
+		return legacyBase;
+	}
+	
+	@Benchmark public VectorBase interpolate() {
+		final int j = i++;
+		base.interpolate(
+		  (j & 15) / 16F, bases[j & BASES - 1], bases[j + 1 & BASES - 1], bases[j + 2 & BASES - 1]);
+		return base;
+	}
+	
+	@Benchmark public LegacyVectorBase legacyInterpolate() {
+		final int j = i++;
+		legacyBase.interpolate(
+		  (j & 15) / 16F, legacyBases[j & BASES - 1], legacyBases[j + 1 & BASES - 1],
+		  legacyBases[j + 2 & BASES - 1]);
+		return legacyBase;
+	}
+	
+	@Benchmark public float[] toSpherical() {
+		return bases[i++ & BASES - 1].toSpherical(spherical[0], spherical);
+	}
+	
+	@Benchmark public float[] legacyToSpherical() {
+		return legacyBases[i++ & BASES - 1].toSpherical(0F);
+	}
+}
@@ -0,0 +1,67 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.lazulib.math.Vec3f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating the {@link WindField} of the coherent wind model
+ * for a single sample, as flight does every tick for each flyer<br>
+ * Positions are spread over a few thousand blocks, and the game time
+ * advances with every sample.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindFieldBenchmark {
+	private static final double SIZE = 4096D;
+	private static final int POSITIONS = 1024;
+	private static final int MASK = POSITIONS - 1;
+	
+	/**
+	 * Thunder level, which adds the gust octave to the wind
+	 */
+	@Param({"0", "1"})
+	public float storm;
+	
+	private final double[] xs = new double[POSITIONS];
+	private final double[] zs = new double[POSITIONS];
+	private final Vec3f wind = Vec3f.ZERO.get();
+	private final Vec3f angularWind = Vec3f.ZERO.get();
+	private WindField field;
+	private long time;
+	
+	@Setup public void setup() {
+		final Random random = new Random(0L);
+		field = new WindField(random.nextLong());
+		for (int p = 0; p < POSITIONS; p++) {
+			xs[p] = (random.nextDouble() - 0.5D) * SIZE;
+			zs[p] = (random.nextDouble() - 0.5D) * SIZE;
+		}
+	}
+	
+	@Benchmark public void sample(Blackhole bh) {
+		final int p = (int) (time++ & MASK);
+		field.sample(xs[p], zs[p], time, 1F, storm, wind, angularWind);
+		bh.consume(wind);
+		bh.consume(angularWind);
+	}
+	
+	@Benchmark public Vec3f sampleWind() {
+		final int p = (int) (time++ & MASK);
+		field.sample(xs[p], zs[p], time, 1F, storm, wind, null);
+		return wind;
+	}
+	
+	@Benchmark public Vec3f sampleAngularWind() {
+		final int p = (int) (time++ & MASK);
+		field.sample(xs[p], zs[p], time, 1F, storm, null, angularWind);
+		return angularWind;
+	}
+}
@@ -0,0 +1,74 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.flight.WeatherData.LevelWeather;
+import endorh.lazulib.math.Vec3f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of sampling the wind and angular wind of a flyer, as flight does
+ * every tick, with {@link LevelWeather#blendWind}, compared with the
+ * region sets it replaced ({@link LegacyWindSampler})<br>
+ * Flyers are spread over the loaded regions, which are loaded in the
+ * setup, so no regions are created while measuring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindSampleBenchmark {
+	/**
+	 * Side of the loaded area, in regions
+	 */
+	private static final int REGIONS = 16;
+	private static final int POSITIONS = 1024;
+	private static final int MASK = POSITIONS - 1;
+	
+	private final double[] xs = new double[POSITIONS];
+	private final double[] zs = new double[POSITIONS];
+	private final Vec3f wind = Vec3f.ZERO.get();
+	private final Vec3f angularWind = Vec3f.ZERO.get();
+	private LevelWeather weather;
+	private LegacyWindSampler legacy;
+	private int i;
+	
+	@Setup public void setup() {
+		final Random random = new Random(0L);
+		weather = new LevelWeather(null);
+		legacy = new LegacyWindSampler();
+		for (int x = -1; x <= REGIONS; x++) for (int z = -1; z <= REGIONS; z++) {
+			final float wx = random.nextFloat(), wz = random.nextFloat();
+			final float ax = random.nextFloat(), az = random.nextFloat();
+			final WeatherData.WindRegion region = weather.region(x, z).wind;
+			region.wind.set(wx, 0F, wz);
+			region.angularWind.set(ax, 0F, az);
+			final LegacyWindSampler.WindRegion node = legacy.windRegionOf(legacy.regionOf(null, x, z));
+			node.wind.set(wx, 0F, wz);
+			node.angularWind.set(ax, 0F, az);
+		}
+		final double size = REGIONS * WeatherData.WeatherRegion.DIAMETER;
+		for (int p = 0; p < POSITIONS; p++) {
+			xs[p] = random.nextDouble() * size;
+			zs[p] = random.nextDouble() * size;
+		}
+	}
+	
+	@Benchmark public void sampleWind(Blackhole bh) {
+		final int p = i++ & MASK;
+		weather.blendWind(xs[p], zs[p], wind, null);
+		weather.blendWind(xs[p], zs[p], null, angularWind);
+		bh.consume(wind);
+		bh.consume(angularWind);
+	}
+	
+	@Benchmark public void legacyWindVectors(Blackhole bh) {
+		final int p = i++ & MASK;
+		bh.consume(legacy.getWindVector(null, xs[p], zs[p]));
+		bh.consume(legacy.getAngularWindVector(null, xs[p], zs[p]));
+	}
+}
@@ -0,0 +1,54 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of stepping a {@link FlightBatch} on a single thread, compared to
+ * stepping the same flyers one by one with {@link FlightKernel#step}<br>
+ * The difference is the overhead of copying flyers in and out of the
+ * batch, which parallel stepping must make up for.<br>
+ * Scores are per tick of the whole batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightBatchBenchmark {
+	@Param({"16", "128", "1024"})
+	public int flyers;
+	
+	private final FlightBatch batch = new FlightBatch();
+	private FlightState[] states;
+	private FlightInput[] inputs;
+	private FlightProfile profile;
+	
+	@Setup public void setup() {
+		profile = FlightFixtures.profile();
+		states = new FlightState[flyers];
+		inputs = new FlightInput[flyers];
+		for (int i = 0; i < flyers; i++) {
+			states[i] = FlightFixtures.start(new FlightState());
+			inputs[i] = FlightFixtures.input(new FlightInput(), i * 37);
+		}
+	}
+	
+	@Benchmark public FlightBatch batch() {
+		batch.clear();
+		for (int i = 0; i < flyers; i++)
+			batch.add(states[i], inputs[i]);
+		batch.step(profile);
+		for (int i = 0; i < flyers; i++)
+			batch.get(i, states[i]);
+		return batch;
+	}
+	
+	@Benchmark public FlightState[] kernel() {
+		for (int i = 0; i < flyers; i++)
+			FlightKernel.step(states[i], inputs[i], profile);
+		return states;
+	}
+}
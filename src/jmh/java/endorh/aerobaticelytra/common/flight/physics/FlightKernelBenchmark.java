@@ -0,0 +1,37 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single {@link FlightKernel#step}<br>
+ * Run with {@code ./gradlew jmh}, which also reports the allocation
+ * rate (B/op) with the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightKernelBenchmark {
+	private static final int INPUTS = 1024;
+	
+	private final FlightState state = new FlightState();
+	private final FlightInput[] inputs = new FlightInput[INPUTS];
+	private FlightProfile profile;
+	private int step;
+	
+	@Setup public void setup() {
+		profile = FlightFixtures.profile();
+		for (int i = 0; i < INPUTS; i++)
+			inputs[i] = FlightFixtures.input(new FlightInput(), i);
+		FlightFixtures.start(state);
+	}
+	
+	@Benchmark public FlightState step() {
+		FlightKernel.step(state, inputs[step++ & INPUTS - 1], profile);
+		return state;
+	}
+}
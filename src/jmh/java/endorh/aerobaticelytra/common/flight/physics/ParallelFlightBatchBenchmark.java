@@ -0,0 +1,74 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.VectorBase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of a {@link FlightBatch} stepped on a pool, with rotations,
+ * as done by the parallel physics pass<br>
+ * Scores are per tick of the whole batch, including gathering and
+ * committing on the calling thread. Thread counts above the number of
+ * available cores only measure the cost of oversubscription.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelFlightBatchBenchmark {
+	private static final int GRAIN = 16;
+	
+	@Param({"1", "2", "4", "8", "16"})
+	public int threads;
+	@Param({"256", "1024"})
+	public int flyers;
+	
+	private final FlightBatch batch = new FlightBatch();
+	private ForkJoinPool pool;
+	private FlightState[] states;
+	private FlightInput[] inputs;
+	private VectorBase[] bases;
+	private RotationIntegrator[] integrators;
+	private FlightProfile profile;
+	private int tick;
+	
+	@Setup public void setup() {
+		pool = new ForkJoinPool(threads);
+		profile = FlightFixtures.profile();
+		states = new FlightState[flyers];
+		inputs = new FlightInput[flyers];
+		bases = new VectorBase[flyers];
+		integrators = new RotationIntegrator[flyers];
+		for (int i = 0; i < flyers; i++) {
+			states[i] = FlightFixtures.start(new FlightState());
+			inputs[i] = FlightFixtures.input(new FlightInput(), i * 37);
+			bases[i] = new VectorBase();
+			bases[i].update(i * 7F, 0F, 0F);
+			integrators[i] = new RotationIntegrator();
+			integrators[i].advance(0D, bases[i]);
+		}
+	}
+	
+	@TearDown public void tearDown() {
+		pool.shutdown();
+	}
+	
+	@Benchmark public FlightBatch step() {
+		tick++;
+		batch.clear();
+		for (int i = 0; i < flyers; i++) {
+			final int b = batch.add(states[i], inputs[i]);
+			final int steps = integrators[i].advance(tick, bases[i]);
+			batch.setRotation(b, bases[i], integrators[i], steps, 0.1F, -0.2F, 0.3F);
+		}
+		batch.step(profile, pool, GRAIN);
+		batch.commit();
+		for (int i = 0; i < flyers; i++)
+			batch.get(i, states[i]);
+		return batch;
+	}
+}
@@ -2,11 +2,12 @@ package endorh.aerobaticelytra.client.block;
 
 import endorh.aerobaticelytra.AerobaticElytra;
 import endorh.aerobaticelytra.common.block.AerobaticBlocks;
-import endorh.aerobaticelytra.common.block.entity.BrokenLeavesBlockEntity;
+import endorh.aerobaticelytra.common.block.BrokenLeavesBlock;
 import endorh.lazulib.common.ColorUtil;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.color.block.BlockColors;
 import net.minecraft.world.level.FoliageColor;
-import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RegisterColorHandlersEvent;
@@ -22,14 +23,13 @@ public class AerobaticBlockColors {
 	public static void registerBlockColors(RegisterColorHandlersEvent.Block event) {
 		BlockColors colors = event.getBlockColors();
 		int defaultColor = ColorUtil.multiply(new Color(FoliageColor.getEvergreenColor()), 0.6F).getRGB();
-		// Return the color of the leaves block stored under the Tile Entity, or a fallback
+		// Return the color of the leaves block stored in the chunk, or a fallback
 		event.register((state, world, pos, layer) -> {
 			if (world == null || pos == null)
 				return defaultColor;
-			final BlockEntity tile = world.getBlockEntity(pos);
-			if (!(tile instanceof BrokenLeavesBlockEntity te))
-				return defaultColor;
-			BlockState replacedLeaves = te.getReplacedLeaves();
+			// Render regions don't have chunk capabilities, but the client level does
+			BlockState replacedLeaves = BrokenLeavesBlock.getStoredBlockState(
+			  world instanceof Level l? l : Minecraft.getInstance().level, pos).orElse(null);
 			if (replacedLeaves == null) return defaultColor;
 			return ColorUtil.multiply(
 			  new Color(colors.getColor(replacedLeaves, world, pos, layer)), 0.75F).getRGB();
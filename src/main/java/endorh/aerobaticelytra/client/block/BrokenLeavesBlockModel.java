@@ -1,7 +1,7 @@
 package endorh.aerobaticelytra.client.block;
 
 import endorh.aerobaticelytra.common.block.BrokenLeavesBlock;
-import endorh.aerobaticelytra.common.block.entity.BrokenLeavesBlockEntity;
+import endorh.aerobaticelytra.common.capability.IBrokenLeaves;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
@@ -12,6 +12,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.client.ChunkRenderTypeSet;
 import net.minecraftforge.client.model.BakedModelWrapper;
@@ -26,8 +27,7 @@ import java.util.Optional;
 /**
  * Model for {@link BrokenLeavesBlock}, which copies its quads
  * from the {@link BlockState} stored in the
- * {@link BrokenLeavesBlockEntity}
- * attached to the block.
+ * {@link IBrokenLeaves} of its chunk.
  */
 public class BrokenLeavesBlockModel extends BakedModelWrapper<BakedModel> {
 	public static ModelProperty<Optional<BlockState>> COPIED_LEAVES_BLOCK = new ModelProperty<>();
@@ -53,7 +53,9 @@ public class BrokenLeavesBlockModel extends BakedModelWrapper<BakedModel> {
 	  @NotNull BlockAndTintGetter level, @NotNull BlockPos pos,
 	  @NotNull BlockState state, @NotNull ModelData modelData
 	) {
-		Optional<BlockState> bestAdjacentBlock = BrokenLeavesBlock.getStoredBlockState(level, pos);
+		// Render regions don't have chunk capabilities, but the client level does
+		Optional<BlockState> bestAdjacentBlock = BrokenLeavesBlock.getStoredBlockState(
+		  level instanceof Level l? l : Minecraft.getInstance().level, pos);
 		return getEmptyModelData().derive()
 		  .with(COPIED_LEAVES_BLOCK, bestAdjacentBlock).build();
 	}
@@ -161,10 +161,7 @@ public class RotationHandler {
 		tiltPitch = clamp(tiltPitch, -Config.aerobatic.tilt.range_pitch, Config.aerobatic.tilt.range_pitch);
 		
 		// Apply instantaneous rotation
-		base.look.rotateAlongOrtVecDegrees(base.roll, pitchDelta);
-		base.normal.rotateAlongOrtVecDegrees(base.roll, pitchDelta);
-		base.roll.rotateAlongOrtVecDegrees(base.look, rollDelta);
-		base.normal.rotateAlongOrtVecDegrees(base.look, rollDelta);
+		base.rotate(pitchDelta, 0F, rollDelta);
 		
 		float yawDelta = -0.5F * Mth.sign(tiltYaw) + 1.5F * Mth.sign(player.xxa);
 		if (player.xxa == 0)
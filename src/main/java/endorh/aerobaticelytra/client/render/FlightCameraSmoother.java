@@ -13,7 +13,6 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 
 import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
-import static java.lang.System.currentTimeMillis;
 
 @EventBusSubscriber(value = Dist.CLIENT, modid = AerobaticElytra.MOD_ID)
 public class FlightCameraSmoother {
@@ -28,11 +27,8 @@ public class FlightCameraSmoother {
 			Player player = mc.player;
 			if (player == null) return;
 			IAerobaticData data = getAerobaticDataOrDefault(player);
-			if (data.isFlying()) {
-				if (mc.isPaused()) {
-					data.setLastRotationTime(currentTimeMillis() / 1000D);
-				} else AerobaticFlight.applyRotationAcceleration(player, event.renderTickTime);
-			}
+			if (data.isFlying() && !mc.isPaused())
+				AerobaticFlight.applyRotationAcceleration(player, event.renderTickTime);
 		}
 	}
 }
@@ -3,17 +3,14 @@ package endorh.aerobaticelytra.client.trail;
 import endorh.aerobaticelytra.client.trail.BoostShape.BurstBoostShape;
 import endorh.aerobaticelytra.client.trail.BoostShape.CircleBoostShape;
 import endorh.aerobaticelytra.client.trail.BoostShape.ShapedBoostShape;
-import endorh.aerobaticelytra.common.AerobaticElytraLogic;
 import endorh.aerobaticelytra.common.capability.AerobaticDataCapability;
-import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
 import endorh.aerobaticelytra.common.capability.IAerobaticData;
-import endorh.aerobaticelytra.common.capability.IElytraSpec;
 import endorh.aerobaticelytra.common.capability.IElytraSpec.RocketStar;
 import endorh.aerobaticelytra.common.capability.IElytraSpec.TrailData;
+import endorh.aerobaticelytra.common.flight.FlightContext;
+import endorh.aerobaticelytra.common.flight.FlightScratch;
 import endorh.aerobaticelytra.common.flight.VectorBase;
-import endorh.aerobaticelytra.common.item.AerobaticElytraWingItem;
 import endorh.aerobaticelytra.common.item.ElytraDyement.WingSide;
-import endorh.aerobaticelytra.common.item.IAbility.Ability;
 import endorh.aerobaticelytra.common.particle.TrailParticleData;
 import endorh.lazulib.math.Vec3d;
 import endorh.lazulib.math.Vec3f;
@@ -23,7 +20,6 @@ import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.ItemStack;
 
 import java.awt.*;
 import java.util.List;
@@ -54,22 +50,6 @@ public class AerobaticTrail {
 	
 	private static final Random random = new Random();
 	
-	// Vector cache
-	private static final Vec3d rocketLeft = Vec3d.ZERO.get();
-	private static final Vec3d rocketRight = Vec3d.ZERO.get();
-	private static final Vec3d rocketCenterLeft = Vec3d.ZERO.get();
-	private static final Vec3d rocketCenterRight = Vec3d.ZERO.get();
-	private static final Vec3d rocketLeftTarget = Vec3d.ZERO.get();
-	private static final Vec3d rocketRightTarget = Vec3d.ZERO.get();
-	private static final Vec3d rocketCenterLeftTarget = Vec3d.ZERO.get();
-	private static final Vec3d rocketCenterRightTarget = Vec3d.ZERO.get();
-	
-	private static final Vec3d pos = Vec3d.ZERO.get();
-	private static final Vec3f motion = Vec3f.ZERO.get();
-	private static final Vec3f particleMotion = Vec3f.ZERO.get();
-	private static final VectorBase base = new VectorBase();
-	private static final VectorBase prevBase = new VectorBase();
-	
 	/**
 	 * Adds particles tailing a flying player<br>
 	 *
@@ -80,48 +60,39 @@ public class AerobaticTrail {
 	public static void addParticles(
 	  Player player, Vec3f motionVec, Vec3f prevMotionVec
 	) {
+		final FlightScratch scratch = FlightScratch.get();
+		final Rockets rockets = scratch.rockets;
+		final VectorBase base = rockets.base;
+		final Vec3d pos = scratch.trailPos;
+		final Vec3d rocketLeft = rockets.left;
+		final Vec3d rocketRight = rockets.right;
+		final Vec3d rocketCenterLeft = rockets.centerLeft;
+		final Vec3d rocketCenterRight = rockets.centerRight;
+		final Vec3f particleMotion = scratch.particleMotion;
+		
 		IAerobaticData data = AerobaticDataCapability.getAerobaticDataOrDefault(player);
 		base.set(data.getCameraBase());
-		prevBase.update(
+		rockets.prevBase.update(
 		  data.getPrevTickRotationYaw(),
 		  data.getPrevTickRotationPitch(),
 		  data.getPrevTickRotationRoll());
 		
-		float tiltYaw = data.getTiltYaw();
-		float tiltPitch = data.getTiltPitch();
-		float tiltRoll = data.getTiltRoll();
-		
 		pos.set(player.position());
 		Vec3d lastPos = data.getLastTrailPos();
 		if (lastPos.normSquared() < 0.2D) {
 			lastPos.set(pos);
 			return;
 		}
-		rocketLeft.set(lastPos);
-		rocketRight.set(lastPos);
-		rocketCenterLeft.set(lastPos);
-		rocketCenterRight.set(lastPos);
 		
 		if (player.isInWater()) {
-			pos.sub(base.look, 1.5F);
+			pos.sub(base.getLook(scratch.trailAxis), 1.5F);
 			if (data.getPropulsionStrength() == 0F)
 				return;
 		}
 		
-		rocketLeftTarget.set(pos);
-		rocketRightTarget.set(pos);
-		rocketCenterLeftTarget.set(pos);
-		rocketCenterRightTarget.set(pos);
+		rockets.place(lastPos, pos, data.getTiltYaw(), data.getTiltPitch(), data.getTiltRoll());
 		lastPos.set(pos);
 		
-		prevBase.tilt(tiltYaw, tiltPitch, tiltRoll);
-		base.tilt(tiltYaw, tiltPitch, tiltRoll);
-		prevBase.offset(rocketLeft, rocketRight, rocketCenterLeft, rocketCenterRight);
-		base.offset(rocketLeftTarget, rocketRightTarget,
-		            rocketCenterLeftTarget, rocketCenterRightTarget);
-		base.normal.unitary();
-		base.roll.unitary();
-		
 		motionVec.mul(-1F);
 		prevMotionVec.mul(-1F);
 		
@@ -131,70 +102,108 @@ public class AerobaticTrail {
 		
 		final boolean ownPlayer = Minecraft.getInstance().player == player;
 		
-		final Vec3f roll = base.roll;
+		final Vec3f roll = base.getRoll(scratch.trailAxis);
 		
-		ItemStack elytra = AerobaticElytraLogic.getAerobaticElytra(player);
+		final FlightContext context = FlightContext.of(player);
+		final boolean isFreeze = context.hasDebugWing() != DEBUG.invertFreeze;
 		for (int i = 0; i < c; i++) {
 			float t = i * s;
 			float l = s / (1F - t);
-			rocketLeft.lerp(rocketLeftTarget, l);
-			rocketRight.lerp(rocketRightTarget, l);
-			rocketCenterLeft.lerp(rocketCenterLeftTarget, l);
-			rocketCenterRight.lerp(rocketCenterRightTarget, l);
+			rocketLeft.lerp(rockets.leftTarget, l);
+			rocketRight.lerp(rockets.rightTarget, l);
+			rocketCenterLeft.lerp(rockets.centerLeftTarget, l);
+			rocketCenterRight.lerp(rockets.centerRightTarget, l);
 			particleMotion.set(prevMotionVec);
 			particleMotion.lerp(motionVec, t);
-			boolean isFreeze = AerobaticElytraWingItem.hasDebugWing(player) != DEBUG.invertFreeze;
 			particleMotion.mul(isFreeze? DEBUG.freezeParticleSpeed : DEBUG.particleSpeed);
 			
-			getTrailParticle(player, RocketSide.RIGHT, elytra, i, t, ownPlayer, roll).ifPresent(
+			getTrailParticle(player, RocketSide.RIGHT, context, i, t, ownPlayer, roll).ifPresent(
 			  particle -> {
 				  float[] off = getTransversalOffset(particle.type);
 				  player.level().addParticle(
 					 particle,
 					 rocketRight.x, rocketRight.y, rocketRight.z,
-					 particleMotion.x + base.normal.x * off[0] + base.roll.x * off[1],
-					 particleMotion.y + base.normal.y * off[0] + base.roll.y * off[1],
-					 particleMotion.z + base.normal.z * off[0] + base.roll.z * off[1]);
+					 particleMotion.x + base.getNormalX() * off[0] + base.getRollX() * off[1],
+					 particleMotion.y + base.getNormalY() * off[0] + base.getRollY() * off[1],
+					 particleMotion.z + base.getNormalZ() * off[0] + base.getRollZ() * off[1]);
 			  });
-			getTrailParticle(player, RocketSide.LEFT, elytra, i, t, ownPlayer, roll).ifPresent(
+			getTrailParticle(player, RocketSide.LEFT, context, i, t, ownPlayer, roll).ifPresent(
 			  particle -> {
 				  float[] off = getTransversalOffset(particle.type);
 				  player.level().addParticle(
 					 particle,
 					 rocketLeft.x, rocketLeft.y, rocketLeft.z,
-					 particleMotion.x + base.normal.x * off[0] + base.roll.x * off[1],
-					 particleMotion.y + base.normal.y * off[0] + base.roll.y * off[1],
-					 particleMotion.z + base.normal.z * off[0] + base.roll.z * off[1]);
+					 particleMotion.x + base.getNormalX() * off[0] + base.getRollX() * off[1],
+					 particleMotion.y + base.getNormalY() * off[0] + base.getRollY() * off[1],
+					 particleMotion.z + base.getNormalZ() * off[0] + base.getRollZ() * off[1]);
 			  });
-			getTrailParticle(player, RocketSide.CENTER_RIGHT, elytra, i, t, ownPlayer, roll).ifPresent(
+			getTrailParticle(player, RocketSide.CENTER_RIGHT, context, i, t, ownPlayer, roll).ifPresent(
 			  particle -> {
 				  float[] off = getTransversalOffset(particle.type);
 				  player.level().addParticle(
 					 particle,
 					 rocketCenterRight.x, rocketCenterRight.y, rocketCenterRight.z,
-					 particleMotion.x + base.normal.x * off[0] + base.roll.x * off[1],
-					 particleMotion.y + base.normal.y * off[0] + base.roll.y * off[1],
-					 particleMotion.z + base.normal.z * off[0] + base.roll.z * off[1]);
+					 particleMotion.x + base.getNormalX() * off[0] + base.getRollX() * off[1],
+					 particleMotion.y + base.getNormalY() * off[0] + base.getRollY() * off[1],
+					 particleMotion.z + base.getNormalZ() * off[0] + base.getRollZ() * off[1]);
 			  });
-			getTrailParticle(player, RocketSide.CENTER_LEFT, elytra, i, t, ownPlayer, roll).ifPresent(
+			getTrailParticle(player, RocketSide.CENTER_LEFT, context, i, t, ownPlayer, roll).ifPresent(
 			  particle -> {
 				  float[] off = getTransversalOffset(particle.type);
 				  player.level().addParticle(
 					 particle,
 					 rocketCenterLeft.x, rocketCenterLeft.y, rocketCenterLeft.z,
-					 particleMotion.x + base.normal.x * off[0] + base.roll.x * off[1],
-					 particleMotion.y + base.normal.y * off[0] + base.roll.y * off[1],
-					 particleMotion.z + base.normal.z * off[0] + base.roll.z * off[1]);
+					 particleMotion.x + base.getNormalX() * off[0] + base.getRollX() * off[1],
+					 particleMotion.y + base.getNormalY() * off[0] + base.getRollY() * off[1],
+					 particleMotion.z + base.getNormalZ() * off[0] + base.getRollZ() * off[1]);
 			  });
 		}
 	}
 	
+	/**
+	 * Rocket positions of a trail segment, from the previous tick to the
+	 * current one<br>
+	 * Obtained from {@link FlightScratch}, so it's confined to a thread.
+	 */
+	public static class Rockets {
+		public final VectorBase base = new VectorBase();
+		public final VectorBase prevBase = new VectorBase();
+		public final Vec3d left = Vec3d.ZERO.get();
+		public final Vec3d right = Vec3d.ZERO.get();
+		public final Vec3d centerLeft = Vec3d.ZERO.get();
+		public final Vec3d centerRight = Vec3d.ZERO.get();
+		public final Vec3d leftTarget = Vec3d.ZERO.get();
+		public final Vec3d rightTarget = Vec3d.ZERO.get();
+		public final Vec3d centerLeftTarget = Vec3d.ZERO.get();
+		public final Vec3d centerRightTarget = Vec3d.ZERO.get();
+		
+		/**
+		 * Place the rockets at both ends of the segment<br>
+		 * {@link #prevBase} and {@link #base} must be set to the rotation of
+		 * the player at each end, and are tilted like the player model.
+		 */
+		public void place(Vec3d from, Vec3d to, float tiltYaw, float tiltPitch, float tiltRoll) {
+			left.set(from);
+			right.set(from);
+			centerLeft.set(from);
+			centerRight.set(from);
+			leftTarget.set(to);
+			rightTarget.set(to);
+			centerLeftTarget.set(to);
+			centerRightTarget.set(to);
+			
+			prevBase.tilt(tiltYaw, tiltPitch, tiltRoll);
+			base.tilt(tiltYaw, tiltPitch, tiltRoll);
+			prevBase.offset(left, right, centerLeft, centerRight);
+			base.offset(leftTarget, rightTarget, centerLeftTarget, centerRightTarget);
+		}
+	}
+	
 	public static Optional<TrailParticleData> getTrailParticle(
-	  Player player, RocketSide side, ItemStack elytra,
+	  Player player, RocketSide side, FlightContext context,
 	  int partial, float partialTick, boolean ownPlayer, Vec3f rollVec
 	) {
-		IElytraSpec spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
-		TrailData data = spec.getTrailData();
+		TrailData data = context.getSpec().getTrailData();
 		if (player.isInWater()) {
 			return shouldGenerate((byte) 5, partial)? Optional.of(new TrailParticleData(
 			  Color.WHITE, Color.LIGHT_GRAY, (byte) 5, false, false,
@@ -210,9 +219,8 @@ public class AerobaticTrail {
 		
 		final Color color = new Color(pickRandom(explosion.colors).orElse(Color.WHITE.getRGB()));
 		final Color fadeColor = new Color(pickRandom(explosion.fadeColors).orElse(color.getRGB()));
-		final int life = round(getLife(explosion.type, explosion.trail) * spec.getAbility(
-		  Ability.TRAIL));
-		final float size = Mth.clampedLerp(0.4F, 0.5F, spec.getAbility(Ability.TRAIL));
+		final int life = round(getLife(explosion.type, explosion.trail) * context.getTrail());
+		final float size = Mth.clampedLerp(0.4F, 0.5F, context.getTrail());
 		
 		return shouldGenerate(explosion.type, partial)? Optional
 		  .of(new TrailParticleData(
@@ -222,14 +230,19 @@ public class AerobaticTrail {
 	
 	public static void addBoostParticles(Player player) {
 		IAerobaticData data = AerobaticDataCapability.getAerobaticDataOrDefault(player);
-		IElytraSpec spec = AerobaticElytraLogic.getElytraSpecOrDefault(player);
+		final FlightContext context = FlightContext.of(player);
+		final FlightScratch scratch = FlightScratch.get();
+		final VectorBase base = scratch.trailBase;
+		final Vec3d pos = scratch.trailPos;
+		final Vec3f motion = scratch.trailMotion;
+		final Vec3f particleMotion = scratch.particleMotion;
 		pos.set(player.position());
 		motion.set(player.getDeltaMovement());
 		particleMotion.set(motion);
 		particleMotion.mul(0.1F);
 		base.update(data.getRotationYaw(), data.getRotationPitch(), data.getRotationRoll());
-		TrailData trail = spec.getTrailData();
-		final float trailModifier = spec.getAbility(Ability.TRAIL);
+		TrailData trail = context.getSpec().getTrailData();
+		final float trailModifier = context.getTrail();
 		
 		Optional<RocketStar[]> listOpt = trail.pickRandom();
 		RocketStar explosion = null;
@@ -289,8 +302,6 @@ public class AerobaticTrail {
 		  0F, false, null, null, null);
 	}
 	
-	private static final Vec3f off = Vec3f.ZERO.get();
-	
 	public static void createBoostParticle(
 	  LivingEntity player, RocketStar explosion,
 	  Vec3d pos, VectorBase base, Vec3f motion,
@@ -299,15 +310,17 @@ public class AerobaticTrail {
 		TrailParticleData data = getBoostParticle(player, explosion, trailMod);
 		if (data == null)
 			return;
-		off.set(base.roll);
-		off.mul(x);
-		off.add(base.normal, y);
-		if (z != 0F) off.add(base.look, z);
+		float r = x, n = y, l = z;
 		if (noise > 0F) {
-			off.add(base.roll, (float) random.nextGaussian() * noise * max(0.2F, x));
-			off.add(base.normal, (float) random.nextGaussian() * noise * max(0.2F, y));
-			off.add(base.look, (float) random.nextGaussian() * noise * max(0.2F, z));
+			r += (float) random.nextGaussian() * noise * max(0.2F, x);
+			n += (float) random.nextGaussian() * noise * max(0.2F, y);
+			l += (float) random.nextGaussian() * noise * max(0.2F, z);
 		}
+		final Vec3f off = FlightScratch.get().particleOffset;
+		off.set(
+		  base.getRollX() * r + base.getNormalX() * n + base.getLookX() * l,
+		  base.getRollY() * r + base.getNormalY() * n + base.getLookY() * l,
+		  base.getRollZ() * r + base.getNormalZ() * n + base.getLookZ() * l);
 		player.level().addParticle(
 		  data, pos.x, pos.y, pos.z,
 		  motion.x + off.x, motion.y + off.y, motion.z + off.z);
@@ -2,28 +2,20 @@ package endorh.aerobaticelytra.common.block;
 
 import endorh.aerobaticelytra.client.block.AerobaticBlockColors;
 import endorh.aerobaticelytra.client.block.BrokenLeavesBlockModel;
-import endorh.aerobaticelytra.common.block.entity.BrokenLeavesBlockEntity;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesCapability;
+import endorh.aerobaticelytra.common.capability.IBrokenLeaves;
 import endorh.aerobaticelytra.common.config.Config;
-import endorh.aerobaticelytra.common.config.Config.collision.leave_breaking;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.BlockPos.MutableBlockPos;
-import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.tags.BlockTags;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.BlockAndTintGetter;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.LeavesBlock;
 import net.minecraft.world.level.block.SoundType;
-import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.MapColor;
@@ -39,15 +31,18 @@ import static endorh.aerobaticelytra.AerobaticElytra.prefix;
 
 /**
  * A block that replaces temporarily other leaves blocks,
- * storing them in a Tile Entity in order to restore them
- * later, and copy their model and tint color for
- * rendering.<br>
+ * storing them in its chunk's {@link IBrokenLeaves} in order
+ * to restore them later, and copy their model and tint color
+ * for rendering.<br>
+ * Broken leaves regrow when scheduled by the {@link RegrowthScheduler}.
+ * Like leaves, they only receive random ticks while decaying, that is,
+ * when they're too far from a log, in which case they decay.<br>
  *
- * @see BrokenLeavesBlockEntity
+ * @see BrokenLeavesCapability
  * @see BrokenLeavesBlockModel
  * @see AerobaticBlockColors
  */
-public class BrokenLeavesBlock extends LeavesBlock implements EntityBlock {
+public class BrokenLeavesBlock extends LeavesBlock {
 	public static final String NAME = "broken_leaves";
 	public static final ResourceLocation ID = prefix(NAME);
 	
@@ -59,7 +54,6 @@ public class BrokenLeavesBlock extends LeavesBlock implements EntityBlock {
 		return BlockBehaviour.Properties.of()
 			.mapColor(MapColor.PLANT)
 			.strength(0.2F)
-			.randomTicks()
 			.sound(SoundType.GRASS)
 			.noOcclusion()
 			.isValidSpawn((state, reader, pos, type) -> false)
@@ -71,17 +65,6 @@ public class BrokenLeavesBlock extends LeavesBlock implements EntityBlock {
 			.isRedstoneConductor((state, reader, pos) -> false)
 			.requiresCorrectToolForDrops();
 	}
-
-	@Nullable @Override
-	public BlockEntity newBlockEntity(@NotNull BlockPos pos, @NotNull BlockState state) {
-		return new BrokenLeavesBlockEntity(pos, state);
-	}
-	
-	@Nullable @Override public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
-	  @NotNull Level level, @NotNull BlockState state, @NotNull BlockEntityType<T> type
-	) {
-		return EntityBlock.super.getTicker(level, state, type);
-	}
 	
 	@SuppressWarnings("deprecation") @Override
 	public void entityInside(
@@ -98,7 +81,10 @@ public class BrokenLeavesBlock extends LeavesBlock implements EntityBlock {
 	
 	/**
 	 * In the server, replaces a leaves block with a broken leaves one,
-	 * remembering which block it replaced.<br>
+	 * remembering which block it replaced, along with the leaves connected
+	 * to it which are further from a log.<br>
+	 * Connected leaves are broken progressively by a {@link LeafBreakingQueue},
+	 * and their regrowth is scheduled by the {@link RegrowthScheduler}.<br>
 	 * In the client, it simply plays a breaking sound for the leaves block
 	 *
 	 * @param world World in which to break the leaves
@@ -116,67 +102,65 @@ public class BrokenLeavesBlock extends LeavesBlock implements EntityBlock {
 		if (!prevBlockState.is(BlockTags.LEAVES))
 			throw new IllegalArgumentException(
 			  "Attempt to replace non leaves block with broken leaves");
-		final Integer dist = prevBlockState.getValue(DISTANCE);
-		final BlockPos.MutableBlockPos cursor = new MutableBlockPos();
-		for (Direction direction: Direction.values()) {
-			cursor.setWithOffset(pos, direction);
-			final BlockState adj = world.getBlockState(cursor);
-			if (adj.is(BlockTags.LEAVES) && !adj.getValue(PERSISTENT)
-			    && adj.getValue(DISTANCE) < 7 && adj.getValue(DISTANCE) > dist)
-				breakLeaves(world, cursor);
-		}
-		world.setBlock(
-		  pos, AerobaticBlocks.BROKEN_LEAVES.defaultBlockState()
-			 .setValue(DISTANCE, prevBlockState.getValue(DISTANCE))
-			 .setValue(PERSISTENT, prevBlockState.getValue(PERSISTENT)),
-		  Block.UPDATE_ALL);
-		BlockEntity tile = world.getBlockEntity(pos);
-		if (!(tile instanceof BrokenLeavesBlockEntity te))
-			throw new IllegalStateException(
-			  "Broken leaves block did not have BrokenLeavesTileEntity");
-		te.setReplacedLeaves(prevBlockState);
-		te.setChanged();
+		if (world instanceof ServerLevel level)
+			LeafBreakingQueue.breakLeaves(level, pos);
 	}
 	
-	public void tryRestoreBrokenLeaves(
+	/**
+	 * Restore the leaves replaced by a broken leaves block<br>
+	 * Broken leaves without replaced leaves are destroyed.
+	 *
+	 * @return False if the leaves are obstructed by an entity, and
+	 *   couldn't be restored yet
+	 * @see RegrowthScheduler
+	 */
+	public static boolean tryRestoreBrokenLeaves(
 	  ServerLevel world, BlockPos pos
 	) {
 		final BlockState bs = world.getBlockState(pos);
-		if (!(bs.getBlock() == AerobaticBlocks.BROKEN_LEAVES))
-			return;
-		BlockEntity tile = world.getBlockEntity(pos);
-		if (!(tile instanceof BrokenLeavesBlockEntity te))
-			return;
-		BlockState replacedLeaves = te.getReplacedLeaves();
+		if (!(bs.getBlock() == AerobaticBlocks.BROKEN_LEAVES)) {
+			BrokenLeavesCapability.setReplacedLeaves(world, pos, null);
+			return true;
+		}
+		BlockState replacedLeaves = BrokenLeavesCapability.getReplacedLeaves(world, pos);
 		if (replacedLeaves != null) {
-			if (world.isUnobstructed(replacedLeaves, pos, CollisionContext.empty()))
-				world.setBlockAndUpdate(pos, replacedLeaves);
+			if (!world.isUnobstructed(replacedLeaves, pos, CollisionContext.empty()))
+				return false;
+			world.setBlockAndUpdate(pos, replacedLeaves);
 		} else {
 			world.destroyBlock(pos, false);
 		}
-	}
-	
-	@Override public boolean isRandomlyTicking(@NotNull BlockState state) {
 		return true;
 	}
 	
-	@Override public void randomTick(
-	  @NotNull BlockState state, @NotNull ServerLevel world,
-	  @NotNull BlockPos pos, @NotNull RandomSource random
+	/**
+	 * Forget the replaced leaves when the block is removed
+	 */
+	@SuppressWarnings("deprecation") @Override public void onRemove(
+	  @NotNull BlockState state, @NotNull Level world, @NotNull BlockPos pos,
+	  @NotNull BlockState newState, boolean isMoving
 	) {
-		super.randomTick(state, world, pos, random);
-		if (!world.hasNeighborSignal(pos) &&
-		    random.nextFloat() > leave_breaking.regrow_chance) // 0.4F)
-			tryRestoreBrokenLeaves(world, pos);
+		super.onRemove(state, world, pos, newState, isMoving);
+		if (!newState.is(this) && world instanceof ServerLevel level)
+			BrokenLeavesCapability.setReplacedLeaves(level, pos, null);
 	}
 	
+	/**
+	 * Get the leaves replaced by a broken leaves block<br>
+	 * Only {@link Level}s have chunk capabilities, for other getters,
+	 * such as render regions, use {@link #getStoredBlockState(Level, BlockPos)}
+	 * with their level.
+	 */
 	public static Optional<BlockState> getStoredBlockState(
 	  BlockAndTintGetter world, BlockPos pos
 	) {
-		BlockEntity tile = world.getBlockEntity(pos);
-		if (!(tile instanceof BrokenLeavesBlockEntity te))
-			return Optional.empty();
-		BlockState replacedLeaves = te.getReplacedLeaves();
-		return replacedLeaves != null? Optional.of(replacedLeaves) : Optional.empty();
+		return world instanceof Level level? getStoredBlockState(level, pos) : Optional.empty();
+	}
+	
+	public static Optional<BlockState> getStoredBlockState(
+	  @Nullable Level level, BlockPos pos
+	) {
+		if (level == null) return Optional.empty();
+		return Optional.ofNullable(BrokenLeavesCapability.getReplacedLeaves(level, pos));
 	}
 }
@@ -0,0 +1,222 @@
+package endorh.aerobaticelytra.common.block;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesCapability;
+import endorh.aerobaticelytra.common.config.Config;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.minecraft.world.level.block.LeavesBlock.DISTANCE;
+import static net.minecraft.world.level.block.LeavesBlock.PERSISTENT;
+
+/**
+ * Breadth first leaf breaking, spread across ticks<br>
+ * Breaking leaves also breaks the leaves connected to them which are
+ * further from a log. Large canopies may contain thousands of them, so
+ * instead of breaking them all at once, at most
+ * {@code performance.leaf_breaking_budget} leaves are broken per level
+ * and tick, and the rest are left queued for the following ticks.
+ * The leaves hit by a flyer are always broken right away.<br>
+ * Each batch is applied in chunk section order, without updating
+ * neighbours for every block. Instead, neighbours are only updated
+ * around the blocks at the border of the batch, since leaves inside
+ * it are also being broken. Broken leaves have the same light
+ * properties as leaves, so no light updates are caused.<br>
+ * Only accessed from the server thread.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class LeafBreakingQueue {
+	private static final Map<ResourceKey<Level>, LeafBreakingQueue> QUEUES = new HashMap<>();
+	private static final Direction[] DIRECTIONS = Direction.values();
+	
+	private final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+	private final LongOpenHashSet queued = new LongOpenHashSet();
+	private final LongOpenHashSet batched = new LongOpenHashSet();
+	private final MutableBlockPos cursor = new MutableBlockPos();
+	private final MutableBlockPos neighbour = new MutableBlockPos();
+	private long[] batchPositions = new long[64];
+	private BlockState[] batchStates = new BlockState[64];
+	private int batchSize;
+	private long budgetTick = Long.MIN_VALUE;
+	private int spent;
+	
+	/**
+	 * Break leaves right away, and queue the leaves connected to them,
+	 * breaking as many as the budget of the current tick allows
+	 * @see BrokenLeavesBlock#breakLeaves
+	 */
+	public static void breakLeaves(ServerLevel level, BlockPos pos) {
+		final LeafBreakingQueue queue = QUEUES.computeIfAbsent(
+		  level.dimension(), k -> new LeafBreakingQueue());
+		// The hit leaves are broken outside the budget, since clients
+		// predict them broken, and would be blocked by them otherwise
+		queue.batchSize = 0;
+		if (queue.visit(level, pos.asLong())) queue.apply(level);
+		queue.process(level);
+	}
+	
+	@SubscribeEvent
+	public static void onLevelTick(LevelTickEvent event) {
+		if (event.phase != Phase.END || !(event.level instanceof ServerLevel level))
+			return;
+		final LeafBreakingQueue queue = QUEUES.get(level.dimension());
+		if (queue != null) {
+			queue.process(level);
+			if (queue.isEmpty()) QUEUES.remove(level.dimension());
+		}
+	}
+	
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		if (event.getLevel() instanceof ServerLevel level)
+			QUEUES.remove(level.dimension());
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		QUEUES.clear();
+	}
+	
+	private boolean isEmpty() {
+		return queue.isEmpty();
+	}
+	
+	private void add(long pos) {
+		if (queued.add(pos)) queue.enqueue(pos);
+	}
+	
+	/**
+	 * Break queued leaves until the budget of the current tick is spent
+	 */
+	private void process(ServerLevel level) {
+		final long tick = level.getGameTime();
+		if (tick != budgetTick) {
+			budgetTick = tick;
+			spent = 0;
+		}
+		final int budget = Config.performance.leaf_breaking_budget - spent;
+		batchSize = 0;
+		while (batchSize < budget && !queue.isEmpty()) {
+			final long pos = queue.dequeueLong();
+			// Leaves that regrow may be broken again while the queue is busy
+			queued.remove(pos);
+			visit(level, pos);
+		}
+		spent += batchSize;
+		if (batchSize > 0) apply(level);
+	}
+	
+	/**
+	 * Add leaves to the batch if they can still be broken, and queue
+	 * the leaves connected to them which are further from a log
+	 * @return False if the leaves weren't added
+	 */
+	private boolean visit(ServerLevel level, long pos) {
+		// Leaves in unloaded chunks are dropped, rather than loading them
+		if (batched.contains(pos) || !level.hasChunkAt(cursor.set(pos)))
+			return false;
+		final BlockState state = level.getBlockState(cursor);
+		// The leaves may have changed since they were queued
+		if (!state.is(BlockTags.LEAVES) || !state.hasProperty(DISTANCE)
+		    || state.getBlock() == AerobaticBlocks.BROKEN_LEAVES)
+			return false;
+		addToBatch(pos, state);
+		final int dist = state.getValue(DISTANCE);
+		for (Direction direction: DIRECTIONS) {
+			neighbour.setWithOffset(cursor, direction);
+			if (!level.hasChunkAt(neighbour)) continue;
+			final BlockState adj = level.getBlockState(neighbour);
+			if (adj.is(BlockTags.LEAVES) && adj.hasProperty(DISTANCE) && !adj.getValue(PERSISTENT)
+			    && adj.getValue(DISTANCE) < 7 && adj.getValue(DISTANCE) > dist)
+				add(neighbour.asLong());
+		}
+		return true;
+	}
+	
+	private void addToBatch(long pos, BlockState state) {
+		if (batchSize == batchPositions.length) {
+			batchPositions = Arrays.copyOf(batchPositions, batchSize * 2);
+			batchStates = Arrays.copyOf(batchStates, batchSize * 2);
+		}
+		batchPositions[batchSize] = pos;
+		batchStates[batchSize] = state;
+		batchSize++;
+		batched.add(pos);
+	}
+	
+	/**
+	 * Replace the batched leaves, and update the neighbours of the batch
+	 */
+	private void apply(ServerLevel level) {
+		final long[] positions = batchPositions;
+		final BlockState[] states = batchStates;
+		final int size = batchSize;
+		it.unimi.dsi.fastutil.Arrays.quickSort(0, size, (a, b) -> Long.compare(
+		  SectionPos.blockToSection(positions[a]), SectionPos.blockToSection(positions[b])
+		), (a, b) -> {
+			final long p = positions[a];
+			positions[a] = positions[b];
+			positions[b] = p;
+			final BlockState s = states[a];
+			states[a] = states[b];
+			states[b] = s;
+		});
+		
+		for (int i = 0; i < size; i++) {
+			final BlockState prev = states[i];
+			final BlockPos pos = BlockPos.of(positions[i]);
+			final BlockState broken = AerobaticBlocks.BROKEN_LEAVES.defaultBlockState()
+			  .setValue(DISTANCE, prev.getValue(DISTANCE))
+			  .setValue(PERSISTENT, prev.getValue(PERSISTENT));
+			// Stored first, so clients have them when the block changes
+			BrokenLeavesCapability.setReplacedLeaves(level, pos, prev);
+			if (!level.setBlock(pos, broken, Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE)) {
+				BrokenLeavesCapability.setReplacedLeaves(level, pos, null);
+				batched.remove(positions[i]);
+				continue;
+			}
+			RegrowthScheduler.schedule(level, pos);
+		}
+		
+		// Update neighbours only at the border of the batch
+		for (int i = 0; i < size; i++) {
+			final long pos = positions[i];
+			if (!batched.contains(pos)) continue;
+			cursor.set(pos);
+			boolean border = false;
+			for (Direction direction: DIRECTIONS) {
+				if (!batched.contains(BlockPos.offset(pos, direction))) {
+					border = true;
+					break;
+				}
+			}
+			if (!border) continue;
+			final BlockState state = level.getBlockState(cursor);
+			level.updateNeighborsAt(cursor, state.getBlock());
+			state.updateNeighbourShapes(level, cursor, Block.UPDATE_ALL);
+		}
+		batched.clear();
+		Arrays.fill(states, 0, size, null);
+		batchSize = 0;
+	}
+}
@@ -0,0 +1,315 @@
+package endorh.aerobaticelytra.common.block;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesCapability;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesSection;
+import endorh.aerobaticelytra.common.capability.IBrokenLeaves;
+import endorh.aerobaticelytra.common.config.Config.collision.leave_breaking;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static endorh.aerobaticelytra.common.capability.IBrokenLeaves.NO_REGROWTH;
+import static java.lang.Math.max;
+
+/**
+ * Schedules the regrowth of broken leaves<br>
+ * Each broken leaf regrows at a deadline set when it breaks, after
+ * {@code leave_breaking.regrow_delay} seconds, varied by its spread.
+ * Deadlines are stored in the {@link IBrokenLeaves} of their chunk,
+ * so they're saved with it, and scheduled in a hierarchical timer
+ * wheel per level, so scheduling and expiring leaves takes constant
+ * time regardless of how many leaves are pending.<br>
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots, each
+ * slot of a level spanning a full turn of the level below. Entries are
+ * kept in the lowest level in which their deadline has the same higher
+ * digits as the current tick, and cascade to lower levels when their
+ * slot is reached. Later deadlines wait in an overflow slot.<br>
+ * Expired entries are processed in bulk per chunk. Entries of unloaded
+ * chunks are dropped, since they're scheduled again when their chunk
+ * loads, and entries whose deadline no longer matches the one stored
+ * in their chunk are stale and ignored.<br>
+ * Only accessed from the server thread.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class RegrowthScheduler {
+	private static final Map<ResourceKey<Level>, RegrowthScheduler> SCHEDULERS = new HashMap<>();
+	private static final int BITS = 6;
+	private static final int SLOTS = 1 << BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	
+	private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+	private final Slot overflow = new Slot();
+	private final Slot due = new Slot();
+	private final Slot cascading = new Slot();
+	private final Slot expired = new Slot();
+	private final MutableBlockPos cursor = new MutableBlockPos();
+	/**
+	 * Last processed tick
+	 */
+	private long time;
+	private int size;
+	
+	private RegrowthScheduler(long time) {
+		this.time = time;
+	}
+	
+	private static RegrowthScheduler get(ServerLevel level) {
+		return SCHEDULERS.computeIfAbsent(
+		  level.dimension(), k -> new RegrowthScheduler(level.getGameTime()));
+	}
+	
+	/**
+	 * Schedule the regrowth of the broken leaves at a position
+	 */
+	public static void schedule(ServerLevel level, BlockPos pos) {
+		final LevelChunk chunk = level.getChunkAt(pos);
+		final IBrokenLeaves leaves = BrokenLeavesCapability.getBrokenLeavesOrNull(chunk);
+		if (leaves == null || leaves.getReplacedLeaves(pos.getX(), pos.getY(), pos.getZ()) == null)
+			return;
+		final long deadline = nextRegrowthTime(level);
+		leaves.setRegrowthTime(pos.getX(), pos.getY(), pos.getZ(), deadline);
+		chunk.setUnsaved(true);
+		get(level).insert(pos.asLong(), deadline);
+	}
+	
+	/**
+	 * Game time at which leaves broken now should regrow
+	 */
+	public static long nextRegrowthTime(Level level) {
+		final float spread = leave_breaking.regrow_delay_spread;
+		final float delay = leave_breaking.regrow_delay
+		                    * (1F + spread * (level.random.nextFloat() * 2F - 1F));
+		return level.getGameTime() + max(1L, (long) (delay * 20F));
+	}
+	
+	@SubscribeEvent
+	public static void onLevelTick(LevelTickEvent event) {
+		if (event.phase != Phase.END || !(event.level instanceof ServerLevel level))
+			return;
+		final RegrowthScheduler scheduler = SCHEDULERS.get(level.dimension());
+		if (scheduler != null) {
+			scheduler.advance(level);
+			if (scheduler.size == 0) SCHEDULERS.remove(level.dimension());
+		}
+	}
+	
+	/**
+	 * Schedule the pending regrowth of loaded chunks<br>
+	 * Broken leaves without a regrowth time, such as migrated ones,
+	 * are given one.
+	 */
+	@SubscribeEvent
+	public static void onChunkLoad(ChunkEvent.Load event) {
+		if (!(event.getLevel() instanceof ServerLevel level)
+		    || !(event.getChunk() instanceof LevelChunk chunk))
+			return;
+		final IBrokenLeaves leaves = BrokenLeavesCapability.getBrokenLeavesOrNull(chunk);
+		if (leaves == null || leaves.isEmpty()) return;
+		final RegrowthScheduler scheduler = get(level);
+		final ChunkPos chunkPos = chunk.getPos();
+		for (int sy = chunk.getMinSection(); sy < chunk.getMaxSection(); sy++) {
+			final BrokenLeavesSection section = leaves.getSection(sy);
+			if (section == null) continue;
+			for (int i = 0; i < BrokenLeavesSection.SIZE; i++) {
+				if (section.get(i) == null) continue;
+				final int x = chunkPos.getBlockX(i & 15);
+				final int y = SectionPos.sectionToBlockCoord(sy, i >> 8);
+				final int z = chunkPos.getBlockZ(i >> 4 & 15);
+				long deadline = leaves.getRegrowthTime(x, y, z);
+				if (deadline == NO_REGROWTH) {
+					deadline = nextRegrowthTime(level);
+					leaves.setRegrowthTime(x, y, z, deadline);
+					chunk.setUnsaved(true);
+				}
+				scheduler.insert(BlockPos.asLong(x, y, z), deadline);
+			}
+		}
+	}
+	
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		if (event.getLevel() instanceof ServerLevel level)
+			SCHEDULERS.remove(level.dimension());
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		SCHEDULERS.clear();
+	}
+	
+	private void insert(long pos, long deadline) {
+		insert(pos, deadline, time);
+		size++;
+	}
+	
+	/**
+	 * Place an entry in the wheel, relative to a given tick
+	 */
+	private void insert(long pos, long deadline, long tick) {
+		if (deadline <= tick) {
+			due.add(pos, deadline);
+			return;
+		}
+		for (int l = 0; l < LEVELS; l++) {
+			final int shift = BITS * (l + 1);
+			if (deadline >> shift == tick >> shift) {
+				slot(l, (int) (deadline >> BITS * l) & MASK).add(pos, deadline);
+				return;
+			}
+		}
+		overflow.add(pos, deadline);
+	}
+	
+	private Slot slot(int level, int index) {
+		Slot slot = wheel[level][index];
+		if (slot == null) slot = wheel[level][index] = new Slot();
+		return slot;
+	}
+	
+	/**
+	 * Move the entries of a slot to the slots they belong to at a given tick
+	 */
+	private void cascade(@Nullable Slot slot, long tick) {
+		if (slot == null || slot.size == 0) return;
+		// The overflow slot may receive its own entries back
+		cascading.swap(slot);
+		for (int i = 0; i < cascading.size; i++)
+			insert(cascading.positions[i], cascading.deadlines[i], tick);
+		cascading.size = 0;
+	}
+	
+	/**
+	 * Process the ticks elapsed since the last call
+	 */
+	private void advance(ServerLevel level) {
+		final long now = level.getGameTime();
+		while (time < now) {
+			final long t = ++time;
+			// Higher levels first, since they cascade into lower ones
+			if ((t & (1L << BITS * LEVELS) - 1) == 0) cascade(overflow, t);
+			for (int l = LEVELS - 1; l > 0; l--)
+				if ((t & (1L << BITS * l) - 1) == 0)
+					cascade(wheel[l][(int) (t >> BITS * l) & MASK], t);
+			final Slot slot = wheel[0][(int) t & MASK];
+			if (slot != null) expired.takeAll(slot);
+			expired.takeAll(due);
+		}
+		if (expired.size > 0) expire(level);
+	}
+	
+	/**
+	 * Regrow the expired entries, one chunk at a time
+	 */
+	private void expire(ServerLevel level) {
+		final long[] positions = expired.positions;
+		final long[] deadlines = expired.deadlines;
+		final int count = expired.size;
+		it.unimi.dsi.fastutil.Arrays.quickSort(0, count, (a, b) -> Long.compare(
+		  chunkKey(positions[a]), chunkKey(positions[b])
+		), expired::swap);
+		
+		// Entries rescheduled while regrowing go to the wheel, not to the expired slot
+		long chunkKey = Long.MIN_VALUE;
+		LevelChunk chunk = null;
+		IBrokenLeaves leaves = null;
+		for (int i = 0; i < count; i++) {
+			final long pos = positions[i];
+			final long key = chunkKey(pos);
+			if (key != chunkKey) {
+				chunkKey = key;
+				chunk = level.getChunkSource().getChunkNow(ChunkPos.getX(key), ChunkPos.getZ(key));
+				leaves = chunk != null? BrokenLeavesCapability.getBrokenLeavesOrNull(chunk) : null;
+			}
+			size--;
+			if (leaves == null) continue;
+			final int x = BlockPos.getX(pos), y = BlockPos.getY(pos), z = BlockPos.getZ(pos);
+			if (leaves.getRegrowthTime(x, y, z) != deadlines[i]) continue;
+			cursor.set(x, y, z);
+			if (level.hasNeighborSignal(cursor) || !BrokenLeavesBlock.tryRestoreBrokenLeaves(level, cursor)) {
+				final long deadline = nextRegrowthTime(level);
+				leaves.setRegrowthTime(x, y, z, deadline);
+				chunk.setUnsaved(true);
+				insert(pos, deadline);
+			}
+		}
+		expired.size = 0;
+	}
+	
+	private static long chunkKey(long pos) {
+		return ChunkPos.asLong(
+		  SectionPos.blockToSectionCoord(BlockPos.getX(pos)),
+		  SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+	}
+	
+	/**
+	 * Growable list of packed positions and their deadlines
+	 */
+	private static final class Slot {
+		private long[] positions = new long[16];
+		private long[] deadlines = new long[16];
+		private int size;
+		
+		private void add(long pos, long deadline) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size * 2);
+				deadlines = Arrays.copyOf(deadlines, size * 2);
+			}
+			positions[size] = pos;
+			deadlines[size] = deadline;
+			size++;
+		}
+		
+		private void takeAll(Slot other) {
+			if (size == 0) {
+				swap(other);
+				return;
+			}
+			for (int i = 0; i < other.size; i++)
+				add(other.positions[i], other.deadlines[i]);
+			other.size = 0;
+		}
+		
+		/**
+		 * Exchange the contents of two slots
+		 */
+		private void swap(Slot other) {
+			final long[] positions = this.positions;
+			final long[] deadlines = this.deadlines;
+			final int size = this.size;
+			this.positions = other.positions;
+			this.deadlines = other.deadlines;
+			this.size = other.size;
+			other.positions = positions;
+			other.deadlines = deadlines;
+			other.size = size;
+		}
+		
+		private void swap(int a, int b) {
+			final long p = positions[a];
+			positions[a] = positions[b];
+			positions[b] = p;
+			final long d = deadlines[a];
+			deadlines[a] = deadlines[b];
+			deadlines[b] = d;
+		}
+	}
+}
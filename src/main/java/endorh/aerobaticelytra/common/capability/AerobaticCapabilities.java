@@ -12,7 +12,7 @@ import java.util.stream.Stream;
 public class AerobaticCapabilities {
 	@SubscribeEvent
 	public static void onRegisterCapabilities(RegisterCapabilitiesEvent event) {
-		Stream.of(IFlightData.class, IAerobaticData.class, IElytraSpec.class)
+		Stream.of(IFlightData.class, IAerobaticData.class, IElytraSpec.class, IBrokenLeaves.class)
 		  .forEach(event::register);
 		AerobaticElytra.logRegistered("Capabilities");
 	}
@@ -1,7 +1,10 @@
 package endorh.aerobaticelytra.common.capability;
 
 import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.flight.FlightContext;
+import endorh.aerobaticelytra.common.flight.FlightStatCounter;
 import endorh.aerobaticelytra.common.flight.VectorBase;
+import endorh.aerobaticelytra.common.flight.physics.RotationIntegrator;
 import endorh.lazulib.capability.SerializableCapabilityWrapperProvider;
 import endorh.lazulib.math.Vec3d;
 import net.minecraft.client.resources.sounds.ElytraOnPlayerSoundInstance;
@@ -62,15 +65,25 @@ public class AerobaticDataCapability {
 	}
 	
 	/**
-	 * @return The {@link IAerobaticData} from the player or a default
-	 *   if for some reason the player doesn't have the capability or it's
-	 *   invalid now
+	 * @return The {@link IAerobaticData} from the player or a shared
+	 *   default if for some reason the player doesn't have the capability
+	 *   or it's invalid now. The default ignores modifications.
 	 * @see AerobaticDataCapability#getAerobaticData
 	 * @see AerobaticDataCapability#requireAerobaticData
 	 */
 	public static IAerobaticData getAerobaticDataOrDefault(Player player) {
+		final IAerobaticData data = getAerobaticDataOrNull(player);
+		return data != null? data : DefaultAerobaticData.INSTANCE;
+	}
+	
+	/**
+	 * @return The {@link IAerobaticData} from the player, or null if it
+	 *   doesn't have the capability, without allocating
+	 * @see AerobaticDataCapability#getAerobaticDataOrDefault
+	 */
+	public static @Nullable IAerobaticData getAerobaticDataOrNull(Player player) {
 		assert CAPABILITY != null;
-		return player.getCapability(CAPABILITY).orElse(new AerobaticData(player));
+		return player.getCapability(CAPABILITY).orElse(null);
 	}
 	
 	/**
@@ -108,7 +121,10 @@ public class AerobaticDataCapability {
 	@SubscribeEvent
 	public static void onClonePlayer(PlayerEvent.Clone event) {
 		IAerobaticData playerData = requireAerobaticData(event.getEntity());
-		playerData.copy(getAerobaticDataOrDefault(event.getOriginal()));
+		final IAerobaticData original = getAerobaticDataOrDefault(event.getOriginal());
+		// Both players share the same stats
+		original.getStatCounter().flush(event.getEntity());
+		playerData.copy(original);
 		playerData.reset();
 	}
 	
@@ -151,6 +167,7 @@ public class AerobaticDataCapability {
 		protected final VectorBase preBounceBase = new VectorBase();
 		protected final VectorBase posBounceBase = new VectorBase();
 		protected final VectorBase lookAroundBase = new VectorBase();
+		private final float[] spherical = new float[3];
 		
 		protected boolean braking = false;
 		protected float brakeStrength = 0F;
@@ -164,7 +181,9 @@ public class AerobaticDataCapability {
 		protected float liftCut = 0F;
 		
 		protected boolean isFlying = false;
-		protected double lastRotationTime = 0D;
+		protected final RotationIntegrator rotationIntegrator = new RotationIntegrator();
+		protected final FlightContext flightContext;
+		protected final FlightStatCounter statCounter = new FlightStatCounter();
 		protected long lastBounceTime = 0L;
 		
 		protected boolean sneaking = false;
@@ -183,6 +202,7 @@ public class AerobaticDataCapability {
 		
 		public AerobaticData(Player player) {
 			this.player = player;
+			flightContext = new FlightContext(player);
 		}
 		
 		@Override public Player getPlayer() {return player;}
@@ -207,7 +227,7 @@ public class AerobaticDataCapability {
 		}
 		
 		@Override public void updateRotation(VectorBase base, float partialTick) {
-			float[] spherical = base.toSpherical(player.yRotO);
+			float[] spherical = base.toSpherical(player.yRotO, this.spherical);
 			setRotationYaw(spherical[0]);
 			setRotationPitch(spherical[1]);
 			setRotationRoll(spherical[2]);
@@ -216,7 +236,7 @@ public class AerobaticDataCapability {
 			float lookYaw = Mth.lerp(partialTick, getPrevLookAroundYaw(), getLookAroundYaw());
 			float lookPitch = Mth.lerp(partialTick, getPrevLookAroundPitch(), getLookAroundPitch());
 			lookAroundBase.applyLookAround(lookYaw, lookPitch);
-			float[] lookSpherical = lookAroundBase.toSpherical(player.yRotO);
+			float[] lookSpherical = lookAroundBase.toSpherical(player.yRotO, this.spherical);
 			
 			player.yRotO = player.getYRot();
 			player.setYRot(lookSpherical[0]);
@@ -490,11 +510,16 @@ public class AerobaticDataCapability {
 			playingSound = playing;
 		}
 		
-		@Override public double getLastRotationTime() {
-			return lastRotationTime;
+		@Override public RotationIntegrator getRotationIntegrator() {
+			return rotationIntegrator;
+		}
+		
+		@Override public FlightContext getFlightContext() {
+			return flightContext;
 		}
-		@Override public void setLastRotationTime(double time) {
-			lastRotationTime = time;
+		
+		@Override public FlightStatCounter getStatCounter() {
+			return statCounter;
 		}
 		
 		@Override public long getLastBounceTime() {
@@ -553,4 +578,99 @@ public class AerobaticDataCapability {
 			getRotationBase().readNBT(tag.getCompound(TAG_ROTATION_BASE));
 		}
 	}
+	
+	/**
+	 * Shared data for players without the capability<br>
+	 * Modifications are ignored, so it can never be changed by its
+	 * users, and doesn't allocate. Its flight context never has an
+	 * elytra, so it never reaches the flight logic.
+	 */
+	private static final class DefaultAerobaticData extends AerobaticData {
+		private static final DefaultAerobaticData INSTANCE = new DefaultAerobaticData();
+		private static final FlightStatCounter STAT_COUNTER = new DiscardingStatCounter();
+		
+		private DefaultAerobaticData() {
+			super(null);
+		}
+		
+		// Stats counted here would be awarded to the next player flushing it
+		@Override public FlightStatCounter getStatCounter() {
+			return STAT_COUNTER;
+		}
+		
+		@Override public void setRotationPitch(float pitch) {}
+		@Override public void updateRotation(VectorBase base, float partialTick) {}
+		@Override public void setRotationYaw(float yaw) {}
+		@Override public void setRotationRoll(float rotationRoll) {}
+		@Override public void setPrevTickRotationPitch(float pitch) {}
+		@Override public void setPrevTickRotationRoll(float roll) {}
+		@Override public void setPrevTickRotationYaw(float yaw) {}
+		@Override public void updatePrevTickAngles() {}
+		@Override public void setTiltPitch(float tiltPitch) {}
+		@Override public void setTiltRoll(float tiltRoll) {}
+		@Override public void setTiltYaw(float tiltYaw) {}
+		@Override public void setLookAroundYaw(float yaw) {}
+		@Override public void setLookAroundPitch(float pitch) {}
+		@Override public void setLookAroundRoll(float roll) {}
+		@Override public void setPrevLookAroundYaw(float yaw) {}
+		@Override public void setPrevLookAroundPitch(float pitch) {}
+		@Override public void setPrevLookAroundRoll(float roll) {}
+		@Override public void setFlying(boolean flying) {}
+		@Override public boolean updateFlying(boolean flying) {
+			return false;
+		}
+		@Override public void setAffectedByWeather(boolean affected) {}
+		@Override public void setPropulsionStrength(float strength) {}
+		@Override public void setPropulsionAcceleration(float acc) {}
+		@Override public void setBoosted(boolean boosted) {}
+		@Override public boolean updateBoosted(boolean boosted) {
+			return false;
+		}
+		@Override public void setBoostHeat(float heat) {}
+		@Override public void setBrakeStrength(float strength) {}
+		@Override public void setBraking(boolean braking) {}
+		@Override public void setBrakeHeat(float heat) {}
+		@Override public void setBrakeCooling(boolean cooling) {}
+		@Override public void setLiftCut(float cut) {}
+		@Override public void setSneaking(boolean sneaking) {}
+		@Override public boolean updateSneaking(boolean sneaking) {
+			return false;
+		}
+		@Override public void setJumping(boolean jumping) {}
+		@Override public boolean updateJumping(boolean jumping) {
+			return false;
+		}
+		@Override public void setSuppressJumping(boolean suppress) {}
+		@Override public void setSprinting(boolean sprinting) {}
+		@Override public boolean updateSprinting(boolean sprinting) {
+			return false;
+		}
+		@Override public void setLookingAround(boolean lookingAround) {}
+		@Override public boolean updateLookingAround(boolean lookingAround) {
+			return false;
+		}
+		@Override public void setLookAroundPersistent(boolean persistent) {}
+		@Override public void setAimingBow(boolean aiming) {}
+		@Override public void setPlayingSound(boolean playing) {}
+		@Override public boolean updatePlayingSound(boolean playing) {
+			return false;
+		}
+		@Override public void setLastBounceTime(long time) {}
+		@Override public void setElytraSound(ElytraOnPlayerSoundInstance sound) {}
+		@Override public void copy(IAerobaticData data) {}
+		@Override public void reset() {}
+		@Override public void land() {}
+		@Override public void deserializeCapability(CompoundTag tag) {}
+		
+		/**
+		 * Stat counter that ignores any stat
+		 */
+		private static final class DiscardingStatCounter extends FlightStatCounter {
+			@Override public void addDistance(double blocks) {}
+			@Override public void addBoost() {}
+			@Override public void addBounce() {}
+			@Override public void tick(Player player) {}
+			@Override public void flush(Player player) {}
+		}
+	}
 }
@@ -0,0 +1,321 @@
+package endorh.aerobaticelytra.common.capability;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.block.BrokenLeavesBlock;
+import endorh.aerobaticelytra.common.block.entity.BrokenLeavesBlockEntity;
+import endorh.aerobaticelytra.network.BrokenLeavesPackets.SBrokenLeavesChunkPacket;
+import endorh.aerobaticelytra.network.BrokenLeavesPackets.SBrokenLeavesSectionPacket;
+import endorh.lazulib.capability.SerializableCapabilityWrapperProvider;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ImposterProtoChunk;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.level.ChunkDataEvent;
+import net.minecraftforge.event.level.ChunkWatchEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Capability for {@link IBrokenLeaves}, attached to chunks<br>
+ * Broken leaves used to store the leaves they replaced in a block entity,
+ * which are migrated into the chunk capability when their chunk is loaded.<br>
+ * Changes are synced to clients at the end of each server tick, with
+ * one {@link SBrokenLeavesSectionPacket} per changed chunk section.
+ */
+@EventBusSubscriber(modid=AerobaticElytra.MOD_ID)
+public class BrokenLeavesCapability {
+	private static final Logger LOGGER = LogManager.getLogger();
+	
+	/**
+	 * The {@link Capability} instance
+	 */
+	public static Capability<IBrokenLeaves> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+	public static final ResourceLocation ID = AerobaticElytra.prefix("broken_leaves");
+	private static final String LEGACY_BLOCK_ENTITY_ID =
+	  AerobaticElytra.prefix(BrokenLeavesBlockEntity.NAME).toString();
+	/**
+	 * Changes pending to be synced, by level and section
+	 */
+	private static final Map<ResourceKey<Level>, Long2ObjectMap<SBrokenLeavesSectionPacket>>
+	  PENDING_SYNC = new HashMap<>();
+	
+	/**
+	 * @return The {@link IBrokenLeaves} of a chunk, or null if it doesn't
+	 *   have the capability
+	 */
+	public static @Nullable IBrokenLeaves getBrokenLeavesOrNull(LevelChunk chunk) {
+		assert CAPABILITY != null;
+		return chunk.getCapability(CAPABILITY).orElse(null);
+	}
+	
+	/**
+	 * Get the leaves replaced by the broken leaves at a position,
+	 * without loading its chunk
+	 */
+	public static @Nullable BlockState getReplacedLeaves(Level level, BlockPos pos) {
+		final LevelChunk chunk = level.getChunkSource().getChunkNow(
+		  SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+		if (chunk == null) return null;
+		final IBrokenLeaves leaves = getBrokenLeavesOrNull(chunk);
+		return leaves != null? leaves.getReplacedLeaves(pos.getX(), pos.getY(), pos.getZ()) : null;
+	}
+	
+	/**
+	 * Set or remove the leaves replaced by the broken leaves at a position,
+	 * and sync them to the players tracking its chunk at the end of the tick
+	 */
+	public static void setReplacedLeaves(ServerLevel level, BlockPos pos, @Nullable BlockState state) {
+		final LevelChunk chunk = level.getChunkAt(pos);
+		final IBrokenLeaves leaves = getBrokenLeavesOrNull(chunk);
+		if (leaves == null) return;
+		if (leaves.setReplacedLeaves(pos.getX(), pos.getY(), pos.getZ(), state) == state) return;
+		chunk.setUnsaved(true);
+		Long2ObjectMap<SBrokenLeavesSectionPacket> pending = PENDING_SYNC.get(level.dimension());
+		if (pending == null) PENDING_SYNC.put(level.dimension(), pending = new Long2ObjectOpenHashMap<>());
+		final long section = SectionPos.asLong(pos);
+		SBrokenLeavesSectionPacket packet = pending.get(section);
+		if (packet == null) pending.put(section, packet = new SBrokenLeavesSectionPacket(
+		  level, SectionPos.of(section)));
+		packet.add(BrokenLeavesSection.index(pos.getX(), pos.getY(), pos.getZ()), state);
+	}
+	
+	/**
+	 * Send the changes of the tick<br>
+	 * Sent after all levels have ticked, so clients receive them before
+	 * the block changes of the tick, which are sent during the next one.
+	 */
+	@SubscribeEvent
+	public static void onServerTick(ServerTickEvent event) {
+		if (event.phase != Phase.END || PENDING_SYNC.isEmpty()) return;
+		for (Map.Entry<ResourceKey<Level>, Long2ObjectMap<SBrokenLeavesSectionPacket>> e: PENDING_SYNC.entrySet()) {
+			final ServerLevel level = event.getServer().getLevel(e.getKey());
+			if (level == null) continue;
+			for (SBrokenLeavesSectionPacket packet: e.getValue().values()) {
+				final SectionPos section = packet.getSection();
+				final LevelChunk chunk = level.getChunkSource().getChunkNow(section.x(), section.z());
+				if (chunk != null) packet.sendTracking(chunk);
+			}
+		}
+		PENDING_SYNC.clear();
+	}
+	
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		if (event.getLevel() instanceof ServerLevel level)
+			PENDING_SYNC.remove(level.dimension());
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		PENDING_SYNC.clear();
+	}
+	
+	/**
+	 * Attach the capability to chunks
+	 */
+	@SubscribeEvent
+	public static void onAttachCapability(AttachCapabilitiesEvent<LevelChunk> event) {
+		if (CAPABILITY == null) return;
+		event.addCapability(ID, new SerializableCapabilityWrapperProvider<>(
+		  CAPABILITY, null, new BrokenLeaves()));
+	}
+	
+	/**
+	 * Send the broken leaves of a chunk to players that start tracking it
+	 */
+	@SubscribeEvent
+	public static void onChunkWatch(ChunkWatchEvent.Watch event) {
+		final ChunkPos pos = event.getPos();
+		final LevelChunk chunk = event.getLevel().getChunkSource().getChunkNow(pos.x, pos.z);
+		if (chunk == null) return;
+		final IBrokenLeaves leaves = getBrokenLeavesOrNull(chunk);
+		if (leaves != null && !leaves.isEmpty())
+			new SBrokenLeavesChunkPacket(event.getLevel(), pos, leaves).sendToTracker(event.getPlayer());
+	}
+	
+	/**
+	 * Migrate the block entities broken leaves used to have into the capability<br>
+	 * Their entries are removed from the chunk data before the chunk
+	 * loads its block entities, since broken leaves no longer have any.
+	 */
+	@SubscribeEvent
+	public static void onChunkLoad(ChunkDataEvent.Load event) {
+		ChunkAccess access = event.getChunk();
+		if (access instanceof ImposterProtoChunk imposter)
+			access = imposter.getWrapped();
+		if (!(access instanceof LevelChunk chunk)) return;
+		final CompoundTag data = event.getData();
+		if (!data.contains("block_entities", Tag.TAG_LIST)) return;
+		final ListTag blockEntities = data.getList("block_entities", Tag.TAG_COMPOUND);
+		IBrokenLeaves leaves = null;
+		int migrated = 0;
+		for (Iterator<Tag> it = blockEntities.iterator(); it.hasNext();) {
+			if (!(it.next() instanceof CompoundTag tag)
+			    || !LEGACY_BLOCK_ENTITY_ID.equals(tag.getString("id")))
+				continue;
+			it.remove();
+			if (leaves == null) {
+				leaves = getBrokenLeavesOrNull(chunk);
+				if (leaves == null) return;
+			}
+			final CompoundTag replaced = tag.getCompound("ForgeData")
+			  .getCompound(BrokenLeavesBlockEntity.TAG_REPLACED_LEAVES);
+			if (replaced.isEmpty()) continue;
+			final BlockState state = NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), replaced);
+			if (state.isAir()) continue;
+			leaves.setReplacedLeaves(tag.getInt("x"), tag.getInt("y"), tag.getInt("z"), state);
+			migrated++;
+		}
+		if (migrated > 0) {
+			chunk.setUnsaved(true);
+			LOGGER.debug("Migrated {} broken leaves block entities in chunk {}", migrated, chunk.getPos());
+		}
+	}
+	
+	/**
+	 * Default implementation of {@link IBrokenLeaves}
+	 * @see BrokenLeavesBlock
+	 */
+	public static class BrokenLeaves implements IBrokenLeaves {
+		public static final String TAG_SECTIONS = "Sections";
+		public static final String TAG_Y = "Y";
+		public static final String TAG_REGROWTH = "Regrowth";
+		
+		// Replaced rather than modified, since it may be read from client render threads
+		private volatile Int2ObjectMap<BrokenLeavesSection> sections = Int2ObjectMaps.emptyMap();
+		// Only used in the server thread
+		private final Long2LongOpenHashMap regrowth = new Long2LongOpenHashMap();
+		
+		public BrokenLeaves() {
+			regrowth.defaultReturnValue(NO_REGROWTH);
+		}
+		
+		@Override public @Nullable BlockState getReplacedLeaves(int x, int y, int z) {
+			final BrokenLeavesSection section = sections.get(SectionPos.blockToSectionCoord(y));
+			return section != null? section.get(BrokenLeavesSection.index(x, y, z)) : null;
+		}
+		
+		@Override public @Nullable BlockState setReplacedLeaves(
+		  int x, int y, int z, @Nullable BlockState state
+		) {
+			final int sectionY = SectionPos.blockToSectionCoord(y);
+			BrokenLeavesSection section = sections.get(sectionY);
+			if (state == null) regrowth.remove(BlockPos.asLong(x, y, z));
+			if (section == null) {
+				if (state == null) return null;
+				section = new BrokenLeavesSection();
+				final Int2ObjectMap<BrokenLeavesSection> map = new Int2ObjectOpenHashMap<>(sections);
+				map.put(sectionY, section);
+				sections = map;
+			}
+			final BlockState prev = section.set(BrokenLeavesSection.index(x, y, z), state);
+			if (section.isEmpty()) {
+				final Int2ObjectMap<BrokenLeavesSection> map = new Int2ObjectOpenHashMap<>(sections);
+				map.remove(sectionY);
+				sections = map.isEmpty()? Int2ObjectMaps.emptyMap() : map;
+			}
+			return prev;
+		}
+		
+		@Override public long getRegrowthTime(int x, int y, int z) {
+			return regrowth.get(BlockPos.asLong(x, y, z));
+		}
+		
+		@Override public void setRegrowthTime(int x, int y, int z, long time) {
+			if (time == NO_REGROWTH) {
+				regrowth.remove(BlockPos.asLong(x, y, z));
+			} else if (getReplacedLeaves(x, y, z) != null)
+				regrowth.put(BlockPos.asLong(x, y, z), time);
+		}
+		
+		@Override public @Nullable BrokenLeavesSection getSection(int sectionY) {
+			return sections.get(sectionY);
+		}
+		
+		@Override public void clear() {
+			sections = Int2ObjectMaps.emptyMap();
+			regrowth.clear();
+		}
+		
+		@Override public boolean isEmpty() {
+			return sections.isEmpty();
+		}
+		
+		@Override public CompoundTag serializeCapability() {
+			final ListTag list = new ListTag();
+			for (Int2ObjectMap.Entry<BrokenLeavesSection> e: sections.int2ObjectEntrySet()) {
+				final CompoundTag tag = e.getValue().write();
+				tag.putInt(TAG_Y, e.getIntKey());
+				list.add(tag);
+			}
+			final CompoundTag nbt = new CompoundTag();
+			nbt.put(TAG_SECTIONS, list);
+			if (!regrowth.isEmpty()) {
+				// Position and time pairs
+				final long[] times = new long[regrowth.size() * 2];
+				int i = 0;
+				for (Long2LongMap.Entry e: regrowth.long2LongEntrySet()) {
+					times[i++] = e.getLongKey();
+					times[i++] = e.getLongValue();
+				}
+				nbt.putLongArray(TAG_REGROWTH, times);
+			}
+			return nbt;
+		}
+		
+		@Override public void deserializeCapability(CompoundTag nbt) {
+			final ListTag list = nbt.getList(TAG_SECTIONS, Tag.TAG_COMPOUND);
+			final Int2ObjectMap<BrokenLeavesSection> map = new Int2ObjectOpenHashMap<>(list.size());
+			for (int i = 0; i < list.size(); i++) {
+				final CompoundTag tag = list.getCompound(i);
+				try {
+					final BrokenLeavesSection section = BrokenLeavesSection.read(tag);
+					if (!section.isEmpty()) map.put(tag.getInt(TAG_Y), section);
+				} catch (IllegalArgumentException e) {
+					LOGGER.warn("Discarding invalid broken leaves section: " + e.getMessage());
+				}
+			}
+			sections = map.isEmpty()? Int2ObjectMaps.emptyMap() : map;
+			regrowth.clear();
+			final long[] times = nbt.getLongArray(TAG_REGROWTH);
+			for (int i = 0; i + 1 < times.length; i += 2) {
+				final long pos = times[i];
+				setRegrowthTime(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos), times[i + 1]);
+			}
+		}
+	}
+}
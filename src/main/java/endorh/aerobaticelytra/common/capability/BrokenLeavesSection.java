@@ -0,0 +1,150 @@
+package endorh.aerobaticelytra.common.capability;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SimpleBitStorage;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Replaced leaves of the broken leaves within a chunk section<br>
+ * Stored as a palette of block states, and an array of palette
+ * indices packed with as few bits as the palette needs, like
+ * vanilla chunk sections. Index 0 stands for no replaced leaves.<br>
+ * Only modified from the thread owning its level, but may be read from
+ * client chunk render threads, so the palette and its indices are
+ * replaced together when they grow.
+ */
+public class BrokenLeavesSection {
+	public static final int SIZE = 16 * 16 * 16;
+	public static final String TAG_PALETTE = "Palette";
+	public static final String TAG_DATA = "Data";
+	
+	private volatile Storage storage = new Storage(new BlockState[] {null}, new SimpleBitStorage(1, SIZE));
+	private int count;
+	
+	private record Storage(BlockState[] palette, SimpleBitStorage indices) {}
+	
+	/**
+	 * Index of a block within its section
+	 */
+	public static int index(int x, int y, int z) {
+		return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+	}
+	
+	public @Nullable BlockState get(int index) {
+		final Storage s = storage;
+		final int i = s.indices.get(index);
+		// Only stale indices may be out of bounds
+		return i < s.palette.length? s.palette[i] : null;
+	}
+	
+	/**
+	 * Set or remove the replaced leaves of a block
+	 * @return The previous replaced leaves
+	 */
+	public @Nullable BlockState set(int index, @Nullable BlockState state) {
+		Storage s = storage;
+		final int prev = s.indices.get(index);
+		final int i = state != null? paletteIndex(state) : 0;
+		if (i == prev) return state;
+		s = storage;
+		s.indices.set(index, i);
+		if (prev == 0) count++;
+		else if (i == 0) count--;
+		return s.palette[prev];
+	}
+	
+	/**
+	 * Number of blocks with replaced leaves
+	 */
+	public int size() {
+		return count;
+	}
+	
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	private int paletteIndex(BlockState state) {
+		final Storage s = storage;
+		final BlockState[] palette = s.palette;
+		for (int i = 1; i < palette.length; i++)
+			if (palette[i] == state) return i;
+		final int i = palette.length;
+		final BlockState[] grown = Arrays.copyOf(palette, i + 1);
+		grown[i] = state;
+		final int bits = bits(grown.length);
+		storage = new Storage(grown, bits == s.indices.getBits()? s.indices : resize(s.indices, bits));
+		return i;
+	}
+	
+	private static int bits(int paletteSize) {
+		return Math.max(1, Mth.ceillog2(paletteSize));
+	}
+	
+	private static SimpleBitStorage resize(SimpleBitStorage indices, int bits) {
+		final SimpleBitStorage resized = new SimpleBitStorage(bits, SIZE);
+		for (int i = 0; i < SIZE; i++) resized.set(i, indices.get(i));
+		return resized;
+	}
+	
+	/**
+	 * Serialize, leaving out unused palette entries
+	 */
+	public CompoundTag write() {
+		final Storage s = storage;
+		final int[] remap = new int[s.palette.length];
+		final ListTag palette = new ListTag();
+		int size = 1;
+		for (int i = 0; i < SIZE; i++) {
+			final int p = s.indices.get(i);
+			if (p != 0 && remap[p] == 0) {
+				remap[p] = size++;
+				palette.add(NbtUtils.writeBlockState(s.palette[p]));
+			}
+		}
+		final SimpleBitStorage indices = new SimpleBitStorage(bits(size), SIZE);
+		for (int i = 0; i < SIZE; i++)
+			indices.set(i, remap[s.indices.get(i)]);
+		final CompoundTag tag = new CompoundTag();
+		tag.put(TAG_PALETTE, palette);
+		tag.putLongArray(TAG_DATA, indices.getRaw());
+		return tag;
+	}
+	
+	/**
+	 * Deserialize a section written by {@link #write()}
+	 * @throws IllegalArgumentException if the data doesn't match the palette
+	 */
+	public static BrokenLeavesSection read(CompoundTag tag) {
+		final ListTag list = tag.getList(TAG_PALETTE, Tag.TAG_COMPOUND);
+		final BlockState[] palette = new BlockState[list.size() + 1];
+		for (int i = 0; i < list.size(); i++)
+			palette[i + 1] = NbtUtils.readBlockState(
+			  BuiltInRegistries.BLOCK.asLookup(), list.getCompound(i));
+		final SimpleBitStorage indices;
+		try {
+			indices = new SimpleBitStorage(bits(palette.length), SIZE, tag.getLongArray(TAG_DATA));
+		} catch (SimpleBitStorage.InitializationException e) {
+			throw new IllegalArgumentException("Invalid broken leaves section data", e);
+		}
+		final BrokenLeavesSection section = new BrokenLeavesSection();
+		int count = 0;
+		for (int i = 0; i < SIZE; i++) {
+			final int p = indices.get(i);
+			if (p >= palette.length)
+				throw new IllegalArgumentException("Invalid broken leaves palette index: " + p);
+			if (p != 0) count++;
+		}
+		section.storage = new Storage(palette, indices);
+		section.count = count;
+		return section;
+	}
+}
@@ -1,8 +1,10 @@
 package endorh.aerobaticelytra.common.capability;
 
+import endorh.aerobaticelytra.client.trail.AerobaticTrail.RocketSide;
 import endorh.aerobaticelytra.common.config.Config;
 import endorh.aerobaticelytra.common.item.IAbility;
 import endorh.aerobaticelytra.common.item.IEffectAbility;
+import endorh.aerobaticelytra.common.registry.AbilityLayout;
 import endorh.aerobaticelytra.common.registry.AerobaticElytraRegistries;
 import endorh.lazulib.capability.SerializableCapabilityWrapperProvider;
 import net.minecraft.nbt.CompoundTag;
@@ -13,13 +15,12 @@ import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.common.capabilities.CapabilityToken;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.Nonnull;
 import java.lang.ref.WeakReference;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
@@ -48,9 +49,15 @@ public class ElytraSpecCapability {
 		return stack.getCapability(CAPABILITY);
 	}
 	
+	/**
+	 * @return The {@link IElytraSpec} of the stack, or a shared default
+	 *   spec if it doesn't have one<br>
+	 *   The default spec ignores any modifications
+	 */
 	public static IElytraSpec getElytraSpecOrDefault(ItemStack stack) {
 		assert CAPABILITY != null;
-		return stack.getCapability(CAPABILITY).orElse(new ElytraSpec());
+		final IElytraSpec spec = stack.getCapability(CAPABILITY).orElse(null);
+		return spec != null? spec : DefaultElytraSpec.INSTANCE;
 	}
 	
 	public static ICapabilitySerializable<CompoundTag> createProvider() {
@@ -72,7 +79,14 @@ public class ElytraSpecCapability {
 		public static final String TAG_TRAIL = "Trail";
 		
 		protected WeakReference<ServerPlayer> player;
-		protected final Map<IAbility, Float> properties = new HashMap<>();
+		/**
+		 * Ability values, indexed by {@link #layout}<br>
+		 * Only meaningful for abilities present in {@link #present}
+		 */
+		protected AbilityLayout layout = AerobaticElytraRegistries.getAbilityLayout();
+		protected float[] values = new float[layout.size()];
+		protected long[] present = new long[words(layout.size())];
+		protected final Map<IAbility, Float> abilities = new AbilityMap();
 		protected final Map<IEffectAbility, Boolean> effectAbilities = new HashMap<>();
 		protected final TrailData trailData = new TrailData();
 		protected final Map<String, Float> unknownProperties = new HashMap<>();
@@ -86,47 +100,160 @@ public class ElytraSpecCapability {
 		}
 		
 		@Override public @Nullable ServerPlayer getPlayerEntity() {
-			return player.get();
+			return player != null? player.get() : null;
 		}
 		
 		@Override public float getAbility(IAbility prop) {
-			return properties.getOrDefault(prop, prop.getDefault());
+			final int i = indexOf(prop);
+			if (i < 0) {
+				final Float unknown = unknownProperties.get(unknownName(prop));
+				return unknown != null? unknown : prop.getDefault();
+			}
+			return isPresent(i)? values[i] : prop.getDefault();
 		}
 		
 		@Override public void setAbility(IAbility prop, float value) {
-			properties.put(prop, value);
+			final int i = indexOf(prop);
+			// Abilities missing from the layout, such as those set during a reload, are kept by name
+			if (i < 0) {
+				unknownProperties.put(unknownName(prop), value);
+				return;
+			}
+			values[i] = value;
+			present[i >>> 6] |= 1L << i;
 			if (prop instanceof IEffectAbility && !effectAbilities.containsKey(prop))
 				effectAbilities.put((IEffectAbility) prop, false);
 		}
 		
 		@Override public Float removeAbility(IAbility ability) {
-			if (ability instanceof IEffectAbility && effectAbilities.remove(ability)) {
-				final ServerPlayer player = this.player.get();
-				if (player != null)
-					((IEffectAbility) ability).undoEffect(player);
-			}
-			return properties.remove(ability);
+			if (ability instanceof IEffectAbility effect)
+				removeEffectAbility(effect);
+			final int i = indexOf(ability);
+			if (i < 0) return unknownProperties.remove(unknownName(ability));
+			if (!isPresent(i)) return null;
+			present[i >>> 6] &= ~(1L << i);
+			return values[i];
 		}
 		
 		@Override public Map<IAbility, Float> getAbilities() {
-			return Collections.unmodifiableMap(properties);
+			return abilities;
 		}
 		
 		@Override public void putAbilities(Map<IAbility, Float> abilities) {
-			properties.putAll(abilities);
-			for (IAbility ability: abilities.keySet())
-				if (ability instanceof IEffectAbility && !effectAbilities.containsKey(ability))
-					effectAbilities.put((IEffectAbility) ability, false);
+			for (Entry<IAbility, Float> entry: abilities.entrySet())
+				setAbility(entry.getKey(), entry.getValue());
 		}
 		
 		@Override public void setAbilities(Map<IAbility, Float> abilities) {
-			properties.clear();
+			Arrays.fill(present, 0L);
 			effectAbilities.clear();
 			putAbilities(abilities);
 		}
 		
 		@Override public boolean hasAbility(IAbility ability) {
-			return properties.containsKey(ability);
+			final int i = indexOf(ability);
+			return i >= 0 && isPresent(i);
+		}
+		
+		@Override public void copy(IElytraSpec spec) {
+			if (!(spec instanceof ElytraSpec other)) {
+				IElytraSpec.super.copy(spec);
+				return;
+			}
+			final AbilityLayout current = updateLayout();
+			other.updateLayout();
+			System.arraycopy(other.values, 0, values, 0, current.size());
+			System.arraycopy(other.present, 0, present, 0, present.length);
+			effectAbilities.clear();
+			for (IEffectAbility ability: other.effectAbilities.keySet())
+				effectAbilities.put(ability, false);
+			unknownProperties.clear();
+			unknownProperties.putAll(other.unknownProperties);
+			trailData.read(other.trailData.write());
+		}
+		
+		/**
+		 * Index of an ability, remapping the values first if the
+		 * abilities have been baked again
+		 * @return -1 if the ability isn't registered
+		 */
+		protected int indexOf(IAbility ability) {
+			return updateLayout().indexOf(ability);
+		}
+		
+		/**
+		 * Name under which an ability missing from the layout is kept<br>
+		 * Abilities that are no longer registered have no namespace, so
+		 * they're kept by their JSON name.
+		 */
+		protected static String unknownName(IAbility ability) {
+			return ability.getRegistryKey() != null? ability.fullName() : ability.getName();
+		}
+		
+		protected AbilityLayout updateLayout() {
+			final AbilityLayout current = AerobaticElytraRegistries.getAbilityLayout();
+			if (current != layout) remap(current);
+			return current;
+		}
+		
+		/**
+		 * Move the values to a new layout<br>
+		 * Abilities no longer registered are kept as unknown abilities
+		 */
+		protected void remap(AbilityLayout target) {
+			final float[] newValues = new float[target.size()];
+			final long[] newPresent = new long[words(target.size())];
+			for (int i = nextPresent(0); i >= 0; i = nextPresent(i + 1)) {
+				final IAbility ability = layout.get(i);
+				final int j = target.indexOf(ability);
+				if (j >= 0) {
+					newValues[j] = values[i];
+					newPresent[j >>> 6] |= 1L << j;
+				} else {
+					unknownProperties.put(layout.getName(i), values[i]);
+					if (ability instanceof IEffectAbility effect)
+						removeEffectAbility(effect);
+				}
+			}
+			layout = target;
+			values = newValues;
+			present = newPresent;
+		}
+		
+		protected void removeEffectAbility(IEffectAbility ability) {
+			if (Boolean.TRUE.equals(effectAbilities.remove(ability))) {
+				final ServerPlayer player = getPlayerEntity();
+				if (player != null)
+					ability.undoEffect(player);
+			}
+		}
+		
+		protected boolean isPresent(int i) {
+			return (present[i >>> 6] & 1L << i) != 0L;
+		}
+		
+		/**
+		 * Index of the first present ability from the given index, or -1
+		 */
+		protected int nextPresent(int from) {
+			int word = from >>> 6;
+			if (word >= present.length) return -1;
+			long bits = present[word] & -1L << from;
+			while (bits == 0L) {
+				if (++word == present.length) return -1;
+				bits = present[word];
+			}
+			return (word << 6) + Long.numberOfTrailingZeros(bits);
+		}
+		
+		protected int countPresent() {
+			int count = 0;
+			for (long bits: present) count += Long.bitCount(bits);
+			return count;
+		}
+		
+		private static int words(int size) {
+			return (size + 63) >>> 6;
 		}
 		
 		@Override public Map<IEffectAbility, Boolean> getEffectAbilities() {
@@ -138,7 +265,19 @@ public class ElytraSpecCapability {
 		}
 		
 		@Override public boolean areAbilitiesEqual(IElytraSpec other) {
-			return properties.equals(other.getAbilities()) && effectAbilities.equals(other.getEffectAbilities()) && unknownProperties.equals(other.getUnknownAbilities());
+			if (other instanceof ElytraSpec spec) {
+				if (!effectAbilities.equals(spec.effectAbilities)
+				    || !unknownProperties.equals(spec.unknownProperties))
+					return false;
+				updateLayout();
+				spec.updateLayout();
+				if (!Arrays.equals(present, spec.present)) return false;
+				for (int i = nextPresent(0); i >= 0; i = nextPresent(i + 1))
+					if (Float.floatToIntBits(values[i]) != Float.floatToIntBits(spec.values[i]))
+						return false;
+				return true;
+			}
+			return abilities.equals(other.getAbilities()) && effectAbilities.equals(other.getEffectAbilities()) && unknownProperties.equals(other.getUnknownAbilities());
 		}
 		
 		@Override public @Nonnull TrailData getTrailData() {
@@ -153,11 +292,11 @@ public class ElytraSpecCapability {
 			for (Map.Entry<String, Float> unknown: getUnknownAbilities().entrySet())
 				ability.putFloat(unknown.getKey(), unknown.getValue());
 			
-			for (Entry<IAbility, Float> entry: getAbilities().entrySet()) {
-				final IAbility type = entry.getKey();
-				final float val = entry.getValue();
-				if (val != type.getDefault())
-					ability.putFloat(type.fullName(), val);
+			final AbilityLayout layout = updateLayout();
+			for (int i = nextPresent(0); i >= 0; i = nextPresent(i + 1)) {
+				final float val = values[i];
+				if (val != layout.get(i).getDefault())
+					ability.putFloat(layout.getName(i), val);
 			}
 			
 			data.put(TAG_ABILITIES, ability);
@@ -199,10 +338,131 @@ public class ElytraSpecCapability {
 		@Override public String toString() {
 			return String.format(
 			  "FlightSpec: {%s, TrailData: %s}",
-			  properties.entrySet().stream().map(
+			  abilities.entrySet().stream().map(
 				 entry -> String.format("%s: %2.2f", entry.getKey(), entry.getValue())
 			  ).collect(Collectors.joining(", ")), trailData);
 		}
+		
+		/**
+		 * Read-only {@link Map} view of the dense ability storage
+		 */
+		protected class AbilityMap extends AbstractMap<IAbility, Float> {
+			private final Set<Entry<IAbility, Float>> entrySet = new AbstractSet<>() {
+				@Override public @NotNull Iterator<Entry<IAbility, Float>> iterator() {
+					final AbilityLayout layout = updateLayout();
+					return new Iterator<>() {
+						private int next = nextPresent(0);
+						
+						@Override public boolean hasNext() {
+							return next >= 0;
+						}
+						
+						@Override public Entry<IAbility, Float> next() {
+							if (next < 0) throw new NoSuchElementException();
+							final int i = next;
+							next = nextPresent(i + 1);
+							return new SimpleImmutableEntry<>(layout.get(i), values[i]);
+						}
+					};
+				}
+				
+				@Override public int size() {
+					updateLayout();
+					return countPresent();
+				}
+			};
+			
+			@Override public @NotNull Set<Entry<IAbility, Float>> entrySet() {
+				return entrySet;
+			}
+			
+			@Override public boolean containsKey(Object key) {
+				return key instanceof IAbility ability && hasAbility(ability);
+			}
+			
+			@Override public Float get(Object key) {
+				if (!(key instanceof IAbility ability)) return null;
+				final int i = indexOf(ability);
+				return i >= 0 && isPresent(i)? values[i] : null;
+			}
+			
+			@Override public int size() {
+				updateLayout();
+				return countPresent();
+			}
+		}
+	}
+	
+	/**
+	 * Shared spec for stacks without one<br>
+	 * Modifications are ignored, and mutable parts are returned as
+	 * shared empty maps that drop writes, so it can never be changed by
+	 * its users, and doesn't allocate
+	 */
+	private static final class DefaultElytraSpec extends ElytraSpec {
+		private static final DefaultElytraSpec INSTANCE = new DefaultElytraSpec();
+		private static final Map<IEffectAbility, Boolean> EFFECT_ABILITIES = new DiscardingMap<>();
+		private static final Map<String, Float> UNKNOWN_ABILITIES = new DiscardingMap<>();
+		private static final TrailData TRAIL_DATA = new FrozenTrailData();
+		
+		// Never remapped, since it's shared across threads and has no values
+		@Override protected AbilityLayout updateLayout() {
+			return AerobaticElytraRegistries.getAbilityLayout();
+		}
+		@Override public float getAbility(IAbility prop) {
+			return prop.getDefault();
+		}
+		@Override public boolean hasAbility(IAbility ability) {
+			return false;
+		}
+		
+		@Override public void updatePlayerEntity(ServerPlayer player) {}
+		@Override public void setAbility(IAbility prop, float value) {}
+		@Override public Float removeAbility(IAbility ability) {
+			return null;
+		}
+		@Override public void putAbilities(Map<IAbility, Float> abilities) {}
+		@Override public void setAbilities(Map<IAbility, Float> abilities) {}
+		@Override public void copy(IElytraSpec spec) {}
+		@Override public void deserializeCapability(CompoundTag nbt) {}
+		@Override public void onAerobaticElytraDatapackAbilityReload() {}
+		
+		@Override public Map<IEffectAbility, Boolean> getEffectAbilities() {
+			return EFFECT_ABILITIES;
+		}
+		@Override public Map<String, Float> getUnknownAbilities() {
+			return UNKNOWN_ABILITIES;
+		}
+		@Override public @Nonnull TrailData getTrailData() {
+			return TRAIL_DATA;
+		}
+		
+		/**
+		 * Empty trail data that ignores modifications
+		 */
+		private static final class FrozenTrailData extends TrailData {
+			@Override public void put(RocketSide side, RocketStar[] value) {}
+			@Override public void read(CompoundTag trailNBT) {}
+		}
+		
+		/**
+		 * Empty map that silently drops writes<br>
+		 * Callers may treat the maps of any spec as mutable, so the default
+		 * spec can't throw on them like an unmodifiable view would
+		 */
+		private static final class DiscardingMap<K, V> extends AbstractMap<K, V> {
+			@Override public @NotNull Set<Entry<K, V>> entrySet() {
+				return Collections.emptySet();
+			}
+			@Override public V put(K key, V value) {
+				return null;
+			}
+			@Override public void putAll(@NotNull Map<? extends K, ? extends V> m) {}
+			@Override public V remove(Object key) {
+				return null;
+			}
+			@Override public void clear() {}
+		}
 	}
 	
 	public static boolean compareNoTrail(CompoundTag leftCapNBT, CompoundTag rightCapNBT) {
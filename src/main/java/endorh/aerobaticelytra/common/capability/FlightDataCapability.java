@@ -70,7 +70,19 @@ public class FlightDataCapability {
 	 * @see FlightDataCapability#getFlightData
 	 */
 	public static IFlightData getFlightDataOrDefault(Player player) {
-		return player.getCapability(CAPABILITY).orElse(new FlightData(player));
+		final IFlightData data = getFlightDataOrNull(player);
+		// Only allocate the fallback when needed
+		return data != null? data : new FlightData(player);
+	}
+	
+	/**
+	 * @return The {@link IFlightData} from the player, or null if it
+	 *   doesn't have the capability, without allocating
+	 * @see FlightDataCapability#getFlightDataOrDefault
+	 */
+	public static @Nullable IFlightData getFlightDataOrNull(Player player) {
+		assert CAPABILITY != null;
+		return player.getCapability(CAPABILITY).orElse(null);
 	}
 	
 	/**
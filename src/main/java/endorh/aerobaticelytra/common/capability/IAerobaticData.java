@@ -2,7 +2,10 @@ package endorh.aerobaticelytra.common.capability;
 
 import endorh.aerobaticelytra.client.config.ClientConfig.lookaround;
 import endorh.aerobaticelytra.client.sound.AerobaticElytraSound;
+import endorh.aerobaticelytra.common.flight.FlightContext;
+import endorh.aerobaticelytra.common.flight.FlightStatCounter;
 import endorh.aerobaticelytra.common.flight.VectorBase;
+import endorh.aerobaticelytra.common.flight.physics.RotationIntegrator;
 import endorh.lazulib.capability.ISerializableCapability;
 import endorh.lazulib.math.Vec3d;
 import net.minecraft.client.resources.sounds.ElytraOnPlayerSoundInstance;
@@ -563,17 +566,21 @@ public interface IAerobaticData
 	}
 	
 	/**
-	 * Last rotation time, in seconds.<br>
+	 * Fixed timestep integrator of the rotation base.<br>
 	 * Used to interpolate camera angles smoothly on clients.
 	 */
-	double getLastRotationTime();
+	RotationIntegrator getRotationIntegrator();
 	
 	/**
-	 * Set last rotation time
-	 *
-	 * @param time Last rotation time, in seconds
+	 * Elytra and abilities of the player, resolved once per tick.<br>
+	 * Prefer {@link FlightContext#of} to get it already resolved.
+	 */
+	FlightContext getFlightContext();
+	
+	/**
+	 * Flight statistics pending to be awarded to the player
 	 */
-	void setLastRotationTime(double time);
+	FlightStatCounter getStatCounter();
 	
 	Vec3d getLastTrailPos();
 	
@@ -602,7 +609,7 @@ public interface IAerobaticData
 		setTiltRoll(data.getTiltRoll());
 		setTiltYaw(data.getTiltYaw());
 		setFlying(data.isFlying());
-		setLastRotationTime(data.getLastRotationTime());
+		getRotationIntegrator().reset();
 		setPropulsionStrength(data.getPropulsionStrength());
 		getRotationBase().set(data.getRotationBase());
 	}
@@ -616,7 +623,7 @@ public interface IAerobaticData
 		setTiltPitch(0F);
 		setTiltRoll(0F);
 		setTiltYaw(0F);
-		setLastRotationTime(0D);
+		getRotationIntegrator().reset();
 		setPropulsionStrength(0F);
 		getRotationBase().valid = false;
 		getLastTrailPos().set(Vec3.ZERO);
@@ -634,7 +641,7 @@ public interface IAerobaticData
 		setTiltPitch(0F);
 		setTiltRoll(0F);
 		setTiltYaw(0F);
-		setLastRotationTime(0D);
+		getRotationIntegrator().reset();
 		setBrakeCooling(false);
 		setBrakeHeat(0F);
 		getRotationBase().valid = false;
@@ -0,0 +1,54 @@
+package endorh.aerobaticelytra.common.capability;
+
+import endorh.aerobaticelytra.common.block.BrokenLeavesBlock;
+import endorh.lazulib.capability.ISerializableCapability;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Leaves replaced by the {@link BrokenLeavesBlock}s of a chunk,
+ * stored per section
+ * @see BrokenLeavesSection
+ */
+public interface IBrokenLeaves extends ISerializableCapability {
+	/**
+	 * Regrowth time of broken leaves without a scheduled regrowth
+	 */
+	long NO_REGROWTH = Long.MIN_VALUE;
+	
+	/**
+	 * Get the leaves replaced by the broken leaves at a position
+	 */
+	@Nullable BlockState getReplacedLeaves(int x, int y, int z);
+	
+	/**
+	 * Set or remove the leaves replaced by the broken leaves at a position
+	 * @return The previous replaced leaves
+	 */
+	@Nullable BlockState setReplacedLeaves(int x, int y, int z, @Nullable BlockState state);
+	
+	/**
+	 * Get the game time at which the broken leaves at a position should regrow,
+	 * or {@link #NO_REGROWTH} if it's not scheduled
+	 */
+	long getRegrowthTime(int x, int y, int z);
+	
+	/**
+	 * Set the game time at which the broken leaves at a position should regrow<br>
+	 * Only kept while the position has replaced leaves, and never synced.
+	 */
+	void setRegrowthTime(int x, int y, int z, long time);
+	
+	/**
+	 * Get the replaced leaves of a section, if it has any
+	 * @param sectionY Section Y coordinate
+	 */
+	@Nullable BrokenLeavesSection getSection(int sectionY);
+	
+	/**
+	 * Remove all replaced leaves
+	 */
+	void clear();
+	
+	boolean isEmpty();
+}
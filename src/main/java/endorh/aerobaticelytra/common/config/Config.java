@@ -1,6 +1,7 @@
 package endorh.aerobaticelytra.common.config;
 
 import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.flight.FlightProfiles;
 import endorh.simpleconfig.api.SimpleConfig;
 import endorh.simpleconfig.api.SimpleConfig.Type;
 import endorh.simpleconfig.api.annotation.Bind;
@@ -63,6 +64,8 @@ public class Config {
 		       .caption("enabled", enable(true))
 		       .add("ignore_cloud_level", yesNo(false))
 		       .add("cloud_level", number(128))
+		       .add("coherent_wind", yesNo(false))
+		       .add("wind_sync_interval", number(2).min(1).max(40))
 		       .n(group("rain")
 		            .add("rain_strength", tick(0.6F))
 		            .add("wind_strength", tick(0.4F))
@@ -83,18 +86,28 @@ public class Config {
 		  .n(group("collision")
 		       .add("damage", number(1.0F).min(0))
 		       .add("hay_bale_multiplier", number(0.2F).min(0))
+		       .add("continuous_collision", yesNo(true))
 		       .n(group("leave_breaking")
 		            .caption("enable", enable(true))
 		            .add("min_speed", tick(5F).min(0))
 		            .add("chance", number(0.4F))
 		            .add("chance_linear", number(0.08F))
 		            .add("motion_multiplier", number(0.98F).min(0.1F))
-		            .add("regrow_chance", fraction(0.4F)))
+		            .add("regrow_delay", number(90F).min(1F))
+		            .add("regrow_delay_spread", fraction(0.5F)))
 		       .n(group("slime_bounce")
 		            .caption("enable", enable(true))
 		            .add("min_speed", tick(4.0F).min(0))
 		            .add("friction", fraction(0.98F))
 		            .add("angular_friction", fraction(1.0F))))
+		  .n(group("performance")
+		       .add("parallel_physics", yesNo(false))
+		       .add("parallel_threads", number(0).min(0))
+		       .add("parallel_threshold", number(64).min(1))
+		       .add("record_all_flights", yesNo(false))
+		       .add("recorder_ticks", number(1200).min(20).max(72000))
+		       .add("stat_flush_seconds", number(10).min(1).max(600))
+		       .add("leaf_breaking_budget", number(64).min(1)))
 		  .text(() -> ttc(
 			 "aerobaticelytra.config.text.datapack_tip",
 			 stc(datapack_command)
@@ -190,6 +203,8 @@ public class Config {
 		@Bind public static boolean enabled;
 		@Bind public static boolean ignore_cloud_level;
 		@Bind public static int cloud_level;
+		@Bind public static boolean coherent_wind;
+		@Bind public static int wind_sync_interval;
 		@Bind public static class rain {
 			@Bind public static float rain_strength_tick;
 			@Bind public static float wind_strength_tick;
@@ -216,6 +231,7 @@ public class Config {
 	@Bind public static class collision {
 		@Bind public static float damage;
 		@Bind public static float hay_bale_multiplier;
+		@Bind public static boolean continuous_collision;
 		
 		@Bind public static class leave_breaking {
 			@Bind public static boolean enable;
@@ -223,7 +239,8 @@ public class Config {
 			@Bind public static float chance;
 			@Bind public static float chance_linear;
 			@Bind public static float motion_multiplier;
-			@Bind public static float regrow_chance;
+			@Bind public static float regrow_delay;
+			@Bind public static float regrow_delay_spread;
 		}
 		
 		@Bind public static class slime_bounce {
@@ -233,4 +250,24 @@ public class Config {
 			@Bind public static float angular_friction;
 		}
 	}
+	
+	@Bind public static class performance {
+		@Bind public static boolean parallel_physics;
+		@Bind public static int parallel_threads;
+		@Bind public static int parallel_threshold;
+		@Bind public static boolean record_all_flights;
+		@Bind public static int recorder_ticks;
+		@Bind public static int stat_flush_seconds;
+		@Bind public static int leaf_breaking_budget;
+		public static int parallel_thread_count;
+		public static int stat_flush_ticks;
+		
+		static void bake() {
+			parallel_thread_count = parallel_threads > 0
+			  ? parallel_threads : max(1, Runtime.getRuntime().availableProcessors() - 1);
+			stat_flush_ticks = stat_flush_seconds * 20;
+			// Last group, so all the physics groups have been baked already
+			FlightProfiles.compile();
+		}
+	}
 }
\ No newline at end of file
@@ -12,11 +12,9 @@ import net.minecraft.core.Direction.Axis;
 import net.minecraft.core.Direction.AxisDirection;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.SlimeBlock;
 import net.minecraft.world.level.block.state.BlockBehaviour.BlockStateBase;
 import net.minecraft.world.level.block.state.BlockState;
@@ -52,14 +50,9 @@ public class AerobaticCollision {
 		double reaction = hSpeedPrev - hSpeedNew;
 		float collisionStrength = (float) (reaction * 10D - 3D);
 		float damageModifier = 0F;
-		final AABB aaBB = player.getBoundingBox();
-		List<BlockPos> collided = null;
-		double d;
-		for (d = 0.005D; d <= 0.5D; d *= 2D) {
-			collided = getCollidedBlocksInAABB(player.level(), aaBB.inflate(d));
-			if (!collided.isEmpty()) break;
-		}
-		if (collided.isEmpty()) return; // Do not set onGround to false here
+		final CollisionSweep sweep = FlightScratch.get().collisionSweep;
+		sweep.sweep(player.level(), player.getBoundingBox());
+		if (sweep.isEmpty()) return; // Do not set onGround to false here
 		int destroyed = 0;
 		float speed = motionVec.norm() * 20F;
 		boolean slimeBounce = false;
@@ -70,21 +63,23 @@ public class AerobaticCollision {
 		     < Config.collision.leave_breaking.chance
 		       + Config.collision.leave_breaking.chance_linear * speed;
 		boolean preventLanding = false;
-		for (BlockPos pos: collided) {
-			final BlockState bs = player.level().getBlockState(pos);
-			if (bs.is(Blocks.HAY_BLOCK)) {
-				damageModifier = max(damageModifier, Config.collision.hay_bale_multiplier);
-			} else if (bs.is(BlockTags.LEAVES)) {
-				if (shouldBreakLeaves) {
-					BrokenLeavesBlock.breakLeaves(player.level(), pos);
-					propStrength *= 0.8F;
-					motionVec.mul(0.6F);
-					destroyed++;
-					preventLanding = true;
+		for (int i = 0; i < sweep.size(); i++) {
+			if (!sweep.isCollided(i)) continue;
+			switch (sweep.getKind(i)) {
+				case CollisionSweep.HAY -> damageModifier = max(
+				  damageModifier, Config.collision.hay_bale_multiplier);
+				case CollisionSweep.LEAVES -> {
+					if (shouldBreakLeaves) {
+						BrokenLeavesBlock.breakLeaves(player.level(), sweep.getPos(i));
+						propStrength *= 0.8F;
+						motionVec.mul(0.6F);
+						destroyed++;
+						preventLanding = true;
+					}
 				}
-			} else if (bs.getBlock() instanceof SlimeBlock) {
-				slimeBounce = true;
-			} else damageModifier = 1F;
+				case CollisionSweep.SLIME -> slimeBounce = true;
+				default -> damageModifier = 1F;
+			}
 		}
 		if (destroyed > 0) {
 			data.setPropulsionStrength(propStrength);
@@ -97,7 +92,8 @@ public class AerobaticCollision {
 			if (player.level().isClientSide)
 				data.getCameraBase().set(base);
 			
-			boolean bounced = tryBounce(player, base, motionVec);
+			sweep.sweepSlime(player.level(), player.getBoundingBox());
+			boolean bounced = tryBounce(player, base, motionVec, sweep);
 			
 			if (bounced && player.level().isClientSide) {
 				data.setLastBounceTime(System.currentTimeMillis());
@@ -127,12 +123,24 @@ public class AerobaticCollision {
 	}
 	
 	public static boolean tryBounce(Player player, VectorBase base, Vec3f motionVec) {
+		final CollisionSweep sweep = FlightScratch.get().collisionSweep;
+		sweep.sweepSlime(player.level(), player.getBoundingBox());
+		return tryBounce(player, base, motionVec, sweep);
+	}
+	
+	/**
+	 * Bounce against the slime blocks found by {@link CollisionSweep#sweepSlime}
+	 * around the player's bounding box
+	 */
+	public static boolean tryBounce(
+	  Player player, VectorBase base, Vec3f motionVec, CollisionSweep sweep
+	) {
 		boolean bounced = false;
 		for (int includeCorners = 0; includeCorners < 2; includeCorners++) {
 			for (Axis axis: Axis.values()) {
 				final Direction dir = Direction.fromAxisAndDirection(axis, AxisDirection.POSITIVE);
-				if (shouldBounceDir(player, dir, false) ^
-				    shouldBounceDir(player, dir.getOpposite(), includeCorners != 0)) {
+				if (sweep.hasSlime(dir, false) ^
+				    sweep.hasSlime(dir.getOpposite(), includeCorners != 0)) {
 					bounce(player, base, motionVec, axis);
 					bounced = true;
 				}
@@ -150,11 +158,12 @@ public class AerobaticCollision {
 		// The bounce axis is slightly tilted based on the player's roll tilt,
 		// depending on how parallel is the bounce against the plane
 		final Vec3f ax = forAxis(axis);
-		final Vec3f look = base.look.copy();
-		look.sub(ax, ax.dot(look));
+		final Vec3f look = base.getLook();
+		final float dot = ax.dot(look);
+		look.sub(ax, dot);
 		if (!look.isZero()) {
 			final float bounceTilt = Mth.clamp(
-			  (1F - Math.abs(base.look.dot(ax)))
+			  (1F - Math.abs(dot))
 			  * getAerobaticDataOrDefault(player).getTiltRoll()
 			  * Const.SLIME_BOUNCE_ROLLING_TILT_SENS,
 			  -Const.SLIME_BOUNCE_MAX_ROLLING_TILT_DEG, Const.SLIME_BOUNCE_MAX_ROLLING_TILT_DEG
@@ -174,7 +183,7 @@ public class AerobaticCollision {
 		player.level().playSound(
 		  player, player.blockPosition(), SoundEvents.SLIME_BLOCK_HIT,
 		  SoundSource.PLAYERS, Mth.clampedLerp(0F, 1F, motionVec.norm() / 1.6F), 1F);
-		player.awardStat(FlightStats.AEROBATIC_SLIME_BOUNCES, 1);
+		getAerobaticDataOrDefault(player).getStatCounter().addBounce();
 	}
 	
 	public static boolean shouldBounceDir(
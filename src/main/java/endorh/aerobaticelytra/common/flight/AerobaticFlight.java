@@ -5,15 +5,10 @@ import endorh.aerobaticelytra.client.sound.AerobaticElytraSound;
 import endorh.aerobaticelytra.client.sound.AerobaticSounds;
 import endorh.aerobaticelytra.client.trail.AerobaticTrail;
 import endorh.aerobaticelytra.common.AerobaticElytraLogic;
-import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
 import endorh.aerobaticelytra.common.capability.IAerobaticData;
 import endorh.aerobaticelytra.common.capability.IElytraSpec;
 import endorh.aerobaticelytra.common.config.Config;
-import endorh.aerobaticelytra.common.config.Config.aerobatic.braking;
-import endorh.aerobaticelytra.common.config.Config.aerobatic.physics;
 import endorh.aerobaticelytra.common.config.Config.aerobatic.propulsion;
-import endorh.aerobaticelytra.common.config.Config.aerobatic.tilt;
-import endorh.aerobaticelytra.common.config.Config.network;
 import endorh.aerobaticelytra.common.config.Config.weather;
 import endorh.aerobaticelytra.common.config.Const;
 import endorh.aerobaticelytra.common.event.AerobaticElytraFinishFlightEvent;
@@ -21,7 +16,12 @@ import endorh.aerobaticelytra.common.event.AerobaticElytraStartFlightEvent;
 import endorh.aerobaticelytra.common.event.AerobaticElytraTickEvent;
 import endorh.aerobaticelytra.common.event.AerobaticElytraTickEvent.Pre;
 import endorh.aerobaticelytra.common.flight.mode.FlightModeTags;
-import endorh.aerobaticelytra.common.item.AerobaticElytraWingItem;
+import endorh.aerobaticelytra.common.flight.physics.FlightInput;
+import endorh.aerobaticelytra.common.flight.physics.FlightKernel;
+import endorh.aerobaticelytra.common.flight.physics.FlightProfile;
+import endorh.aerobaticelytra.common.flight.physics.FlightRecorder;
+import endorh.aerobaticelytra.common.flight.physics.FlightState;
+import endorh.aerobaticelytra.common.flight.physics.RotationIntegrator;
 import endorh.aerobaticelytra.common.item.IAbility.Ability;
 import endorh.aerobaticelytra.debug.Debug;
 import endorh.aerobaticelytra.network.AerobaticPackets.DAccelerationPacket;
@@ -44,17 +44,13 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Optional;
-
-import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticData;
 import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
+import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrNull;
 import static endorh.aerobaticelytra.common.capability.FlightDataCapability.getFlightDataOrDefault;
-import static endorh.aerobaticelytra.common.item.AerobaticElytraWingItem.hasOffhandDebugWing;
 import static endorh.lazulib.text.TextUtil.stc;
 import static endorh.lazulib.text.TextUtil.ttc;
 import static java.lang.Math.*;
 import static java.lang.String.format;
-import static java.lang.System.currentTimeMillis;
 
 /**
  * Handle aerobatic physics
@@ -66,15 +62,6 @@ public class AerobaticFlight {
 	
 	private static final Vec3f ZERO = Vec3f.ZERO.get();
 	
-	// Cache vector instances (since Minecraft is not multithreaded)
-	private static final Vec3f prevMotionVec = Vec3f.ZERO.get();
-	private static final Vec3f motionVec = Vec3f.ZERO.get();
-	private static final Vec3f gravAccVec = Vec3f.ZERO.get();
-	private static final Vec3f rainAcc = Vec3f.ZERO.get();
-	private static final Vec3f propAccVec = Vec3f.ZERO.get();
-	private static final Vec3f glideAccVec = Vec3f.ZERO.get();
-	private static final Vec3f angularWindVec = Vec3f.ZERO.get();
-	
 	/**
 	 * Apply the physics of a single elytra travel tick of the player<br>
 	 * Is called consistently every tick (20Hz)
@@ -87,7 +74,8 @@ public class AerobaticFlight {
 			return false;
 		}
 		IAerobaticData data = getAerobaticDataOrDefault(player);
-		IElytraSpec spec = AerobaticElytraLogic.getElytraSpecOrDefault(player);
+		final FlightContext context = data.getFlightContext().update();
+		IElytraSpec spec = context.getSpec();
 		final boolean isRemote = AerobaticElytraLogic.isRemoteLocalPlayer(player);
 		
 		// Post Pre event
@@ -97,94 +85,26 @@ public class AerobaticFlight {
 		if (MinecraftForge.EVENT_BUS.post(pre))
 			return pre instanceof Pre p && p.isPreventDefault();
 		
-		// Get gravity and apply SLOW_FALLING potion effect as needed
-		double grav = TravelHandler.travelGravity(player);
-		if (player.isInWater()) {
-			grav *= 1F - spec.getAbility(Ability.AQUATIC);
-		} else grav *= 1F - spec.getAbility(Ability.LIFT);
 		float liftCut = data.getLiftCut();
 		
+		// Thread confined vector instances (the client and integrated server may run at once)
+		final FlightScratch scratch = FlightScratch.get();
+		final Vec3f motionVec = scratch.motionVec;
+		final Vec3f prevMotionVec = scratch.prevMotionVec;
 		motionVec.set(player.getDeltaMovement());
 		prevMotionVec.set(motionVec);
-		Vec3f prevMotionVec = motionVec.copy();
 		double hSpeedPrev = motionVec.hNorm();
 		
 		// Cancel fall damage if falling slowly
-		if (motionVec.y > -0.5D - 0.5D * spec.getAbility(Ability.LIFT)) {
+		if (motionVec.y > -0.5D - 0.5D * context.getLift()) {
 			player.fallDistance = 1.0F;
 		}
 		
 		// Apply fine acceleration first to avoid losing precision
-		applyRotationAcceleration(player, 1F);
+		applyRotationAcceleration(player, player.tickCount, 1F);
 		
 		// Rain and wind
-		final boolean affectedByWeather =
-		  weather.ignore_cloud_level || player.blockPosition().getY() > weather.cloud_level
-		  || player.level().canSeeSkyFromBelowWater(player.blockPosition());
-		data.setAffectedByWeather(affectedByWeather);
-		final float biomePrecipitation = WeatherData.getBiomePrecipitationStrength(player);
-		final float rain = player.level().getRainLevel(1F) * biomePrecipitation;
-		final float storm = player.level().getThunderLevel(1F) * biomePrecipitation;
-		final boolean useWeather = Config.weather.enabled && rain > 0F && !player.isInWater() && affectedByWeather;
-		Vec3f windVec = WeatherData.getWindVector(player);
-		rainAcc.set(
-		  0F,
-		  -rain * Config.weather.rain.rain_strength_tick - storm * Config.weather.storm.rain_strength_tick,
-		  0F);
-		
-		// Update boost
-		if (!data.isBoosted()
-		    && data.getPropulsionStrength() == propulsion.range_tick.getFloatMax()
-		    && data.isSprinting() && data.getBoostHeat() <= 0.2F
-		) {
-			data.setBoosted(true);
-			player.awardStat(FlightStats.AEROBATIC_BOOSTS, 1);
-			if (player.level().isClientSide) {
-				AerobaticTrail.addBoostParticles(player);
-				AerobaticElytraSound.playBoostSound(player);
-			}
-		} else if (
-		  data.isBoosted() && (!data.isSprinting() || data.getBoostHeat() == 1F)
-		) {
-			data.setBoosted(false);
-			if (player.level().isClientSide)
-				AerobaticElytraSound.playSlowDownSound(player);
-		}
-		final float heatStep = data.isBoosted() ? 0.01F : -0.0075F;
-		data.setBoostHeat(Mth.clamp(data.getBoostHeat() + heatStep, 0F, 1F));
-		final float boostStrength = data.isBoosted() ? 0.04F : 0F;
-		
-		if (data.isSprinting())
-			player.setSprinting(false);
-		
-		// Update acceleration
-		float propAccStrength = propulsion.range_length / 20F; // 1 second
-		float propAcc = data.getPropulsionAcceleration();
-		data.setPropulsionStrength(Mth.clamp(
-		  data.getPropulsionStrength() + propAcc * propAccStrength,
-		  propulsion.range_tick.getFloatMin(), propulsion.range_tick.getFloatMax()));
-		if (travelVector != null) {
-			propAcc = (float) Mth.clamp((propAcc + 2 * Math.signum(travelVector.z)) / 3, -1F, 1F);
-			data.setPropulsionAcceleration(propAcc);
-		}
-		
-		// Update braking
-		float brakeAcc = 0.1F; // Half a second to brake completely
-		data.setBraking(player.isCrouching() && !data.isBrakeCooling());
-		if (braking.max_time_ticks > 0) {
-			data.setBrakeHeat(
-			  Mth.clamp(data.getBrakeHeat() + (data.isBraking()? 1F : -1F) / braking.max_time_ticks, 0F, 1F));
-			if (data.getBrakeHeat() >= 1F) {
-				data.setBrakeCooling(true);
-			} else if (data.getBrakeHeat() <= 0F)
-				data.setBrakeCooling(false);
-		} else {
-			data.setBrakeHeat(0F);
-			data.setBrakeCooling(false);
-		}
-		float brakeStrength = braking.enabled ? Mth.clamp(
-		  data.getBrakeStrength() + (data.isBraking() ? brakeAcc : - brakeAcc), 0F, 1F) : 0F;
-		data.setBrakeStrength(brakeStrength);
+		data.setAffectedByWeather(isAffectedByWeather(player));
 		
 		// Get vector base
 		VectorBase base = data.getRotationBase();
@@ -203,112 +123,59 @@ public class AerobaticFlight {
 			  : new AerobaticElytraStartFlightEvent(player, spec, data));
 		}
 		
-		// Underwater rotation friction
-		float tiltPitch = data.getTiltPitch();
-		float tiltRoll = data.getTiltRoll();
-		float tiltYaw = data.getTiltYaw();
-		if (player.isInWater()) {
-			final float underwaterTiltFriction = Mth.clampedLerp(
-			  Const.UNDERWATER_CONTROLS_TILT_FRICTION_MAX, Const.UNDERWATER_CONTROLS_TILT_FRICTION_MIN,
-			  motionVec.norm() / Const.UNDERWATER_CONTROLS_SPEED_THRESHOLD);
-			data.setTiltPitch(tiltPitch *= underwaterTiltFriction);
-			data.setTiltRoll(tiltRoll *= underwaterTiltFriction);
-			data.setTiltYaw(tiltYaw *= underwaterTiltFriction);
-		}
-		
-		if (data.isJumping()) {
-			data.setTiltPitch(tiltPitch *= Const.JUMP_TILT_DECAY);
-			data.setTiltRoll(tiltRoll *= Const.JUMP_TILT_DECAY);
-			data.setTiltYaw(tiltYaw *= Const.JUMP_TILT_DECAY);
+		// Step physics, unless the batched pass already did
+		// Recorded players are always stepped here, where the inputs are known
+		final boolean debugWing = context.hasDebugWing();
+		final FlightState state = scratch.state;
+		state.load(data);
+		state.setMotion(motionVec.x, motionVec.y, motionVec.z);
+		final FlightRecorder recorder = FlightRecording.get(player);
+		if (recorder != null || !BatchedFlight.consume(player, data, state)) {
+			final FlightInput in = scratch.input;
+			gatherInput(
+			  player, data, context, travelVector != null,
+			  travelVector != null? (float) travelVector.z : 0F, in);
+			if (recorder != null) {
+				final FlightState pre = scratch.recordedState;
+				pre.set(state);
+				final FlightProfile profile = context.getProfile();
+				FlightKernel.step(state, in, profile);
+				recorder.record(player.tickCount, profile, pre, in, state);
+			} else FlightKernel.step(state, in, context.getProfile());
 		}
+		state.store(data);
+		motionVec.set(state.motionX, state.motionY, state.motionZ);
 		
-		// Angular friction
-		float angFriction =
-		  1F - (1F - physics.friction_angular)
-		       * (tiltPitch * tiltPitch + tiltRoll * tiltRoll + 0.5F * tiltYaw * tiltYaw)
-		       / tilt.range_pondered;
-		
-		float propStrength = data.getPropulsionStrength() * spec.getAbility(Ability.SPEED);
-		if (data.isBoosted())
-			propStrength += boostStrength;
-		
-		// Gravity acceleration
-		gravAccVec.set(
-		  0, -(float) grav * physics.gravity_multiplier - brakeStrength * braking.added_gravity_tick, 0);
-		float stasis = player.isInWater()? 0F : Easing.quadInOut(1F - propStrength / propulsion.range_tick.getFloatMax());
-		gravAccVec.y -= stasis * physics.motorless_gravity_tick;
-		
-		// Friction
-		float friction;
-		if (player.isInWater()) {
-			friction = Mth.lerp(
-			  spec.getAbility(Ability.AQUATIC), physics.friction_water_nerf, physics.friction_water);
-			friction *= Mth.lerp(brakeStrength, 1F, braking.friction) * angFriction;
-		} else {
-			friction = Mth.lerp(stasis, physics.friction_base, physics.motorless_friction);
-			friction = Mth.lerp(brakeStrength, friction, braking.friction) * angFriction;
-		}
-		
-		// Glide acceleration
-		final float glideAcc = -motionVec.dot(base.normal) * physics.glide_multiplier;
-		glideAccVec.set(base.normal);
-		glideAccVec.mul(glideAcc);
-		
-		// Propulsion
-		propAccVec.set(base.look);
-		propAccVec.mul(propStrength);
-		
-		// Apply lift cut
-		gravAccVec.mul(1F + liftCut * 0.8F);
-		glideAccVec.mul(1F - liftCut);
-		motionVec.mul(1F - liftCut * 0.8F);
-		
-		// Apply acceleration
-		motionVec.add(glideAccVec);
-		motionVec.add(gravAccVec);
-		motionVec.add(propAccVec);
-		if (useWeather) {
-			motionVec.add(windVec);
-			motionVec.add(rainAcc);
-		}
-		
-		// Apply friction
-		motionVec.mul(friction);
-		if (useWeather) {
-			// Wind drags more when braking
-			Vec3f stasisVec = windVec.copy();
-			stasisVec.mul(1F - friction);
-			motionVec.add(stasisVec);
-		}
-		
-		// Speed cap
-		if (player instanceof ServerPlayer) {
-			float speed_cap = network.speed_cap_tick;
-			if (speed_cap > 0
-			    && (motionVec.x > speed_cap || motionVec.y > speed_cap || motionVec.z > speed_cap)) {
-				Component chatWarning =
-				  ttc("aerobaticelytra.config.warning.speed_cap_broken",
-				      stc(format("%.1f", max(max(motionVec.x, motionVec.y), motionVec.z))));
-				String warning = format(
-				  "Player %s is flying too fast!: %.1f. Aerobatic Elytra config might be broken",
-				  player.getScoreboardName(), max(max(motionVec.x, motionVec.y), motionVec.z));
-				player.displayClientMessage(chatWarning, false);
-				LOGGER.warn(warning);
-				motionVec.x = min(motionVec.x, speed_cap);
-				motionVec.y = min(motionVec.y, speed_cap);
-				motionVec.z = min(motionVec.z, speed_cap);
+		// Boost effects
+		if (state.hasEvent(FlightState.BOOST_STARTED)) {
+			data.getStatCounter().addBoost();
+			if (player.level().isClientSide) {
+				AerobaticTrail.addBoostParticles(player);
+				AerobaticElytraSound.playBoostSound(player);
 			}
+		} else if (state.hasEvent(FlightState.BOOST_ENDED)) {
+			if (player.level().isClientSide)
+				AerobaticElytraSound.playSlowDownSound(player);
 		}
+		if (data.isSprinting())
+			player.setSprinting(false);
 		
-		// Apply simulated inertia
-		boolean debugWing = AerobaticElytraWingItem.hasDebugWing(player);
-		if (!debugWing) // Omitting this 'if' can be funny
-			motionVec.lerp(prevMotionVec, physics.inertia);
+		// Speed cap warning
+		if (state.hasEvent(FlightState.SPEED_CAPPED)) {
+			Component chatWarning =
+			  ttc("aerobaticelytra.config.warning.speed_cap_broken",
+			      stc(format("%.1f", state.uncappedSpeed)));
+			String warning = format(
+			  "Player %s is flying too fast!: %.1f. Aerobatic Elytra config might be broken",
+			  player.getScoreboardName(), state.uncappedSpeed);
+			player.displayClientMessage(chatWarning, false);
+			LOGGER.warn(warning);
+		}
 		
 		// Apply motion
 		player.setDeltaMovement(motionVec.toVector3d());
 		if (!isRemote) {
-			if (debugWing == Debug.DEBUG.invertFreeze) player.move(MoverType.SELF, player.getDeltaMovement());
+			if (debugWing == Debug.DEBUG.invertFreeze) ContinuousCollision.move(player, player.getDeltaMovement());
 		}
 		
 		// Collisions
@@ -345,18 +212,19 @@ public class AerobaticFlight {
 			remoteLookingAround = lookingAround;
 		}
 		
+		// Add movement stat
+		final FlightStatCounter stats = data.getStatCounter();
+		stats.addDistance(player.getDeltaMovement().length());
+		
 		// Landing
-		if (player.onGround())
+		if (player.onGround()) {
 			data.land();
+			stats.flush(player);
+		} else stats.tick(player);
 		
 		// Update player limb swing
 		player.calculateEntityAnimation(player instanceof FlyingAnimal);
 		
-		// Add movement stat
-		player.awardStat(
-		  FlightStats.AEROBATIC_FLIGHT_ONE_CM,
-		  (int) Math.round(player.getDeltaMovement().length() * 100F));
-		
 		// Update sound for remote players
 		if (isRemote && data.updatePlayingSound(true))
 			new AerobaticElytraSound(player).play();
@@ -368,7 +236,7 @@ public class AerobaticFlight {
 				    && !player.verticalCollision && !player.horizontalCollision
 				    // Cowardly refuse to smooth trail on bounces
 				    && System.currentTimeMillis() - data.getLastBounceTime() > 250L
-				    && !hasOffhandDebugWing(player)) {
+				    && !context.hasOffhandDebugWing()) {
 					AerobaticTrail.addParticles(player, motionVec, prevMotionVec);
 				}
 			}
@@ -423,8 +291,20 @@ public class AerobaticFlight {
 		onOtherModeTravel(player, null);
 	}
 	
+	/**
+	 * Whether {@link #onOtherModeTravel} would do nothing, because the
+	 * player has already landed and cooled down
+	 */
+	public static boolean isOtherModeIdle(Player player) {
+		final IAerobaticData data = getAerobaticDataOrDefault(player);
+		return !data.isBoosted() && !data.getRotationBase().valid
+		       && data.getPropulsionStrength() == propulsion.takeoff_tick
+		       && data.getBoostHeat() <= 0F;
+	}
+	
 	public static void doLand(Player player, IAerobaticData data) {
 		data.land();
+		data.getStatCounter().flush(player);
 		MinecraftForge.EVENT_BUS.post(
 		  AerobaticElytraLogic.isRemoteLocalPlayer(player)
 		  ? new AerobaticElytraFinishFlightEvent.Remote(player, data)
@@ -458,76 +338,149 @@ public class AerobaticFlight {
 		return getAerobaticDataOrDefault(player).isFlying();
 	}
 	
-	private static boolean shouldAerobaticFly(Player player) {
+	/**
+	 * Gather the physics input of a flying player for a single tick
+	 * @param hasTravelInput Whether the travel input is known (it's not for remote players)
+	 */
+	static void gatherInput(
+	  Player player, IAerobaticData data, FlightContext context,
+	  boolean hasTravelInput, float travelZ, FlightInput in
+	) {
+		// Get gravity and apply SLOW_FALLING potion effect as needed
+		double grav = TravelHandler.travelGravity(player);
+		final boolean inWater = player.isInWater();
+		if (inWater) {
+			grav *= 1F - context.getAquatic();
+		} else grav *= 1F - context.getLift();
+		in.gravity = (float) grav;
+		in.inWater = inWater;
+		in.crouching = player.isCrouching();
+		in.sprinting = data.isSprinting();
+		in.jumping = data.isJumping();
+		in.hasTravelInput = hasTravelInput;
+		in.travelZ = travelZ;
+		in.speedAbility = context.getSpeed();
+		in.aquaticAbility = context.getAquatic();
+		in.setBase(data.getRotationBase());
+		
+		// Rain and wind
+		final float biomePrecipitation = WeatherData.getBiomePrecipitationStrength(player);
+		final float rain = player.level().getRainLevel(1F) * biomePrecipitation;
+		final float storm = player.level().getThunderLevel(1F) * biomePrecipitation;
+		final boolean useWeather = Config.weather.enabled && rain > 0F && !inWater && data.isAffectedByWeather();
+		in.useWeather = useWeather;
+		if (useWeather) {
+			final Vec3f windVec = FlightScratch.get().windVec;
+			WeatherData.sampleWind(player, windVec, null);
+			in.setWind(windVec.x, windVec.y, windVec.z);
+			in.rainAcc = -rain * Config.weather.rain.rain_strength_tick - storm * Config.weather.storm.rain_strength_tick;
+		}
+		in.speedCapped = player instanceof ServerPlayer;
+		in.inertia = !context.hasDebugWing(); // Omitting inertia can be funny
+	}
+	
+	static boolean isAffectedByWeather(Player player) {
+		return weather.ignore_cloud_level || player.blockPosition().getY() > weather.cloud_level
+		       || player.level().canSeeSkyFromBelowWater(player.blockPosition());
+	}
+	
+	static boolean shouldAerobaticFly(Player player) {
 		if (!player.isFallFlying() || player.getAbilities().flying
 		    || !getFlightDataOrDefault(player).getFlightMode().is(FlightModeTags.AEROBATIC))
 			return false;
-		final ItemStack elytra = AerobaticElytraLogic.getAerobaticElytra(player);
+		final FlightContext context = FlightContext.of(player);
+		final ItemStack elytra = context.getElytra();
 		if (elytra.isEmpty())
 			return false;
-		final IElytraSpec spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
-		return (elytra.getDamageValue() < elytra.getMaxDamage() - 1 && spec.getAbility(Ability.FUEL) > 0
+		return (elytra.getDamageValue() < elytra.getMaxDamage() - 1 && context.getSpec().getAbility(Ability.FUEL) > 0
 		        || player.isCreative())
-		       && !player.isInLava() && (!player.isInWater() || spec.getAbility(Ability.AQUATIC) != 0);
+		       && !player.isInLava() && (!player.isInWater() || context.getAquatic() != 0);
 	}
 	
 	/**
-	 * Applies rotation acceleration.<br>
+	 * Applies rotation acceleration up to the current frame.<br>
 	 * Gets called more frequently than onAerobaticTravel, because
 	 * camera angles must be interpolated per frame to avoid jittery
 	 * visuals.
 	 */
 	public static void applyRotationAcceleration(Player player, float partialTick) {
-		Optional<IAerobaticData> opt = getAerobaticData(player);
-		if (opt.isEmpty()) return;
-		IAerobaticData data = opt.get();
+		applyRotationAcceleration(player, player.tickCount + (double) partialTick, partialTick);
+	}
+	
+	/**
+	 * Applies rotation acceleration.<br>
+	 * The rotation base is advanced in fixed steps up to the given time,
+	 * and the camera base is interpolated between the last two steps.
+	 *
+	 * @param time Time in ticks to advance the rotation to
+	 * @param partialTick Partial tick used to interpolate looking around
+	 */
+	public static void applyRotationAcceleration(Player player, double time, float partialTick) {
+		IAerobaticData data = getAerobaticDataOrNull(player);
+		if (data == null) return;
 		
 		VectorBase rotationBase = data.getRotationBase();
-		VectorBase cameraBase = data.getCameraBase();
-		
-		// Get time delta
-		double time = currentTimeMillis() / 1000D; // Time in seconds
-		double lastTime = data.getLastRotationTime();
-		data.setLastRotationTime(time);
-		float delta = lastTime == 0D? 0F : (float) (time - lastTime) * 20F;
-		if (delta == 0F) // Happens
-			return;
-		
-		// Wind
-		if (Config.weather.enabled && data.isAffectedByWeather()) {
-			angularWindVec.set(WeatherData.getAngularWindVector(player));
-		} else angularWindVec.set(ZERO);
-		
-		// Angular acceleration
-		float tiltPitch = data.getTiltPitch();
-		float tiltRoll = data.getTiltRoll();
-		float tiltYaw = data.getTiltYaw();
-		
-		motionVec.set(player.getDeltaMovement());
-		
 		if (!rotationBase.valid) rotationBase.init(data);
 		
-		float strength = motionVec.dot(rotationBase.look);
-		if (player.isInWater())
-			strength = strength * strength / (abs(strength) + 2) + 0.5F;
-		final float pitch = (-tiltPitch * strength - angularWindVec.x) * delta;
-		float yaw = (tiltYaw * strength - angularWindVec.y) * delta;
-		final float roll = (tiltRoll * strength + angularWindVec.z) * delta;
-		if (player.isInWater()) yaw *= 4F;
+		// Get fixed steps
+		final RotationIntegrator integrator = data.getRotationIntegrator();
+		final int steps = integrator.advance(time, rotationBase);
+		
+		if (steps > 0) {
+			final Vec3f angularWindVec = getAngularWind(player, data, FlightScratch.get().angularWindVec);
+			final Vec3 motion = player.getDeltaMovement();
+			integrator.integrate(
+			  rotationBase, steps, (float) motion.x, (float) motion.y, (float) motion.z,
+			  data.getTiltPitch(), data.getTiltRoll(), data.getTiltYaw(),
+			  angularWindVec.x, angularWindVec.y, angularWindVec.z, player.isInWater());
+		}
 		
-		rotationBase.rotate(pitch, yaw, roll);
+		updateCameraBase(data, partialTick);
+	}
+	
+	/**
+	 * Sample the angular wind affecting a player, or zero if it's not
+	 * affected by weather
+	 */
+	static Vec3f getAngularWind(Player player, IAerobaticData data, Vec3f out) {
+		if (Config.weather.enabled && data.isAffectedByWeather()) {
+			WeatherData.sampleWind(player, null, out);
+		} else out.set(ZERO);
+		return out;
+	}
+	
+	/**
+	 * Interpolate the camera base from the last rotation steps, and
+	 * update the rotation angles of the player
+	 */
+	static void updateCameraBase(IAerobaticData data, float partialTick) {
+		final VectorBase cameraBase = data.getCameraBase();
+		interpolateCameraBase(
+		  data.getRotationIntegrator(), data.getRotationBase(),
+		  data.getPreBounceBase(), data.getPosBounceBase(),
+		  System.currentTimeMillis() - data.getLastBounceTime(), cameraBase);
+		data.updateRotation(cameraBase, partialTick);
+	}
+	
+	/**
+	 * Interpolate the camera base between the last rotation steps,
+	 * animating it for a while after a bounce
+	 *
+	 * @param bounceAge Milliseconds since the last bounce
+	 * @param out Destination base
+	 */
+	static void interpolateCameraBase(
+	  RotationIntegrator integrator, VectorBase rotationBase,
+	  VectorBase preBounceBase, VectorBase posBounceBase, long bounceAge, VectorBase out
+	) {
+		// Interpolate frame
+		final VectorBase frameBase = FlightScratch.get().frameBase;
+		integrator.interpolate(rotationBase, frameBase);
 		
-		long bounceTime = System.currentTimeMillis();
-		if (bounceTime - data.getLastBounceTime() <
-		    Const.SLIME_BOUNCE_CAMERA_ANIMATION_LENGTH_MS
-		) {
+		if (bounceAge < Const.SLIME_BOUNCE_CAMERA_ANIMATION_LENGTH_MS) {
 			float t = Easing.quadOut(
-			  (bounceTime - data.getLastBounceTime()) /
-			  (float) Const.SLIME_BOUNCE_CAMERA_ANIMATION_LENGTH_MS);
-			cameraBase.interpolate(
-			  t, data.getPreBounceBase(), data.getPosBounceBase(), rotationBase);
-		} else cameraBase.set(rotationBase);
-		
-		data.updateRotation(cameraBase, partialTick);
+			  bounceAge / (float) Const.SLIME_BOUNCE_CAMERA_ANIMATION_LENGTH_MS);
+			out.interpolate(t, preBounceBase, posBounceBase, frameBase);
+		} else out.set(frameBase);
 	}
 }
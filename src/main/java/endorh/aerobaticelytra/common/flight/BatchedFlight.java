@@ -0,0 +1,197 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.capability.IAerobaticData;
+import endorh.aerobaticelytra.common.config.Config;
+import endorh.aerobaticelytra.common.flight.physics.FlightBatch;
+import endorh.aerobaticelytra.common.flight.physics.FlightInput;
+import endorh.aerobaticelytra.common.flight.physics.FlightProfile;
+import endorh.aerobaticelytra.common.flight.physics.FlightState;
+import endorh.aerobaticelytra.common.flight.physics.RotationIntegrator;
+import endorh.lazulib.math.Vec3f;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
+
+/**
+ * Optional parallel physics pass<br>
+ * At the end of each server level tick, if the level has at least
+ * {@code performance.parallel_threshold} aerobatic flyers, they are
+ * gathered into a {@link FlightBatch}, which is split across a dedicated
+ * {@link ForkJoinPool}. Player movement happens later in the same tick,
+ * where {@link AerobaticFlight#onAerobaticTravel} picks up the
+ * precomputed result instead of stepping the kernel for each player.<br>
+ * Only the pure part (rotation and kernel) runs in the pool, on copies
+ * owned by the batch, while gathering, writing back the rotations,
+ * movement, collisions and events stay on the server thread, so the
+ * results are identical.<br>
+ * Results are discarded if the motion or input flags of a player
+ * changed since they were gathered, falling back to the regular path.
+ * Players who just started flying are never batched.<br>
+ * Only accessed from the server thread.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class BatchedFlight {
+	private static final Map<ResourceKey<Level>, LevelBatch> BATCHES = new HashMap<>();
+	/**
+	 * Minimum number of flyers per parallel task
+	 */
+	private static final int GRAIN = 16;
+	private static ForkJoinPool pool = null;
+	
+	// Lowest priority, so weather regions have been ticked already
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public static void onLevelTick(LevelTickEvent event) {
+		if (event.phase != Phase.END || !(event.level instanceof ServerLevel level))
+			return;
+		if (!Config.performance.parallel_physics) {
+			if (!BATCHES.isEmpty()) BATCHES.clear();
+			return;
+		}
+		final LevelBatch batch = BATCHES.computeIfAbsent(level.dimension(), k -> new LevelBatch());
+		// Few flyers are faster to step on the server thread, through the regular path
+		if (countFlyers(level) < Config.performance.parallel_threshold) {
+			batch.clear();
+			return;
+		}
+		batch.gather(level);
+		batch.batch.step(batch.profile, getPool(), GRAIN);
+		batch.batch.commit();
+	}
+	
+	@SubscribeEvent
+	public static void onLevelUnload(LevelEvent.Unload event) {
+		if (event.getLevel() instanceof ServerLevel level)
+			BATCHES.remove(level.dimension());
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		BATCHES.clear();
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+	
+	private static boolean canBatch(ServerPlayer player) {
+		if (!AerobaticFlight.shouldAerobaticFly(player)) return false;
+		final IAerobaticData data = getAerobaticDataOrDefault(player);
+		return data.isFlying() && data.getRotationBase().valid;
+	}
+	
+	private static int countFlyers(ServerLevel level) {
+		int count = 0;
+		for (ServerPlayer player : level.players())
+			if (canBatch(player)) count++;
+		return count;
+	}
+	
+	private static ForkJoinPool getPool() {
+		final int threads = Config.performance.parallel_thread_count;
+		if (pool == null || pool.getParallelism() != threads) {
+			if (pool != null) pool.shutdown();
+			pool = new ForkJoinPool(threads, p -> {
+				final ForkJoinWorkerThread thread =
+				  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("Aerobatic Physics Worker #" + thread.getPoolIndex());
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+	
+	/**
+	 * Replace the state of a player with its batched result for this tick
+	 * @param state State loaded from the player's data and motion
+	 * @return False if there's no valid batched result for the player
+	 */
+	static boolean consume(Player player, IAerobaticData data, FlightState state) {
+		if (!(player.level() instanceof ServerLevel level)) return false;
+		final LevelBatch batch = BATCHES.get(level.dimension());
+		if (batch == null || batch.tick != level.getGameTime()) return false;
+		final int i = batch.indices.removeInt(player);
+		if (i < 0 || !batch.batch.matches(
+		  i, state.motionX, state.motionY, state.motionZ,
+		  player.isInWater(), player.isCrouching(), data.isSprinting(), data.isJumping())
+		) return false;
+		batch.batch.get(i, state);
+		return true;
+	}
+	
+	private static class LevelBatch {
+		private final FlightBatch batch = new FlightBatch();
+		private final Reference2IntOpenHashMap<Player> indices = new Reference2IntOpenHashMap<>();
+		private FlightProfile profile;
+		private int profileVersion;
+		private long tick = -1L;
+		
+		private LevelBatch() {
+			indices.defaultReturnValue(-1);
+		}
+		
+		private void clear() {
+			batch.clear();
+			indices.clear();
+			tick = -1L;
+		}
+		
+		private void gather(ServerLevel level) {
+			clear();
+			tick = level.getGameTime();
+			final int version = FlightProfiles.getVersion();
+			if (profile == null || version != profileVersion) {
+				profile = FlightProfiles.get(level);
+				profileVersion = version;
+			}
+			final FlightScratch scratch = FlightScratch.get();
+			final FlightState state = scratch.state;
+			final FlightInput in = scratch.input;
+			for (ServerPlayer player : level.players()) {
+				if (!canBatch(player)) continue;
+				final IAerobaticData data = getAerobaticDataOrDefault(player);
+				final FlightContext context = data.getFlightContext().update();
+				
+				// Same order as the regular travel path, which will find the
+				// rotation already advanced to the current tick, and only
+				// needs to update the camera base
+				final VectorBase base = data.getRotationBase();
+				final RotationIntegrator integrator = data.getRotationIntegrator();
+				final int steps = integrator.advance(player.tickCount, base);
+				final Vec3f angularWind = scratch.angularWindVec;
+				if (steps > 0) {
+					AerobaticFlight.getAngularWind(player, data, angularWind);
+				} else angularWind.set(0F, 0F, 0F);
+				data.setAffectedByWeather(AerobaticFlight.isAffectedByWeather(player));
+				// Only the sign of the travel input is relevant
+				AerobaticFlight.gatherInput(player, data, context, true, player.zza, in);
+				
+				state.load(data);
+				final Vec3 motion = player.getDeltaMovement();
+				state.setMotion(motion.x, motion.y, motion.z);
+				final int i = batch.add(state, in);
+				batch.setRotation(i, base, integrator, steps, angularWind.x, angularWind.y, angularWind.z);
+				indices.put(player, i);
+			}
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package endorh.aerobaticelytra.common.flight;
+
+import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads block states from a level, reusing the chunk and section of
+ * the previous read<br>
+ * Queries are enclosed between {@link #begin} and {@link #end}, which
+ * releases the cached chunk, so it's not kept alive after it unloads.<br>
+ * Benchmarks may extend it to read blocks without a level.
+ */
+class BlockReader {
+	private final MutableBlockPos cursor = new MutableBlockPos();
+	private @Nullable Level world;
+	private boolean load;
+	private boolean debug;
+	
+	private @Nullable LevelChunk chunk;
+	private boolean cached;
+	private int chunkX;
+	private int chunkZ;
+	private @Nullable LevelChunkSection section;
+	private int sectionIndex;
+	
+	/**
+	 * Start reading from a level
+	 * @param load Whether to load missing chunks, as {@link Level#getBlockState}
+	 *   does, or read them as air, as collisions do
+	 */
+	void begin(Level world, boolean load) {
+		this.world = world;
+		this.load = load;
+		debug = world.isDebug();
+		cached = false;
+	}
+	
+	void end() {
+		world = null;
+		chunk = null;
+		section = null;
+		cached = false;
+	}
+	
+	/**
+	 * Equivalent to {@link Level#getBlockState}
+	 */
+	BlockState get(int x, int y, int z) {
+		final Level world = this.world;
+		if (world == null) throw new IllegalStateException("Block reader not started");
+		if (world.isOutsideBuildHeight(y))
+			return Blocks.VOID_AIR.defaultBlockState();
+		final int cx = x >> 4, cz = z >> 4;
+		if (!cached || cx != chunkX || cz != chunkZ) {
+			chunk = load? world.getChunk(cx, cz) : world.getChunkSource().getChunkNow(cx, cz);
+			cached = true;
+			chunkX = cx;
+			chunkZ = cz;
+			section = null;
+		}
+		final LevelChunk c = chunk;
+		if (c == null) return Blocks.AIR.defaultBlockState();
+		if (debug) return c.getBlockState(cursor.set(x, y, z));
+		final int index = c.getSectionIndex(y);
+		LevelChunkSection s = section;
+		if (s == null || index != sectionIndex) {
+			final LevelChunkSection[] sections = c.getSections();
+			if (index < 0 || index >= sections.length)
+				return Blocks.AIR.defaultBlockState();
+			section = s = sections[index];
+			sectionIndex = index;
+		}
+		return s.hasOnlyAir()
+		  ? Blocks.AIR.defaultBlockState()
+		  : s.getBlockState(x & 15, y & 15, z & 15);
+	}
+}
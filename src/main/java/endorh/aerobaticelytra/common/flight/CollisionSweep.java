@@ -0,0 +1,279 @@
+package endorh.aerobaticelytra.common.flight;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.SlimeBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+import java.util.Arrays;
+
+/**
+ * Block query used by {@link AerobaticCollision}<br>
+ * Reads the blocks around a bounding box through a {@link BlockReader},
+ * which reuses the chunk section of the last read, to find the motion
+ * blocking blocks found by the smallest inflation of the box (out of
+ * {@link #INFLATIONS}) that finds any, classified as hay, leaves, slime
+ * or solid blocks.<br>
+ * Only the blocks reached by the smallest inflation are read at first,
+ * and the box is only widened to the largest inflation if none of them
+ * blocks motion. Each block is selected with the same bounds as
+ * {@link AerobaticCollision#getCollidedBlocksInAABB}, so results match
+ * those of the separate queries.<br>
+ * The sides of the box with slime blocks (see {@link AerobaticCollision#sideAABB})
+ * are only queried by {@link #sweepSlime}, which reads a wider shell
+ * around the box, when a bounce is possible.<br>
+ * Obtained from {@link FlightScratch}, so it's confined to a thread.
+ */
+public final class CollisionSweep {
+	public static final byte HAY = 0;
+	public static final byte LEAVES = 1;
+	public static final byte SLIME = 2;
+	public static final byte SOLID = 3;
+	
+	/**
+	 * Inflations tried, in order, to find collided blocks
+	 */
+	private static final double[] INFLATIONS = {0.005D, 0.01D, 0.02D, 0.04D, 0.08D, 0.16D, 0.32D};
+	private static final int UNREACHED = INFLATIONS.length;
+	/**
+	 * Matches the grow epsilon of {@link AerobaticCollision#sideAABB}
+	 */
+	private static final double SIDE = 0.5D;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	
+	private final BlockReader reader;
+	private long[] positions = new long[32];
+	private byte[] levels = new byte[32];
+	private byte[] kinds = new byte[32];
+	private int size;
+	private int level;
+	private int slimeSides;
+	
+	// Inflation level at which each coordinate is reached, per axis
+	private int[] xLevels = new int[8];
+	private int[] yLevels = new int[8];
+	private int[] zLevels = new int[8];
+	// Block bounds of each side box, [minX, maxX, minY, maxY, minZ, maxZ), indexed by sideIndex
+	private final int[] sides = new int[DIRECTIONS.length * 2 * 6];
+	
+	public CollisionSweep() {
+		this(new BlockReader());
+	}
+	
+	CollisionSweep(BlockReader reader) {
+		this.reader = reader;
+	}
+	
+	/**
+	 * Query the blocks around a box
+	 */
+	public void sweep(Level world, AABB b) {
+		size = 0;
+		level = UNREACHED;
+		final double d = INFLATIONS[UNREACHED - 1];
+		final int x0 = Mth.floor(b.minX - d), x1 = Mth.ceil(b.maxX + d);
+		final int y0 = Mth.floor(b.minY - d), y1 = Mth.ceil(b.maxY + d);
+		final int z0 = Mth.floor(b.minZ - d), z1 = Mth.ceil(b.maxZ + d);
+		xLevels = levels(xLevels, x0, x1, b.minX, b.maxX);
+		yLevels = levels(yLevels, y0, y1, b.minY, b.maxY);
+		zLevels = levels(zLevels, z0, z1, b.minZ, b.maxZ);
+		
+		// Blocks reached by the smallest inflation
+		final double e = INFLATIONS[0];
+		final int ix0 = Mth.floor(b.minX - e), ix1 = Mth.ceil(b.maxX + e);
+		final int iy0 = Mth.floor(b.minY - e), iy1 = Mth.ceil(b.maxY + e);
+		final int iz0 = Mth.floor(b.minZ - e), iz1 = Mth.ceil(b.maxZ + e);
+		reader.begin(world, true);
+		try {
+			for (int i = ix0; i < ix1; i++) {
+				for (int j = iy0; j < iy1; j++) {
+					for (int k = iz0; k < iz1; k++)
+						read(i, j, k, 0);
+				}
+			}
+			if (level != UNREACHED) return;
+			
+			// Widen the box to the largest inflation
+			for (int i = x0; i < x1; i++) {
+				final int xl = xLevels[i - x0];
+				final boolean innerX = i >= ix0 && i < ix1;
+				for (int j = y0; j < y1; j++) {
+					final int yl = max(xl, yLevels[j - y0]);
+					final boolean innerXY = innerX && j >= iy0 && j < iy1;
+					for (int k = z0; k < z1; k++) {
+						if (innerXY && k >= iz0 && k < iz1) continue;
+						read(i, j, k, max(yl, zLevels[k - z0]));
+					}
+				}
+			}
+		} finally {
+			reader.end();
+		}
+	}
+	
+	private void read(int x, int y, int z, int l) {
+		final BlockState state = reader.get(x, y, z);
+		if (l < UNREACHED && !state.isAir() && state.blocksMotion()) {
+			add(BlockPos.asLong(x, y, z), l, classify(state));
+			if (l < level) level = l;
+		}
+	}
+	
+	/**
+	 * Query which sides of a box have slime blocks
+	 * @see #hasSlime
+	 */
+	public void sweepSlime(Level world, AABB b) {
+		slimeSides = 0;
+		for (Direction dir: DIRECTIONS) {
+			sideBounds(b, dir, false);
+			sideBounds(b, dir, true);
+		}
+		final int x0 = Mth.floor(b.minX - SIDE), x1 = Mth.ceil(b.maxX + SIDE);
+		final int y0 = Mth.floor(b.minY - SIDE), y1 = Mth.ceil(b.maxY + SIDE);
+		final int z0 = Mth.floor(b.minZ - SIDE), z1 = Mth.ceil(b.maxZ + SIDE);
+		reader.begin(world, true);
+		try {
+			for (int i = x0; i < x1; i++) {
+				for (int j = y0; j < y1; j++) {
+					for (int k = z0; k < z1; k++) {
+						if (reader.get(i, j, k).getBlock() instanceof SlimeBlock)
+							markSlimeSides(i, j, k);
+					}
+				}
+			}
+		} finally {
+			reader.end();
+		}
+	}
+	
+	/**
+	 * Whether any motion blocking block was found
+	 */
+	public boolean isEmpty() {
+		return level == UNREACHED;
+	}
+	
+	/**
+	 * Number of candidate blocks, including those not {@link #isCollided collided}
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Whether a candidate block was found by the selected inflation
+	 */
+	public boolean isCollided(int i) {
+		return levels[i] <= level;
+	}
+	
+	/**
+	 * Kind of a candidate block, one of {@link #HAY}, {@link #LEAVES},
+	 * {@link #SLIME} or {@link #SOLID}
+	 */
+	public byte getKind(int i) {
+		return kinds[i];
+	}
+	
+	/**
+	 * Position of a candidate block, as a new immutable {@link BlockPos}
+	 */
+	public BlockPos getPos(int i) {
+		return BlockPos.of(positions[i]);
+	}
+	
+	/**
+	 * Whether there are slime blocks at a side of the box queried by
+	 * the last {@link #sweepSlime}
+	 * @see AerobaticCollision#shouldBounceDir
+	 */
+	public boolean hasSlime(Direction dir, boolean includeCorners) {
+		return (slimeSides & 1 << sideIndex(dir, includeCorners)) != 0;
+	}
+	
+	private static byte classify(BlockState state) {
+		if (state.getBlock() instanceof SlimeBlock) return SLIME;
+		if (state.is(Blocks.HAY_BLOCK)) return HAY;
+		if (state.is(BlockTags.LEAVES)) return LEAVES;
+		return SOLID;
+	}
+	
+	private static int max(int a, int b) {
+		return a > b? a : b;
+	}
+	
+	/**
+	 * Compute the first inflation level at which each coordinate
+	 * in {@code [from, to)} is selected, with the same rounding as
+	 * {@link AerobaticCollision#getCollidedBlocksInAABB}
+	 */
+	private static int[] levels(int[] array, int from, int to, double min, double max) {
+		final int n = to - from;
+		if (array.length < n) array = new int[Math.max(n, array.length * 2)];
+		Arrays.fill(array, 0, n, UNREACHED);
+		for (int l = INFLATIONS.length - 1; l >= 0; l--) {
+			final double d = INFLATIONS[l];
+			final int lo = Mth.floor(min - d), hi = Mth.ceil(max + d);
+			for (int i = lo; i < hi; i++) array[i - from] = l;
+		}
+		return array;
+	}
+	
+	private static int sideIndex(Direction dir, boolean includeCorners) {
+		return dir.ordinal() * 2 + (includeCorners? 1 : 0);
+	}
+	
+	/**
+	 * Block bounds of {@link AerobaticCollision#sideAABB}, without allocating it
+	 */
+	private void sideBounds(AABB b, Direction dir, boolean includeCorners) {
+		final double e = SIDE;
+		final double c = includeCorners? e : 0D;
+		double minX = b.minX - c, maxX = b.maxX + c;
+		double minY = b.minY - c, maxY = b.maxY + c;
+		double minZ = b.minZ - c, maxZ = b.maxZ + c;
+		switch (dir) {
+			case EAST -> { minX = b.maxX; maxX = b.maxX + e; }
+			case WEST -> { minX = b.minX - e; maxX = b.minX; }
+			case SOUTH -> { minZ = b.maxZ; maxZ = b.maxZ + e; }
+			case NORTH -> { minZ = b.minZ - e; maxZ = b.minZ; }
+			case UP -> { minY = b.maxY; maxY = b.maxY + e; }
+			case DOWN -> { minY = b.minY - e; maxY = b.minY; }
+		}
+		final int o = sideIndex(dir, includeCorners) * 6;
+		sides[o] = Mth.floor(minX);
+		sides[o + 1] = Mth.ceil(maxX);
+		sides[o + 2] = Mth.floor(minY);
+		sides[o + 3] = Mth.ceil(maxY);
+		sides[o + 4] = Mth.floor(minZ);
+		sides[o + 5] = Mth.ceil(maxZ);
+	}
+	
+	private void markSlimeSides(int x, int y, int z) {
+		final int[] s = sides;
+		for (int i = 0, o = 0; o < s.length; i++, o += 6) {
+			if (x >= s[o] && x < s[o + 1] && y >= s[o + 2] && y < s[o + 3]
+			    && z >= s[o + 4] && z < s[o + 5])
+				slimeSides |= 1 << i;
+		}
+	}
+	
+	private void add(long pos, int l, byte kind) {
+		if (size == positions.length) {
+			final int n = size * 2;
+			positions = Arrays.copyOf(positions, n);
+			levels = Arrays.copyOf(levels, n);
+			kinds = Arrays.copyOf(kinds, n);
+		}
+		positions[size] = pos;
+		levels[size] = (byte) l;
+		kinds[size] = kind;
+		size++;
+	}
+}
@@ -0,0 +1,324 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.config.Config;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.core.Direction.Axis;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.MoverType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.Shapes.DoubleLineConsumer;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Swept bounding box collision for fast aerobatic flyers<br>
+ * Vanilla movement resolves collisions one axis at a time, which moves
+ * the bounding box along an L shaped path instead of along the motion.
+ * At high speeds this path can skip obstacles the straight path would
+ * hit, such as thin walls or layers of leaves.<br>
+ * Before moving, the box is swept along its motion in sub-steps of at
+ * most {@link #STEP} blocks, testing the collision shapes of the blocks
+ * each sub-step enters. Each block is read only once per sweep, so the
+ * cost grows with the distance travelled.<br>
+ * The movement is cut at the first contact, and the rest of the motion,
+ * without its component along the contact axis, is swept again, so the
+ * box slides along the obstacle, up to {@link #MAX_SLIDES} times. The
+ * removed components are still passed to vanilla movement, which stops
+ * them against the obstacle and sets the collision flags
+ * {@link AerobaticCollision} reacts to.<br>
+ * Obtained from {@link FlightScratch}, so it's confined to a thread.
+ */
+public final class ContinuousCollision {
+	/**
+	 * Squared motion per tick below which vanilla movement is accurate enough
+	 */
+	private static final double MIN_MOTION_SQR = 1D;
+	/**
+	 * Maximum length of the sub-steps of a sweep
+	 */
+	private static final double STEP = 0.5D;
+	/**
+	 * Same as the collision epsilon of vanilla movement
+	 */
+	private static final double EPSILON = 1E-7D;
+	/**
+	 * Maximum number of sweeps of a slide, after which the rest is left
+	 * to vanilla movement
+	 */
+	private static final int MAX_SLIDES = 4;
+	
+	private final ShapeReader reader;
+	private final LongOpenHashSet visited = new LongOpenHashSet();
+	private final DoubleLineConsumer boxTest = this::testBox;
+	
+	// Current sweep
+	private double minX, minY, minZ, maxX, maxY, maxZ;
+	private double motionX, motionY, motionZ;
+	private int cellX, cellY, cellZ;
+	private double contact;
+	private @Nullable Axis contactAxis;
+	
+	// Current slide
+	private double slideX, slideY, slideZ;
+	private double pressX, pressY, pressZ;
+	private double stepX, stepY, stepZ;
+	private int slides;
+	
+	public ContinuousCollision() {
+		this(new ShapeReader());
+	}
+	
+	ContinuousCollision(ShapeReader reader) {
+		this.reader = reader;
+	}
+	
+	/**
+	 * Move a flying player, sliding along the obstacles along its motion<br>
+	 * Falls back to vanilla movement for slow motion or if disabled in the config.
+	 */
+	public static void move(Player player, Vec3 motion) {
+		if (!Config.collision.continuous_collision || motion.lengthSqr() <= MIN_MOTION_SQR) {
+			player.move(MoverType.SELF, motion);
+			return;
+		}
+		final ContinuousCollision sweep = FlightScratch.get().continuousCollision;
+		boolean horizontalCollision = false;
+		boolean verticalCollision = false;
+		sweep.startSlide(motion.x, motion.y, motion.z);
+		while (sweep.nextSlide(player.level(), player, player.getBoundingBox())) {
+			final Vec3 step = sweep.getStep();
+			// Contacts at the start of the sweep don't move
+			if (step.lengthSqr() <= 0D) continue;
+			player.move(MoverType.SELF, step);
+			horizontalCollision |= player.horizontalCollision;
+			verticalCollision |= player.verticalCollision;
+		}
+		player.move(MoverType.SELF, sweep.getRest());
+		player.horizontalCollision |= horizontalCollision;
+		player.verticalCollision |= verticalCollision;
+	}
+	
+	/**
+	 * Start sliding a motion
+	 * @see #nextSlide
+	 */
+	void startSlide(double x, double y, double z) {
+		slideX = x;
+		slideY = y;
+		slideZ = z;
+		pressX = pressY = pressZ = 0D;
+		slides = 0;
+	}
+	
+	/**
+	 * Sweep the rest of the current slide from a box, and if it makes
+	 * contact, cut it there as the next {@link #getStep() step}, and
+	 * remove the component along the contact axis from the rest
+	 * @return False if the rest of the slide is free, slow enough for
+	 *   vanilla movement, or it's been cut too many times, so it should
+	 *   be moved with {@link #getRest()}
+	 */
+	boolean nextSlide(Level world, @Nullable Entity entity, AABB box) {
+		if (slides >= MAX_SLIDES
+		    || slideX * slideX + slideY * slideY + slideZ * slideZ <= MIN_MOTION_SQR)
+			return false;
+		final double t = sweep(world, entity, box, slideX, slideY, slideZ);
+		final Axis axis = contactAxis;
+		if (axis == null) return false;
+		slides++;
+		stepX = slideX * t;
+		stepY = slideY * t;
+		stepZ = slideZ * t;
+		final double s = 1D - t;
+		switch (axis) {
+			case X -> {
+				pressX += slideX * s;
+				slideX = 0D;
+			}
+			case Y -> {
+				pressY += slideY * s;
+				slideY = 0D;
+			}
+			case Z -> {
+				pressZ += slideZ * s;
+				slideZ = 0D;
+			}
+		}
+		if (axis != Axis.X) slideX *= s;
+		if (axis != Axis.Y) slideY *= s;
+		if (axis != Axis.Z) slideZ *= s;
+		return true;
+	}
+	
+	/**
+	 * Motion up to the last contact of the current slide
+	 */
+	Vec3 getStep() {
+		return new Vec3(stepX, stepY, stepZ);
+	}
+	
+	/**
+	 * Rest of the current slide, including the components removed at
+	 * each contact, which vanilla movement stops against the obstacles
+	 */
+	Vec3 getRest() {
+		return new Vec3(slideX + pressX, slideY + pressY, slideZ + pressZ);
+	}
+	
+	/**
+	 * Sweep a box along a motion segment, finding its first contact
+	 * with the collision shape of any block
+	 * @return The fraction of the motion at the first contact, or 1 if
+	 *   there's no contact
+	 * @see #getContactAxis()
+	 */
+	public double sweep(Level world, @Nullable Entity entity, AABB box, Vec3 motion) {
+		return sweep(world, entity, box, motion.x, motion.y, motion.z);
+	}
+	
+	private double sweep(
+	  Level world, @Nullable Entity entity, AABB box, double mX, double mY, double mZ
+	) {
+		minX = box.minX;
+		minY = box.minY;
+		minZ = box.minZ;
+		maxX = box.maxX;
+		maxY = box.maxY;
+		maxZ = box.maxZ;
+		motionX = mX;
+		motionY = mY;
+		motionZ = mZ;
+		contact = 1D;
+		contactAxis = null;
+		visited.clear();
+		
+		final double length = Math.sqrt(mX * mX + mY * mY + mZ * mZ);
+		final int steps = Math.max(1, Mth.ceil(length / STEP));
+		reader.begin(world, entity);
+		try {
+			for (int s = 0; s < steps; s++) {
+				final double t0 = s / (double) steps, t1 = (s + 1) / (double) steps;
+				// Blocks with large collision shapes may collide from the adjacent cells
+				final int x0 = Mth.floor(minX + Math.min(motionX * t0, motionX * t1) - EPSILON) - 1;
+				final int x1 = Mth.floor(maxX + Math.max(motionX * t0, motionX * t1) + EPSILON) + 1;
+				final int y0 = Mth.floor(minY + Math.min(motionY * t0, motionY * t1) - EPSILON) - 1;
+				final int y1 = Mth.floor(maxY + Math.max(motionY * t0, motionY * t1) + EPSILON) + 1;
+				final int z0 = Mth.floor(minZ + Math.min(motionZ * t0, motionZ * t1) - EPSILON) - 1;
+				final int z1 = Mth.floor(maxZ + Math.max(motionZ * t0, motionZ * t1) + EPSILON) + 1;
+				for (int i = x0; i <= x1; i++) {
+					for (int j = y0; j <= y1; j++) {
+						for (int k = z0; k <= z1; k++) {
+							final boolean edge = i == x0 || i == x1 || j == y0 || j == y1 || k == z0 || k == z1;
+							final long pos = BlockPos.asLong(i, j, k);
+							if (visited.contains(pos)) continue;
+							cellX = i;
+							cellY = j;
+							cellZ = k;
+							// Edge cells are tested again if entered by a later sub-step
+							if (reader.read(i, j, k, edge, boxTest)) visited.add(pos);
+						}
+					}
+				}
+				// Blocks entered by later sub-steps can't be reached sooner
+				if (contact <= t1) break;
+			}
+		} finally {
+			reader.end();
+		}
+		return contact;
+	}
+	
+	/**
+	 * Axis of the face touched at the first contact of the last
+	 * {@link #sweep}, or null if there was no contact
+	 */
+	public @Nullable Axis getContactAxis() {
+		return contactAxis;
+	}
+	
+	/**
+	 * Find the time at which the moving box enters a block box, if it's
+	 * sooner than the current contact<br>
+	 * Boxes already penetrated at the start of the motion are ignored,
+	 * as vanilla movement does, and merely touching boxes don't collide
+	 * unless the motion goes into them.
+	 */
+	private void testBox(double bMinX, double bMinY, double bMinZ, double bMaxX, double bMaxY, double bMaxZ) {
+		double enter = Double.NEGATIVE_INFINITY, exit = Double.POSITIVE_INFINITY;
+		double gap = 0D;
+		Axis axis = null;
+		for (Axis a: Axis.VALUES) {
+			final double m = a.choose(motionX, motionY, motionZ);
+			final double lo = a.choose(bMinX + cellX, bMinY + cellY, bMinZ + cellZ)
+			                  - a.choose(maxX, maxY, maxZ);
+			final double hi = a.choose(bMaxX + cellX, bMaxY + cellY, bMaxZ + cellZ)
+			                  - a.choose(minX, minY, minZ);
+			if (m == 0D) {
+				if (lo >= -EPSILON || hi <= EPSILON) return;
+				continue;
+			}
+			final double near = m > 0D? lo : -hi;
+			final double tEnter = (m > 0D? lo : hi) / m;
+			final double tExit = (m > 0D? hi : lo) / m;
+			if (tEnter > enter) {
+				enter = tEnter;
+				gap = near;
+				axis = a;
+			}
+			if (tExit < exit) exit = tExit;
+		}
+		if (axis == null || gap < -EPSILON || enter >= exit || exit <= 0D) return;
+		enter = Math.max(enter, 0D);
+		if (enter < contact || contactAxis == null && enter <= contact) {
+			contact = enter;
+			contactAxis = axis;
+		}
+	}
+	
+	/**
+	 * Reads the collision shapes of blocks through a {@link BlockReader}<br>
+	 * Tests may extend it to collide with shapes without a level.
+	 */
+	static class ShapeReader {
+		private final BlockReader reader = new BlockReader();
+		private final MutableBlockPos cursor = new MutableBlockPos();
+		private @Nullable Level world;
+		private CollisionContext context;
+		
+		void begin(Level world, @Nullable Entity entity) {
+			this.world = world;
+			context = entity != null? CollisionContext.of(entity) : CollisionContext.empty();
+			reader.begin(world, false);
+		}
+		
+		void end() {
+			reader.end();
+			world = null;
+			context = null;
+		}
+		
+		/**
+		 * Pass the boxes of the collision shape of a block to a consumer,
+		 * in block coordinates
+		 * @param edge Whether the block is at the edge of the swept cells, where
+		 *   only blocks with large collision shapes may collide
+		 * @return False if the block was skipped, because it's at the edge
+		 */
+		boolean read(int x, int y, int z, boolean edge, DoubleLineConsumer boxes) {
+			final BlockState state = reader.get(x, y, z);
+			if (edge && !state.hasLargeCollisionShape()) return false;
+			if (state.isAir()) return true;
+			final VoxelShape shape = state.getCollisionShape(world, cursor.set(x, y, z), context);
+			if (!shape.isEmpty()) shape.forAllBoxes(boxes);
+			return true;
+		}
+	}
+}
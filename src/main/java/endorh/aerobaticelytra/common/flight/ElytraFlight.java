@@ -1,7 +1,5 @@
 package endorh.aerobaticelytra.common.flight;
 
-import endorh.aerobaticelytra.common.AerobaticElytraLogic;
-import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
 import endorh.aerobaticelytra.common.capability.IElytraSpec;
 import endorh.aerobaticelytra.common.flight.mode.FlightModeTags;
 import endorh.lazulib.math.Vec3f;
@@ -33,10 +31,11 @@ public class ElytraFlight {
 		if (!player.isFallFlying() || player.getAbilities().flying
 		    || !getFlightDataOrDefault(player).getFlightMode().is(FlightModeTags.ELYTRA))
 			return false;
-		final ItemStack elytra = AerobaticElytraLogic.getAerobaticElytra(player);
+		final FlightContext context = FlightContext.of(player);
+		final ItemStack elytra = context.getElytra();
 		if (elytra.isEmpty())
 			return false;
-		final IElytraSpec spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
+		final IElytraSpec spec = context.getSpec();
 		if ((elytra.getDamageValue() >= elytra.getMaxDamage() - 1 || !(spec.getAbility(FUEL) > 0))
 		     && !player.isCreative()
 		    || player.isInLava() || player.isInWater())
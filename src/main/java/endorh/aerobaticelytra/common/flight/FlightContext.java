@@ -0,0 +1,178 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.AerobaticElytraLogic;
+import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
+import endorh.aerobaticelytra.common.capability.IAerobaticData;
+import endorh.aerobaticelytra.common.capability.IElytraSpec;
+import endorh.aerobaticelytra.common.flight.physics.FlightProfile;
+import endorh.aerobaticelytra.common.item.AerobaticElytraWingItem;
+import endorh.aerobaticelytra.common.item.IAbility.Ability;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import org.jetbrains.annotations.Nullable;
+
+import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
+
+/**
+ * Per-tick snapshot of the aerobatic elytra equipped by a player<br>
+ * Resolving the elytra walks the equipment slots, Curios and Colytra
+ * NBT, so it's resolved at most once per tick (and again after an
+ * equipment change), along with its spec, the abilities used by the
+ * flight logic, and the debug wing flags.<br>
+ * Ability values are only snapshotted for abilities that don't change
+ * while flying. Consumable abilities, such as {@link Ability#FUEL},
+ * must be read from {@link #getSpec()}.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class FlightContext {
+	private final Player player;
+	private boolean valid = false;
+	private int tick;
+	
+	private FlightProfile profile;
+	private Level profileLevel;
+	private int profileVersion;
+	
+	private ItemStack elytra = ItemStack.EMPTY;
+	private IElytraSpec spec;
+	private float speed;
+	private float lift;
+	private float aquatic;
+	private float trail;
+	private boolean debugWing;
+	private boolean offhandDebugWing;
+	
+	/**
+	 * @param player Player to resolve the context for, or {@code null}
+	 *   for a context without elytra that's never resolved, shared by
+	 *   the default data of players without the capability
+	 */
+	public FlightContext(@Nullable Player player) {
+		this.player = player;
+		if (player == null) {
+			valid = true;
+			spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
+			speed = spec.getAbility(Ability.SPEED);
+			lift = spec.getAbility(Ability.LIFT);
+			aquatic = spec.getAbility(Ability.AQUATIC);
+			trail = spec.getAbility(Ability.TRAIL);
+		}
+	}
+	
+	/**
+	 * Get the context of a player, resolved for the current tick
+	 */
+	public static FlightContext of(Player player) {
+		return getAerobaticDataOrDefault(player).getFlightContext().update();
+	}
+	
+	@SubscribeEvent
+	public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+		if (event.getEntity() instanceof Player player)
+			getAerobaticDataOrDefault(player).getFlightContext().invalidate();
+	}
+	
+	/**
+	 * Resolve the context again if it's from a previous tick, or it's been invalidated
+	 */
+	public FlightContext update() {
+		if (player != null && (!valid || tick != player.tickCount)) {
+			tick = player.tickCount;
+			valid = true;
+			elytra = AerobaticElytraLogic.getAerobaticElytra(player);
+			spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
+			speed = spec.getAbility(Ability.SPEED);
+			lift = spec.getAbility(Ability.LIFT);
+			aquatic = spec.getAbility(Ability.AQUATIC);
+			trail = spec.getAbility(Ability.TRAIL);
+			offhandDebugWing = AerobaticElytraWingItem.hasOffhandDebugWing(player);
+			debugWing = AerobaticElytraWingItem.hasDebugWing(player);
+		}
+		return this;
+	}
+	
+	/**
+	 * Resolve the context again on the next access
+	 */
+	public void invalidate() {
+		if (player != null) valid = false;
+	}
+	
+	/**
+	 * Equipped aerobatic elytra, or empty
+	 * @see AerobaticElytraLogic#getAerobaticElytra
+	 */
+	public ItemStack getElytra() {
+		return elytra;
+	}
+	
+	public boolean hasElytra() {
+		return !elytra.isEmpty();
+	}
+	
+	/**
+	 * Spec of the equipped elytra, or a default spec
+	 * @see AerobaticElytraLogic#getElytraSpecOrDefault
+	 */
+	public IElytraSpec getSpec() {
+		return spec;
+	}
+	
+	/**
+	 * Spec of the given stack, reusing the resolved spec if it's the equipped elytra
+	 */
+	public IElytraSpec getSpec(ItemStack stack) {
+		return stack == elytra? spec : ElytraSpecCapability.getElytraSpecOrDefault(stack);
+	}
+	
+	public float getSpeed() {
+		return speed;
+	}
+	
+	public float getLift() {
+		return lift;
+	}
+	
+	public float getAquatic() {
+		return aquatic;
+	}
+	
+	public float getTrail() {
+		return trail;
+	}
+	
+	/**
+	 * Flight profile of the player's dimension<br>
+	 * Only looked up again when the player changes dimension, or the
+	 * profiles change
+	 */
+	public FlightProfile getProfile() {
+		final Level level = player != null? player.level() : null;
+		final int version = FlightProfiles.getVersion();
+		if (profile == null || level != profileLevel || version != profileVersion) {
+			profile = level != null? FlightProfiles.get(level) : FlightProfiles.get();
+			profileLevel = level;
+			profileVersion = version;
+		}
+		return profile;
+	}
+	
+	/**
+	 * @see AerobaticElytraWingItem#hasDebugWing
+	 */
+	public boolean hasDebugWing() {
+		return debugWing;
+	}
+	
+	/**
+	 * @see AerobaticElytraWingItem#hasOffhandDebugWing
+	 */
+	public boolean hasOffhandDebugWing() {
+		return offhandDebugWing;
+	}
+}
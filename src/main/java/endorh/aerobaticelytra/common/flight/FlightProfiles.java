@@ -0,0 +1,88 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.flight.physics.FlightCoefficients;
+import endorh.aerobaticelytra.common.flight.physics.FlightProfile;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holder of the current {@link FlightProfile}s<br>
+ * The default profile is compiled from the config whenever it's baked,
+ * and dimensions may be given their own profiles. Profiles are replaced
+ * atomically, so readers from any thread see either the old or the new
+ * profile, never a mix.<br>
+ * Every change bumps the {@link #getVersion() version}, which lets
+ * per-player and per-level caches (see {@link FlightContext#getProfile()})
+ * detect changes without looking up the profile of their dimension
+ * every tick.
+ */
+public final class FlightProfiles {
+	// Compiled on the first bake of the config
+	private static volatile FlightProfile profile = null;
+	private static volatile Map<ResourceKey<Level>, FlightProfile> dimensionProfiles = Map.of();
+	private static volatile int version = 0;
+	
+	private FlightProfiles() {}
+	
+	/**
+	 * Default profile, compiled from the config<br>
+	 * If the config hasn't been baked yet, it's compiled from its
+	 * current values.
+	 */
+	public static FlightProfile get() {
+		final FlightProfile profile = FlightProfiles.profile;
+		return profile != null? profile : compileIfAbsent();
+	}
+	
+	/**
+	 * Profile of a dimension, or the default profile<br>
+	 * Prefer cached accessors in per-tick code
+	 * @see FlightContext#getProfile()
+	 */
+	public static FlightProfile get(Level level) {
+		final FlightProfile dimensionProfile = dimensionProfiles.get(level.dimension());
+		return dimensionProfile != null? dimensionProfile : get();
+	}
+	
+	/**
+	 * Incremented every time any profile changes
+	 */
+	public static int getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Compile the default profile from the current config values
+	 */
+	public static synchronized void compile() {
+		profile = FlightProfile.compile(new FlightCoefficients().load());
+		version++;
+	}
+	
+	/**
+	 * Set the profile of a dimension, replacing the default profile<br>
+	 * Profiles aren't synced, so this must be done on both sides, or
+	 * clients will predict the motion of their player differently
+	 * @param coefficients Coefficients of the dimension, or null to
+	 *   use the default profile again
+	 */
+	public static synchronized void setDimensionProfile(
+	  ResourceKey<Level> dimension, @Nullable FlightCoefficients coefficients
+	) {
+		final Map<ResourceKey<Level>, FlightProfile> profiles = new HashMap<>(dimensionProfiles);
+		if (coefficients != null) {
+			profiles.put(dimension, FlightProfile.compile(coefficients));
+		} else profiles.remove(dimension);
+		dimensionProfiles = Map.copyOf(profiles);
+		version++;
+	}
+	
+	private static synchronized FlightProfile compileIfAbsent() {
+		if (profile == null) compile();
+		return profile;
+	}
+}
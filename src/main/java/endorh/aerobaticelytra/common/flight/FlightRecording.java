@@ -0,0 +1,107 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.config.Config;
+import endorh.aerobaticelytra.common.flight.physics.FlightRecorder;
+import endorh.aerobaticelytra.common.flight.physics.FlightReplay;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player {@link FlightRecorder}s of the server<br>
+ * Players are recorded when requested by command, or always if
+ * {@code performance.record_all_flights} is enabled. Recordings are
+ * saved to the {@code aerobaticelytra/recordings} folder of the world,
+ * and can be replayed with {@link FlightReplay}.<br>
+ * Only accessed from the server thread.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class FlightRecording {
+	private static final Map<UUID, FlightRecorder> RECORDERS = new HashMap<>();
+	private static final DateTimeFormatter FILE_DATE_FORMAT =
+	  DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	
+	/**
+	 * Get the recorder of a player, if it's being recorded
+	 */
+	public static @Nullable FlightRecorder get(Player player) {
+		if (!(player instanceof ServerPlayer)) return null;
+		if (RECORDERS.isEmpty() && !Config.performance.record_all_flights) return null;
+		final FlightRecorder recorder = RECORDERS.get(player.getUUID());
+		if (recorder == null && Config.performance.record_all_flights)
+			return start(player);
+		return recorder;
+	}
+	
+	/**
+	 * Start recording a player, keeping the current recording unless
+	 * the configured capacity has changed
+	 */
+	public static FlightRecorder start(Player player) {
+		final int capacity = Config.performance.recorder_ticks;
+		FlightRecorder recorder = RECORDERS.get(player.getUUID());
+		if (recorder == null || recorder.getCapacity() != capacity) {
+			recorder = new FlightRecorder(capacity);
+			RECORDERS.put(player.getUUID(), recorder);
+		}
+		return recorder;
+	}
+	
+	/**
+	 * Stop recording a player, discarding its recording
+	 * @return False if the player wasn't being recorded
+	 */
+	public static boolean stop(Player player) {
+		return RECORDERS.remove(player.getUUID()) != null;
+	}
+	
+	/**
+	 * Save the recording of a player, with the profile it was recorded with
+	 * @return The path of the saved file, or null if the player
+	 *   isn't being recorded or hasn't flown yet
+	 */
+	public static @Nullable Path save(ServerPlayer player) throws IOException {
+		final FlightRecorder recorder = RECORDERS.get(player.getUUID());
+		if (recorder == null || recorder.size() == 0) return null;
+		final Path dir = getRecordingsFolder(player.server);
+		Files.createDirectories(dir);
+		final Path file = dir.resolve(
+		  player.getScoreboardName() + "-" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".bin");
+		try (OutputStream out = Files.newOutputStream(file)) {
+			recorder.write(out);
+		}
+		return file;
+	}
+	
+	public static Path getRecordingsFolder(MinecraftServer server) {
+		return server.getWorldPath(LevelResource.ROOT)
+		  .resolve(AerobaticElytra.MOD_ID).resolve("recordings");
+	}
+	
+	@SubscribeEvent
+	public static void onPlayerLoggedOut(PlayerLoggedOutEvent event) {
+		RECORDERS.remove(event.getEntity().getUUID());
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		RECORDERS.clear();
+	}
+}
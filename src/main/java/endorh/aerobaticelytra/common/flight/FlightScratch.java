@@ -0,0 +1,54 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.client.trail.AerobaticTrail.Rockets;
+import endorh.aerobaticelytra.common.flight.physics.FlightInput;
+import endorh.aerobaticelytra.common.flight.physics.FlightState;
+import endorh.lazulib.math.Vec3d;
+import endorh.lazulib.math.Vec3f;
+
+/**
+ * Per-thread scratch instances used by the flight hot paths<br>
+ * On an integrated server, the client render thread and the server
+ * thread both run flight logic, so shared static caches would race.
+ * Each thread gets its own instance, keeping the hot paths allocation
+ * free.<br>
+ * Instances must not escape the method that obtained them through
+ * {@link #get()}, and must not be used across nested calls that may
+ * also use the same fields.
+ */
+public final class FlightScratch {
+	private static final ThreadLocal<FlightScratch> SCRATCH =
+	  ThreadLocal.withInitial(FlightScratch::new);
+	
+	// AerobaticFlight
+	public final Vec3f motionVec = Vec3f.ZERO.get();
+	public final Vec3f prevMotionVec = Vec3f.ZERO.get();
+	public final Vec3f angularWindVec = Vec3f.ZERO.get();
+	public final Vec3f windVec = Vec3f.ZERO.get();
+	public final VectorBase frameBase = new VectorBase();
+	public final FlightState state = new FlightState();
+	public final FlightState recordedState = new FlightState();
+	public final FlightInput input = new FlightInput();
+	
+	// AerobaticCollision
+	public final CollisionSweep collisionSweep = new CollisionSweep();
+	public final ContinuousCollision continuousCollision = new ContinuousCollision();
+	
+	// AerobaticTrail
+	public final Rockets rockets = new Rockets();
+	public final Vec3d trailPos = Vec3d.ZERO.get();
+	public final Vec3f trailMotion = Vec3f.ZERO.get();
+	public final Vec3f trailAxis = Vec3f.ZERO.get();
+	public final Vec3f particleMotion = Vec3f.ZERO.get();
+	public final Vec3f particleOffset = Vec3f.ZERO.get();
+	public final VectorBase trailBase = new VectorBase();
+	
+	private FlightScratch() {}
+	
+	/**
+	 * Get the scratch instance of the current thread
+	 */
+	public static FlightScratch get() {
+		return SCRATCH.get();
+	}
+}
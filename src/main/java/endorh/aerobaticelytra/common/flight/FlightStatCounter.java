@@ -0,0 +1,104 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.capability.IAerobaticData;
+import endorh.aerobaticelytra.common.config.Config;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrNull;
+
+/**
+ * Accumulates the {@link FlightStats} of a player while flying<br>
+ * Awarding a stat marks the stats counter dirty and updates every
+ * scoreboard objective tracking it, so instead of awarding them every
+ * tick, they're accumulated here and flushed when the player lands,
+ * logs out, or every {@code performance.stat_flush_seconds}.
+ */
+@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
+public class FlightStatCounter {
+	private double distanceCm;
+	private int boosts;
+	private int bounces;
+	private int lastFlushTick;
+	
+	@SubscribeEvent
+	public static void onPlayerLoggedOut(PlayerLoggedOutEvent event) {
+		final Player player = event.getEntity();
+		final IAerobaticData data = getAerobaticDataOrNull(player);
+		if (data != null) data.getStatCounter().flush(player);
+	}
+	
+	public void addDistance(double blocks) {
+		distanceCm += blocks * 100D;
+	}
+	
+	public void addBoost() {
+		boosts++;
+	}
+	
+	public void addBounce() {
+		bounces++;
+	}
+	
+	/**
+	 * Flush the accumulated stats if the flush interval has passed
+	 */
+	public void tick(Player player) {
+		if (isFlushDue(player.tickCount, Config.performance.stat_flush_ticks))
+			flush(player);
+	}
+	
+	/**
+	 * Flush the accumulated stats to a sink if the flush interval has passed
+	 * @param tick Tick count of the player
+	 * @param flushTicks Flush interval
+	 */
+	public void tick(int tick, int flushTicks, StatSink sink) {
+		if (isFlushDue(tick, flushTicks)) flush(tick, sink);
+	}
+	
+	private boolean isFlushDue(int tick, int flushTicks) {
+		return tick - lastFlushTick >= flushTicks || tick < lastFlushTick;
+	}
+	
+	/**
+	 * Award the accumulated stats to the player<br>
+	 * Fractions of a centimeter are kept for the next flush
+	 */
+	public void flush(Player player) {
+		flush(player.tickCount, player::awardStat);
+	}
+	
+	/**
+	 * Award the accumulated stats to a sink<br>
+	 * Fractions of a centimeter are kept for the next flush
+	 * @param tick Tick count of the player
+	 */
+	public void flush(int tick, StatSink sink) {
+		lastFlushTick = tick;
+		final int cm = (int) distanceCm;
+		if (cm > 0) {
+			sink.award(FlightStats.AEROBATIC_FLIGHT_ONE_CM, cm);
+			distanceCm -= cm;
+		}
+		if (boosts > 0) {
+			sink.award(FlightStats.AEROBATIC_BOOSTS, boosts);
+			boosts = 0;
+		}
+		if (bounces > 0) {
+			sink.award(FlightStats.AEROBATIC_SLIME_BOUNCES, bounces);
+			bounces = 0;
+		}
+	}
+	
+	/**
+	 * Receiver of flushed stats, such as {@link Player#awardStat(ResourceLocation, int)}
+	 */
+	@FunctionalInterface public interface StatSink {
+		void award(ResourceLocation stat, int amount);
+	}
+}
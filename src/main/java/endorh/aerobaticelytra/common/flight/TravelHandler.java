@@ -1,8 +1,9 @@
 package endorh.aerobaticelytra.common.flight;
 
 import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.capability.IFlightData;
+import endorh.aerobaticelytra.common.flight.mode.FlightModeDispatch;
 import endorh.aerobaticelytra.common.flight.mode.IFlightMode;
-import endorh.aerobaticelytra.common.registry.AerobaticElytraRegistries;
 import endorh.lazulib.common.ObfuscationReflectionUtil;
 import endorh.lazulib.common.ObfuscationReflectionUtil.SoftField;
 import endorh.lazulib.events.PlayerTravelEvent;
@@ -15,17 +16,15 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.ForgeMod;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-import static endorh.aerobaticelytra.common.capability.FlightDataCapability.getFlightData;
+import static endorh.aerobaticelytra.common.capability.FlightDataCapability.getFlightDataOrNull;
 import static endorh.lazulib.common.LogUtil.oneTimeLogger;
 
 @EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
@@ -60,36 +59,26 @@ public class TravelHandler {
 	@SubscribeEvent
 	public static void onPlayerEntityTravelEvent(PlayerTravelEvent event) {
 		Player player = event.player;
-		getFlightData(player).ifPresent(fd -> {
+		final IFlightData fd = getFlightDataOrNull(player);
+		if (fd != null) {
 			final IFlightMode mode = fd.getFlightMode();
 			boolean cancel = mode.getFlightHandler().test(player, event.travelVector);
-			for (IFlightMode m : AerobaticElytraRegistries.FLIGHT_MODE_REGISTRY) {
-				if (mode != m) {
-					final BiConsumer<Player, Vec3> handler = m.getNonFlightHandler();
-					if (handler != null)
-						handler.accept(player, event.travelVector);
-				}
-			}
+			FlightModeDispatch.of(mode).handleNonFlight(player, event.travelVector);
 			event.setCanceled(cancel);
-		});
+		}
 	}
 	
 	@SubscribeEvent
 	public static void onRemotePlayerEntityTravelEvent(RemotePlayerTravelEvent event) {
 		Player player = event.player;
-		getFlightData(player).ifPresent(fd -> {
+		final IFlightData fd = getFlightDataOrNull(player);
+		if (fd != null) {
 			final IFlightMode mode = fd.getFlightMode();
 			final Consumer<Player> flightHandler = mode.getRemoteFlightHandler();
 			if (flightHandler != null)
 				flightHandler.accept(player);
-			for (IFlightMode m : AerobaticElytraRegistries.FLIGHT_MODE_REGISTRY) {
-				if (mode != m) {
-					final Consumer<Player> handler = m.getRemoteNonFlightHandler();
-					if (handler != null)
-						handler.accept(player);
-				}
-			}
-		});
+			FlightModeDispatch.of(mode).handleRemoteNonFlight(player);
+		}
 	}
 	
 	/**
@@ -18,19 +18,33 @@ import static java.lang.String.format;
  * Rotation vector base<br>
  * Contains specific methods related to aerobatic flight, it's not
  * a general purpose vector base<br>
+ * Backed by a unit quaternion, which maps the local X, Y and Z axes
+ * to the roll, look and normal vectors.
+ * The vectors are derived from the quaternion, and kept in sync by every
+ * method of this class, so rotations never need re-orthonormalization.
+ * They can only be read through their accessors.<br>
  * Not thread safe
  */
 public class VectorBase {
 	private static final Logger LOGGER = LogManager.getLogger();
-	private static final Vec3f tempVec = Vec3f.ZERO.get();
-	private static final VectorBase temp = new VectorBase();
+	private static final float DEG_HALF = (float) (Math.PI / 360D);
+	private static final float RAD_DEG = (float) (180D / Math.PI);
 	
-	public final Vec3f look = Vec3f.ZERO.get();
-	public final Vec3f roll = Vec3f.ZERO.get();
-	public final Vec3f normal = Vec3f.ZERO.get();
+	private final Vec3f look = Vec3f.ZERO.get();
+	private final Vec3f roll = Vec3f.ZERO.get();
+	private final Vec3f normal = Vec3f.ZERO.get();
+	
+	private float qw = 1F;
+	private float qx;
+	private float qy;
+	private float qz;
 	
 	public boolean valid = true;
 	
+	public VectorBase() {
+		updateAxes();
+	}
+	
 	public void init(IAerobaticData data) {
 		update(data.getRotationYaw(), data.getRotationPitch(), data.getRotationRoll());
 		valid = true;
@@ -45,6 +59,7 @@ public class VectorBase {
 		roll.rotateAlongOrtVecDegrees(look, rollDeg);
 		normal.set(roll);
 		normal.cross(look);
+		updateQuaternion();
 	}
 	
 	/**
@@ -55,14 +70,34 @@ public class VectorBase {
 	 * @return [yaw, pitch, roll] of the look vector, in degrees
 	 */
 	public float[] toSpherical(float prevYaw) {
+		return toSpherical(prevYaw, new float[3]);
+	}
+	
+	/**
+	 * Translate to spherical coordinates
+	 *
+	 * @param prevYaw Previous yaw value, since Minecraft does not
+	 *   restrict its domain
+	 * @param out Destination array
+	 * @return {@code out}, filled with [yaw, pitch, roll] of the look
+	 *   vector, in degrees
+	 */
+	public float[] toSpherical(float prevYaw, float[] out) {
 		float newPitch = look.getPitch();
 		float newYaw;
 		float newRoll;
 		
 		if (abs(newPitch) <= 89.9F) {
 			newYaw = look.getYaw();
-			tempVec.set(newYaw + 90F, 0F, true);
-			newRoll = tempVec.angleUnitaryDegrees(roll, look);
+			// Horizontal roll vector for this yaw (the roll vector with no roll)
+			final float hNorm = (float) Math.sqrt(look.x * look.x + look.z * look.z);
+			final float hx = -look.z / hNorm;
+			final float hz = look.x / hNorm;
+			// Signed angle from the horizontal roll vector to the roll vector
+			final float cos = hx * roll.x + hz * roll.z;
+			final float sin = look.x * (-hz * roll.y) + look.y * (hz * roll.x - hx * roll.z) + look.z * (hx * roll.y);
+			newRoll = (float) Math.atan2(sin, cos) * RAD_DEG;
+			if (newRoll < 0F) newRoll += 360F;
 		} else {
 			newYaw = newPitch > 0? normal.getYaw() : (normal.getYaw() + 180F) % 360F;
 			newRoll = 0F;
@@ -77,10 +112,13 @@ public class VectorBase {
 		
 		if (Float.isNaN(newYaw) || Float.isNaN(newPitch) || Float.isNaN(newRoll)) {
 			LOGGER.error("Error translating spherical coordinates");
-			return new float[]{0F, 0F, 0F};
+			newYaw = newPitch = newRoll = 0F;
 		}
 		
-		return new float[]{newYaw, newPitch, newRoll};
+		out[0] = newYaw;
+		out[1] = newPitch;
+		out[2] = newRoll;
+		return out;
 	}
 	
 	/**
@@ -89,7 +127,8 @@ public class VectorBase {
 	 * <p>
 	 * The {@code pos} parameter can't be removed, applying the same rotations applied to
 	 * {@code target} also to {@code pre}, because 3D rotations are not commutative.
-	 * All 3 bases are needed for the interpolation.
+	 * All 3 bases are needed for the interpolation.<br>
+	 * That is, {@code slerp(pre, pos, t) * (pos⁻¹ * target)}.
 	 *
 	 * @param t Interpolation progress ∈ [0, 1]
 	 * @param pre Start base
@@ -99,31 +138,53 @@ public class VectorBase {
 	public void interpolate(
 	  float t, VectorBase pre, VectorBase pos, VectorBase target
 	) {
-		set(pre);
-		// Lerp rotation
-		Vec3f axis = look.copy();
-		axis.cross(pos.look);
-		if (axis.isZero()) {
-			axis.set(normal);
-		} else axis.unitary();
-		float lookAngle = look.angleUnitary(pos.look, axis);
-		tempVec.set(roll);
-		tempVec.rotateAlongVec(axis, lookAngle);
-		tempVec.unitary();
-		float rollAngle = tempVec.angleUnitary(pos.roll, pos.look);
-		if (rollAngle > PI)
-			rollAngle = rollAngle - 2 * PI;
-		look.rotateAlongOrtVec(axis, lookAngle * t);
-		normal.rotateAlongVec(axis, lookAngle * t);
-		roll.rotateAlongVec(axis, lookAngle * t);
-		roll.rotateAlongOrtVec(look, rollAngle * t);
-		normal.rotateAlongOrtVec(look, rollAngle * t);
-		
-		rotate(pos.angles(target));
-		
-		look.unitary();
-		roll.unitary();
-		normal.unitary();
+		// Local rotation carrying pos to target (pos⁻¹ * target)
+		final float dw = pos.qw * target.qw + pos.qx * target.qx + pos.qy * target.qy + pos.qz * target.qz;
+		final float dx = pos.qw * target.qx - pos.qx * target.qw - pos.qy * target.qz + pos.qz * target.qy;
+		final float dy = pos.qw * target.qy + pos.qx * target.qz - pos.qy * target.qw - pos.qz * target.qx;
+		final float dz = pos.qw * target.qz - pos.qx * target.qy + pos.qy * target.qx - pos.qz * target.qw;
+		slerp(pre, pos, t, false);
+		multiply(dw, dx, dy, dz);
+		normalize();
+		updateAxes();
+	}
+	
+	/**
+	 * Set to the spherical interpolation between two bases
+	 *
+	 * @param from Start base
+	 * @param to End base
+	 * @param t Interpolation progress ∈ [0, 1]
+	 */
+	public void lerp(VectorBase from, VectorBase to, float t) {
+		slerp(from, to, t, true);
+	}
+	
+	private void slerp(VectorBase from, VectorBase to, float t, boolean update) {
+		float bw = to.qw, bx = to.qx, by = to.qy, bz = to.qz;
+		float cos = from.qw * bw + from.qx * bx + from.qy * by + from.qz * bz;
+		if (cos < 0F) {
+			// Take the shortest path
+			cos = -cos;
+			bw = -bw; bx = -bx; by = -by; bz = -bz;
+		}
+		float a, b;
+		if (cos > 0.9995F) {
+			// Close enough for a normalized linear interpolation
+			a = 1F - t;
+			b = t;
+		} else {
+			final float angle = (float) Math.acos(cos);
+			final float sin = (float) Math.sin(angle);
+			a = (float) Math.sin((1F - t) * angle) / sin;
+			b = (float) Math.sin(t * angle) / sin;
+		}
+		qw = a * from.qw + b * bw;
+		qx = a * from.qx + b * bx;
+		qy = a * from.qy + b * by;
+		qz = a * from.qz + b * bz;
+		normalize();
+		if (update) updateAxes();
 	}
 	
 	/**
@@ -134,15 +195,36 @@ public class VectorBase {
 	 * @return [pitch, yaw, roll];
 	 */
 	public float[] angles(VectorBase other) {
-		temp.set(this);
-		final float pitch = temp.look.angleProjectedDegrees(other.look, temp.roll);
-		temp.look.rotateAlongOrtVecDegrees(temp.roll, pitch);
-		temp.normal.rotateAlongOrtVecDegrees(temp.roll, pitch);
-		final float yaw = temp.look.angleProjectedDegrees(other.look, temp.normal);
-		temp.look.rotateAlongOrtVecDegrees(temp.normal, yaw);
-		temp.roll.rotateAlongOrtVecDegrees(temp.normal, yaw);
-		final float roll = temp.roll.angleProjectedDegrees(other.roll, temp.look);
-		return new float[]{pitch, yaw, roll};
+		return angles(other, new float[3]);
+	}
+	
+	/**
+	 * Determine the rotation angles necessary to carry {@code this}
+	 * to {@code other} in pitch, yaw, roll order.
+	 *
+	 * @param other Target base
+	 * @param out Destination array
+	 * @return {@code out}, filled with [pitch, yaw, roll]
+	 */
+	public float[] angles(VectorBase other, float[] out) {
+		// Local rotation carrying this to other (this⁻¹ * other)
+		final float w = qw * other.qw + qx * other.qx + qy * other.qy + qz * other.qz;
+		final float x = qw * other.qx - qx * other.qw - qy * other.qz + qz * other.qy;
+		final float y = qw * other.qy + qx * other.qz - qy * other.qw - qz * other.qx;
+		final float z = qw * other.qz - qx * other.qy + qy * other.qx - qz * other.qw;
+		// Decompose as pitch (X) * yaw (Z) * roll (Y)
+		final float m00 = 1F - 2F * (y * y + z * z);
+		final float m01 = 2F * (x * y - w * z);
+		final float m02 = 2F * (x * z + w * y);
+		final float m11 = 1F - 2F * (x * x + z * z);
+		final float m21 = 2F * (y * z + w * x);
+		final float pitch = (float) Math.atan2(m21, m11) * RAD_DEG;
+		final float yaw = (float) Math.asin(Mth.clamp(-m01, -1F, 1F)) * RAD_DEG;
+		final float roll = (float) Math.atan2(m02, m00) * RAD_DEG;
+		out[0] = pitch;
+		out[1] = yaw;
+		out[2] = roll;
+		return out;
 	}
 	
 	/**
@@ -158,15 +240,11 @@ public class VectorBase {
 	 * Rotate in degrees in pitch, yaw, roll order and normalize.
 	 */
 	public void rotate(float pitch, float yaw, float roll) {
-		look.rotateAlongOrtVecDegrees(this.roll, pitch);
-		normal.rotateAlongOrtVecDegrees(this.roll, pitch);
-		look.rotateAlongOrtVecDegrees(normal, yaw);
-		this.roll.rotateAlongOrtVecDegrees(normal, yaw);
-		this.roll.rotateAlongOrtVecDegrees(look, roll);
-		normal.rotateAlongOrtVecDegrees(look, roll);
-		look.unitary();
-		normal.unitary();
-		this.roll.unitary();
+		rotateX(pitch);
+		rotateZ(yaw);
+		rotateY(roll);
+		normalize();
+		updateAxes();
 	}
 	
 	/**
@@ -175,38 +253,55 @@ public class VectorBase {
 	 * @param axis Normal vector to the plane of reflection
 	 */
 	public void mirror(Vec3f axis) {
-		Vec3f ax = axis.copy();
-		float angle = ax.angleUnitary(look);
+		float cos = Mth.clamp(axis.x * look.x + axis.y * look.y + axis.z * look.z, -1F, 1F);
+		float angle = (float) Math.acos(cos);
 		float mul = -2F;
 		if (angle > PI_HALF) {
 			angle = PI - angle;
 			mul = 2F;
 		}
+		float ax, ay, az;
 		if (angle < 0.001F) {
-			ax = normal;
+			ax = normal.x;
+			ay = normal.y;
+			az = normal.z;
 		} else {
-			ax.cross(look);
-			ax.unitary();
+			ax = axis.y * look.z - axis.z * look.y;
+			ay = axis.z * look.x - axis.x * look.z;
+			az = axis.x * look.y - axis.y * look.x;
+			final float norm = (float) Math.sqrt(ax * ax + ay * ay + az * az);
+			ax /= norm;
+			ay /= norm;
+			az /= norm;
 		}
 		angle = PI + mul * angle;
-		look.rotateAlongVec(ax, angle);
-		roll.rotateAlongVec(ax, angle);
-		normal.rotateAlongVec(ax, angle);
+		// World space rotation, applied on the left
+		final float s = (float) Math.sin(angle * 0.5F);
+		final float rw = (float) Math.cos(angle * 0.5F);
+		final float rx = ax * s, ry = ay * s, rz = az * s;
+		final float w = rw * qw - rx * qx - ry * qy - rz * qz;
+		final float x = rw * qx + rx * qw + ry * qz - rz * qy;
+		final float y = rw * qy - rx * qz + ry * qw + rz * qx;
+		final float z = rw * qz + rx * qy - ry * qx + rz * qw;
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+		normalize();
+		updateAxes();
 	}
 	
 	/**
 	 * Tilt a base in the same way as the player model is
 	 * tilted before rendering.<br>
-	 * That is, in degrees in yaw, -pitch, roll order<br>
-	 * No normalization is applied
+	 * That is, in degrees in yaw, -pitch, roll order
 	 */
 	public void tilt(float yaw, float pitch, float rollDeg) {
-		look.rotateAlongOrtVecDegrees(normal, yaw);
-		roll.rotateAlongOrtVecDegrees(normal, yaw);
-		look.rotateAlongOrtVecDegrees(roll, -pitch);
-		normal.rotateAlongOrtVecDegrees(roll, -pitch);
-		roll.rotateAlongOrtVecDegrees(look, rollDeg);
-		normal.rotateAlongOrtVecDegrees(look, rollDeg);
+		rotateZ(yaw);
+		rotateX(-pitch);
+		rotateY(rollDeg);
+		normalize();
+		updateAxes();
 	}
 	
 	/**
@@ -232,19 +327,15 @@ public class VectorBase {
 		leftCenterRocket.sub(roll);
 		rightCenterRocket.add(roll);
 		
-		look.unitary();
-		normal.unitary();
-		roll.unitary();
+		// Restore the scaled views
+		updateAxes();
 	}
 	
 	public void applyLookAround(float lookYaw, float lookPitch) {
-		look.rotateAlongOrtVecDegrees(normal, lookYaw);
-		roll.rotateAlongOrtVecDegrees(normal, lookYaw);
-		look.rotateAlongOrtVecDegrees(roll, -lookPitch);
-		normal.rotateAlongOrtVecDegrees(roll, -lookPitch);
-		look.unitary();
-		normal.unitary();
-		roll.unitary();
+		rotateZ(lookYaw);
+		rotateX(-lookPitch);
+		normalize();
+		updateAxes();
 	}
 	
 	/**
@@ -255,48 +346,272 @@ public class VectorBase {
 	 * @return [yaw, pitch, roll] in degrees
 	 */
 	public float[] distance(VectorBase base) {
-		Vec3f compare = base.look.copy();
-		Vec3f axis = roll.copy();
-		axis.mul(axis.dot(compare));
-		compare.sub(axis);
-		float pitch;
-		if (compare.isZero()) {
-			pitch = 0F;
-		} else {
-			compare.unitary();
-			pitch = look.angleUnitaryDegrees(compare);
-		}
-		compare.set(base.look);
-		axis.set(normal);
-		axis.mul(axis.dot(compare));
-		compare.sub(axis);
-		float yaw;
-		if (compare.isZero()) {
-			yaw = 0F;
-		} else {
-			compare.unitary();
-			yaw = look.angleUnitaryDegrees(compare);
-		}
-		compare.set(base.roll);
-		axis.set(look);
-		axis.mul(axis.dot(compare));
-		compare.sub(axis);
-		float roll;
-		if (compare.isZero()) {
-			roll = 0F;
-		} else {
-			compare.unitary();
-			roll = this.roll.angleUnitaryDegrees(compare);
-		}
-		return new float[]{yaw, pitch, roll};
+		return distance(base, new float[3]);
+	}
+	
+	/**
+	 * Measure approximate distances to another base in each
+	 * axis of rotation
+	 *
+	 * @param base Target base
+	 * @param out Destination array
+	 * @return {@code out}, filled with [yaw, pitch, roll] in degrees
+	 */
+	public float[] distance(VectorBase base, float[] out) {
+		final Vec3f l = base.look;
+		final Vec3f r = base.roll;
+		final float lookLook = look.x * l.x + look.y * l.y + look.z * l.z;
+		// Angle between look and the projection of the other look on each plane
+		out[0] = angle(roll.x * l.x + roll.y * l.y + roll.z * l.z, lookLook);
+		out[1] = angle(normal.x * l.x + normal.y * l.y + normal.z * l.z, lookLook);
+		// Angle between roll and the projection of the other roll on the roll plane
+		out[2] = angle(
+		  normal.x * r.x + normal.y * r.y + normal.z * r.z,
+		  roll.x * r.x + roll.y * r.y + roll.z * r.z);
+		return out;
+	}
+	
+	private static float angle(float perpendicular, float parallel) {
+		return (float) Math.atan2(abs(perpendicular), parallel) * RAD_DEG;
 	}
 	
 	public void set(VectorBase base) {
+		qw = base.qw;
+		qx = base.qx;
+		qy = base.qy;
+		qz = base.qz;
 		look.set(base.look);
 		roll.set(base.roll);
 		normal.set(base.normal);
 	}
 	
+	/**
+	 * Set the backing quaternion, which will be normalized
+	 */
+	public void setQuaternion(float w, float x, float y, float z) {
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+		normalize();
+		updateAxes();
+	}
+	
+	public float getQuaternionW() {
+		return qw;
+	}
+	
+	public float getQuaternionX() {
+		return qx;
+	}
+	
+	public float getQuaternionY() {
+		return qy;
+	}
+	
+	public float getQuaternionZ() {
+		return qz;
+	}
+	
+	/**
+	 * @return A copy of the look vector
+	 */
+	public Vec3f getLook() {
+		return look.copy();
+	}
+	
+	/**
+	 * Copy the look vector into {@code out}
+	 * @return {@code out}
+	 */
+	public Vec3f getLook(Vec3f out) {
+		out.set(look);
+		return out;
+	}
+	
+	public float getLookX() {
+		return look.x;
+	}
+	
+	public float getLookY() {
+		return look.y;
+	}
+	
+	public float getLookZ() {
+		return look.z;
+	}
+	
+	/**
+	 * @return A copy of the roll vector
+	 */
+	public Vec3f getRoll() {
+		return roll.copy();
+	}
+	
+	/**
+	 * Copy the roll vector into {@code out}
+	 * @return {@code out}
+	 */
+	public Vec3f getRoll(Vec3f out) {
+		out.set(roll);
+		return out;
+	}
+	
+	public float getRollX() {
+		return roll.x;
+	}
+	
+	public float getRollY() {
+		return roll.y;
+	}
+	
+	public float getRollZ() {
+		return roll.z;
+	}
+	
+	/**
+	 * @return A copy of the normal vector
+	 */
+	public Vec3f getNormal() {
+		return normal.copy();
+	}
+	
+	/**
+	 * Copy the normal vector into {@code out}
+	 * @return {@code out}
+	 */
+	public Vec3f getNormal(Vec3f out) {
+		out.set(normal);
+		return out;
+	}
+	
+	public float getNormalX() {
+		return normal.x;
+	}
+	
+	public float getNormalY() {
+		return normal.y;
+	}
+	
+	public float getNormalZ() {
+		return normal.z;
+	}
+	
+	// Right multiplications by rotations along local axes
+	
+	private void rotateX(float deg) {
+		final float s = (float) Math.sin(deg * DEG_HALF);
+		final float c = (float) Math.cos(deg * DEG_HALF);
+		final float w = qw * c - qx * s;
+		final float x = qw * s + qx * c;
+		final float y = qy * c + qz * s;
+		final float z = qz * c - qy * s;
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+	}
+	
+	private void rotateY(float deg) {
+		final float s = (float) Math.sin(deg * DEG_HALF);
+		final float c = (float) Math.cos(deg * DEG_HALF);
+		final float w = qw * c - qy * s;
+		final float x = qx * c - qz * s;
+		final float y = qw * s + qy * c;
+		final float z = qx * s + qz * c;
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+	}
+	
+	private void rotateZ(float deg) {
+		final float s = (float) Math.sin(deg * DEG_HALF);
+		final float c = (float) Math.cos(deg * DEG_HALF);
+		final float w = qw * c - qz * s;
+		final float x = qx * c + qy * s;
+		final float y = qy * c - qx * s;
+		final float z = qw * s + qz * c;
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+	}
+	
+	private void multiply(float bw, float bx, float by, float bz) {
+		final float w = qw * bw - qx * bx - qy * by - qz * bz;
+		final float x = qw * bx + qx * bw + qy * bz - qz * by;
+		final float y = qw * by - qx * bz + qy * bw + qz * bx;
+		final float z = qw * bz + qx * by - qy * bx + qz * bw;
+		qw = w;
+		qx = x;
+		qy = y;
+		qz = z;
+	}
+	
+	private void normalize() {
+		final float norm = (float) Math.sqrt(qw * qw + qx * qx + qy * qy + qz * qz);
+		if (norm == 0F || Float.isNaN(norm)) {
+			qw = 1F;
+			qx = qy = qz = 0F;
+			return;
+		}
+		qw /= norm;
+		qx /= norm;
+		qy /= norm;
+		qz /= norm;
+	}
+	
+	/**
+	 * Update the derived vectors from the quaternion
+	 */
+	private void updateAxes() {
+		final float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+		final float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+		final float wx = qw * qx, wy = qw * qy, wz = qw * qz;
+		roll.set(1F - 2F * (yy + zz), 2F * (xy + wz), 2F * (xz - wy));
+		look.set(2F * (xy - wz), 1F - 2F * (xx + zz), 2F * (yz + wx));
+		normal.set(2F * (xz + wy), 2F * (yz - wx), 1F - 2F * (xx + yy));
+	}
+	
+	/**
+	 * Update the quaternion from the vectors, which are assumed
+	 * to form an approximately orthonormal right-handed base
+	 */
+	private void updateQuaternion() {
+		final float m00 = roll.x, m10 = roll.y, m20 = roll.z;
+		final float m01 = look.x, m11 = look.y, m21 = look.z;
+		final float m02 = normal.x, m12 = normal.y, m22 = normal.z;
+		final float trace = m00 + m11 + m22;
+		if (trace > 0F) {
+			final float s = (float) Math.sqrt(trace + 1F) * 2F;
+			qw = 0.25F * s;
+			qx = (m21 - m12) / s;
+			qy = (m02 - m20) / s;
+			qz = (m10 - m01) / s;
+		} else if (m00 > m11 && m00 > m22) {
+			final float s = (float) Math.sqrt(1F + m00 - m11 - m22) * 2F;
+			qw = (m21 - m12) / s;
+			qx = 0.25F * s;
+			qy = (m01 + m10) / s;
+			qz = (m02 + m20) / s;
+		} else if (m11 > m22) {
+			final float s = (float) Math.sqrt(1F + m11 - m00 - m22) * 2F;
+			qw = (m02 - m20) / s;
+			qx = (m01 + m10) / s;
+			qy = 0.25F * s;
+			qz = (m12 + m21) / s;
+		} else {
+			final float s = (float) Math.sqrt(1F + m22 - m00 - m11) * 2F;
+			qw = (m10 - m01) / s;
+			qx = (m02 + m20) / s;
+			qy = (m12 + m21) / s;
+			qz = 0.25F * s;
+		}
+		normalize();
+		updateAxes();
+	}
+	
 	public void write(FriendlyByteBuf buf) {
 		look.write(buf);
 		roll.write(buf);
@@ -308,6 +623,7 @@ public class VectorBase {
 		base.look.set(Vec3f.read(buf));
 		base.roll.set(Vec3f.read(buf));
 		base.normal.set(Vec3f.read(buf));
+		base.updateQuaternion();
 		return base;
 	}
 	
@@ -330,6 +646,7 @@ public class VectorBase {
 		look.readNBT(nbt.getCompound("Look"));
 		roll.readNBT(nbt.getCompound("Roll"));
 		normal.readNBT(nbt.getCompound("Normal"));
+		updateQuaternion();
 	}
 	
 	@Override public String toString() {
@@ -2,35 +2,49 @@ package endorh.aerobaticelytra.common.flight;
 
 import endorh.aerobaticelytra.AerobaticElytra;
 import endorh.aerobaticelytra.common.config.Config.weather;
-import endorh.aerobaticelytra.network.WeatherPackets.SWindNodePacket;
+import endorh.aerobaticelytra.network.WeatherPackets.SWindFieldPacket;
+import endorh.aerobaticelytra.network.WeatherPackets.SWindUpdatePacket;
 import endorh.lazulib.math.Vec3f;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EntitySelector;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
 import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
-import net.minecraftforge.network.NetworkDirection;
-import net.minecraftforge.network.PacketDistributor;
-import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import static java.lang.Math.abs;
 import static java.lang.String.format;
-import static java.util.Collections.synchronizedMap;
 
+/**
+ * Weather state of each level<br>
+ * The state of a level is confined to the thread of the level, the server
+ * thread for server levels and the client thread for the client level.
+ * Only that thread may access its {@link WeatherRegion}s and
+ * {@link WindRegion}s. Other threads must {@link LevelWeather#submit}
+ * their changes, which are applied at the start of the next tick of the
+ * level, and read the {@link LevelWeather#getSnapshot() snapshots} it
+ * publishes.
+ */
 @EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
 public class WeatherData {
-	protected static final Queue<ChunkUpdateTask> CHUNK_UPDATE_TASKS = new ConcurrentLinkedQueue<>();
-	
-	// Because synchronizedMap keeps crashing without reason or locks the world
 	protected static class ChunkUpdateTask {
 		protected final Level world;
 		protected final int x;
@@ -52,28 +66,294 @@ public class WeatherData {
 		}
 	}
 	
-	public final static Map<Level, Map<Pair<Long, Long>, WeatherRegion>> weatherRegions = synchronizedMap(new HashMap<>());
-	public final static Map<WeatherRegion, WindRegion> windRegions = synchronizedMap(new HashMap<>());
+	/**
+	 * Weather state of each level
+	 */
+	public final static Map<Level, LevelWeather> levelWeather = new ConcurrentHashMap<>();
+	
+	/**
+	 * Weather state of a level, owned by the thread of the level
+	 */
+	public static class LevelWeather {
+		public final Level world;
+		/**
+		 * Regions by their {@link WeatherRegion#key}, only accessed by the owner
+		 */
+		private final Long2ObjectOpenHashMap<WeatherRegion> regions = new Long2ObjectOpenHashMap<>();
+		/**
+		 * Players by the {@link WeatherRegion#key} of the regions affecting them,
+		 * only accessed by the owner
+		 */
+		private final Long2ObjectOpenHashMap<List<Player>> playersByRegion = new Long2ObjectOpenHashMap<>();
+		private final Reference2ObjectOpenHashMap<Player, PlayerCell> indexedPlayers = new Reference2ObjectOpenHashMap<>();
+		private long indexTick = 0L;
+		private volatile int activeRegions = 0;
+		private volatile int sleepingRegions = 0;
+		private final Queue<Consumer<LevelWeather>> tasks = new ConcurrentLinkedQueue<>();
+		private volatile Snapshot snapshot = Snapshot.EMPTY;
+		private volatile boolean snapshotRequested = false;
+		private @Nullable WindField windField = null;
+		
+		/**
+		 * Create the weather state of a level, without registering it<br>
+		 * Use {@link #of(Level)} instead, outside of benchmarks.
+		 */
+		LevelWeather(Level world) {
+			this.world = world;
+		}
+		
+		public static LevelWeather of(Level world) {
+			return levelWeather.computeIfAbsent(world, LevelWeather::new);
+		}
+		
+		/**
+		 * Get or load a region<br>
+		 * Only from the owner thread.
+		 */
+		public WeatherRegion region(long x, long z) {
+			final long key = WeatherRegion.key(x, z);
+			WeatherRegion reg = regions.get(key);
+			if (reg == null) {
+				reg = new WeatherRegion(world, x, z);
+				reg.tempTicket = WeatherRegion.TEMP_TICKET_TICKS;
+				regions.put(key, reg);
+			}
+			return reg;
+		}
+		
+		/**
+		 * Blend bilinearly the wind of the four regions whose centers are
+		 * closest to a position<br>
+		 * Only from the owner thread. Doesn't allocate, besides loading
+		 * missing regions.
+		 * @param wind Set to the blended wind, if not null
+		 * @param angularWind Set to the blended angular wind, if not null
+		 * @see WeatherData#sampleWind
+		 */
+		public void blendWind(double x, double z, @Nullable Vec3f wind, @Nullable Vec3f angularWind) {
+			final double fx = (x - WeatherRegion.RADIUS) / WeatherRegion.DIAMETER;
+			final double fz = (z - WeatherRegion.RADIUS) / WeatherRegion.DIAMETER;
+			final long rx = (long) Math.floor(fx), rz = (long) Math.floor(fz);
+			final float tx = (float) (fx - rx), tz = (float) (fz - rz);
+			final WindRegion r00 = region(rx, rz).wind;
+			final WindRegion r10 = region(rx + 1, rz).wind;
+			final WindRegion r01 = region(rx, rz + 1).wind;
+			final WindRegion r11 = region(rx + 1, rz + 1).wind;
+			if (wind != null) wind.set(
+			  bilerp(r00.wind.x, r10.wind.x, r01.wind.x, r11.wind.x, tx, tz),
+			  bilerp(r00.wind.y, r10.wind.y, r01.wind.y, r11.wind.y, tx, tz),
+			  bilerp(r00.wind.z, r10.wind.z, r01.wind.z, r11.wind.z, tx, tz));
+			if (angularWind != null) angularWind.set(
+			  bilerp(r00.angularWind.x, r10.angularWind.x, r01.angularWind.x, r11.angularWind.x, tx, tz),
+			  bilerp(r00.angularWind.y, r10.angularWind.y, r01.angularWind.y, r11.angularWind.y, tx, tz),
+			  bilerp(r00.angularWind.z, r10.angularWind.z, r01.angularWind.z, r11.angularWind.z, tx, tz));
+		}
+		
+		/**
+		 * Queue a change to be applied by the owner thread, at the start
+		 * of the next tick of the level<br>
+		 * May be called from any thread.
+		 */
+		public void submit(Consumer<LevelWeather> task) {
+			tasks.add(task);
+		}
+		
+		/**
+		 * Wind field of the coherent wind model<br>
+		 * In the server, it's seeded from the level seed. In clients,
+		 * it's null until its seed is received.
+		 */
+		public @Nullable WindField getWindField() {
+			if (windField == null && world instanceof ServerLevel level)
+				windField = new WindField(WindField.seedFor(level));
+			return windField;
+		}
+		
+		public void setWindField(@Nullable WindField windField) {
+			this.windField = windField;
+		}
+		
+		/**
+		 * Last published snapshot<br>
+		 * May be called from any thread. Snapshots are only published
+		 * while they're being requested, so the first call may return
+		 * an outdated or empty one.
+		 */
+		public Snapshot getSnapshot() {
+			snapshotRequested = true;
+			return snapshot;
+		}
+		
+		private void runTasks() {
+			Consumer<LevelWeather> task = tasks.poll();
+			while (task != null) {
+				task.accept(this);
+				task = tasks.poll();
+			}
+		}
+		
+		/**
+		 * Number of active regions, as of the last region tick<br>
+		 * May be called from any thread.
+		 */
+		public int getActiveRegionCount() {
+			return activeRegions;
+		}
+		
+		/**
+		 * Number of sleeping regions, as of the last region tick<br>
+		 * May be called from any thread.
+		 */
+		public int getSleepingRegionCount() {
+			return sleepingRegions;
+		}
+		
+		private void tickRegions() {
+			int active = 0, sleeping = 0;
+			for (Iterator<WeatherRegion> it = regions.values().iterator(); it.hasNext();) {
+				final WeatherRegion region = it.next();
+				if (region.tick()) {
+					it.remove();
+				} else if (region.isSleeping()) {
+					sleeping++;
+				} else active++;
+			}
+			activeRegions = active;
+			sleepingRegions = sleeping;
+		}
+		
+		/**
+		 * Players affected by a region, as of the last index update<br>
+		 * Only from the owner thread. The returned list must not be
+		 * modified. Doesn't allocate.
+		 */
+		public List<Player> playersAffectedBy(long x, long z) {
+			final List<Player> players = playersByRegion.get(WeatherRegion.key(x, z));
+			return players != null? players : Collections.emptyList();
+		}
+		
+		/**
+		 * Update the index of players by region<br>
+		 * Each player is indexed in the four regions it samples its wind
+		 * from, and only moved when it crosses the border between them.
+		 * Players which left the level are dropped.
+		 * @see WeatherData#sampleWind
+		 */
+		private void indexPlayers() {
+			final long tick = ++indexTick;
+			int count = 0;
+			for (Player player: world.players()) {
+				if (player.isSpectator()) continue;
+				final long x = WeatherRegion.blendOrigin(player.getX());
+				final long z = WeatherRegion.blendOrigin(player.getZ());
+				PlayerCell cell = indexedPlayers.get(player);
+				if (cell == null) {
+					indexedPlayers.put(player, cell = new PlayerCell(x, z));
+					addToIndex(player, x, z);
+				} else if (cell.x != x || cell.z != z) {
+					removeFromIndex(player, cell.x, cell.z);
+					addToIndex(player, x, z);
+					cell.x = x;
+					cell.z = z;
+				}
+				cell.seen = tick;
+				count++;
+			}
+			if (indexedPlayers.size() == count) return;
+			for (ObjectIterator<Reference2ObjectMap.Entry<Player, PlayerCell>> it =
+			  indexedPlayers.reference2ObjectEntrySet().fastIterator(); it.hasNext();) {
+				final Reference2ObjectMap.Entry<Player, PlayerCell> entry = it.next();
+				final PlayerCell cell = entry.getValue();
+				if (cell.seen != tick) {
+					removeFromIndex(entry.getKey(), cell.x, cell.z);
+					it.remove();
+				}
+			}
+		}
+		
+		private void addToIndex(Player player, long x, long z) {
+			for (int i = 0; i < 4; i++) playersByRegion.computeIfAbsent(
+			  WeatherRegion.key(x + (i & 1), z + (i >> 1)), k -> new ArrayList<>(2)
+			).add(player);
+		}
+		
+		private void removeFromIndex(Player player, long x, long z) {
+			for (int i = 0; i < 4; i++) {
+				final long key = WeatherRegion.key(x + (i & 1), z + (i >> 1));
+				final List<Player> players = playersByRegion.get(key);
+				if (players != null && players.remove(player) && players.isEmpty())
+					playersByRegion.remove(key);
+			}
+		}
+		
+		/**
+		 * Regions in which an indexed player is
+		 */
+		private static final class PlayerCell {
+			private long x;
+			private long z;
+			private long seen;
+			
+			private PlayerCell(long x, long z) {
+				this.x = x;
+				this.z = z;
+			}
+		}
+		
+		/**
+		 * Extrapolate the wind of the regions between wind updates, in clients
+		 */
+		private void extrapolateRegions() {
+			for (WeatherRegion region: regions.values())
+				region.wind.extrapolate();
+		}
+		
+		private void publish() {
+			if (!snapshotRequested) return;
+			snapshotRequested = false;
+			final Long2ObjectOpenHashMap<RegionSnapshot> map = new Long2ObjectOpenHashMap<>(regions.size());
+			for (WeatherRegion region: regions.values())
+				map.put(WeatherRegion.key(region.x, region.z), new RegionSnapshot(region));
+			snapshot = new Snapshot(world.getGameTime(), Long2ObjectMaps.unmodifiable(map));
+		}
+	}
+	
+	/**
+	 * Immutable copy of the weather state of a level
+	 * @param tick Game time at which it was published
+	 * @param regions Regions by their {@link WeatherRegion#key}
+	 */
+	public record Snapshot(long tick, Long2ObjectMap<RegionSnapshot> regions) {
+		public static final Snapshot EMPTY = new Snapshot(0L, Long2ObjectMaps.emptyMap());
+		
+		public @Nullable RegionSnapshot regionAt(double x, double z) {
+			return regions.get(WeatherRegion.key(WeatherRegion.scale(x), WeatherRegion.scale(z)));
+		}
+	}
 	
 	/**
-	 * {@link PacketDistributor} targeting all players which are tracking
-	 * the argument weather region.
+	 * Immutable copy of a weather region<br>
+	 * Its vectors are copies, which must not be modified.
 	 */
-	@SuppressWarnings({"RedundantCast", "unchecked"})
-	public static final PacketDistributor<WeatherRegion> TRACKING_WEATHER_REGION = new PacketDistributor<>(
-	  (dist, regionSupplier) -> p ->
-		  ((Set<? extends ServerPlayer>)regionSupplier.get().affectedPlayers()).forEach(
-		    pl -> pl.connection.connection.send(p)),
-	  NetworkDirection.PLAY_TO_CLIENT
-	);
+	public record RegionSnapshot(
+	  long x, long z, int chunkCount, int tempTicket, Vec3f wind, Vec3f angularWind
+	) {
+		private RegionSnapshot(WeatherRegion region) {
+			this(region.x, region.z, region.chunkCount(), region.tempTicket,
+			     region.wind.wind.copy(), region.wind.angularWind.copy());
+		}
+	}
 	
 	/**
 	 * Describes a weather region, consisting of a square with
 	 * side of 16 chunks, or 256 blocks.<br>
-	 * Players within 2 chunks of the border are considered as affected
-	 * as well, to smooth transition between regions.<br>
+	 * Wind is blended bilinearly between the centers of the closest
+	 * regions, so players closer than a region diameter to its center,
+	 * in both axes, are considered as affected.<br>
 	 * A region is kept in memory as long as it contains loaded chunks,
-	 * or has been loaded by a client in the last 80 ticks.
+	 * or has been loaded by a client in the last 80 ticks.<br>
+	 * In the server, regions not affecting any player sleep, skipping
+	 * the simulation of their wind until a player approaches them.
 	 * @see WindRegion
 	 */
 	@EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
@@ -81,13 +361,18 @@ public class WeatherData {
 		public static final int DIAMETER_SHIFT = 8;
 		public static final long RADIUS = 1 << (DIAMETER_SHIFT - 1);
 		public static final long DIAMETER = 1 << DIAMETER_SHIFT;
-		public static final long BORDER = 16 * 2;
 		public static final int TEMP_TICKET_TICKS = 80;
+		private static final long AWAKE = Long.MIN_VALUE;
 		public final long x, z;
 		public final double centerX, centerZ;
 		public final Level world;
+		public final WindRegion wind;
 		
 		private int tempTicket = 0;
+		/**
+		 * Game time at which the region fell asleep, or {@link #AWAKE}
+		 */
+		private long sleepingSince = AWAKE;
 		private final long[] chunks = {0L, 0L, 0L, 0L};
 		
 		private WeatherRegion(Level world, long x, long z) {
@@ -96,97 +381,51 @@ public class WeatherData {
 			this.z = z;
 			centerX = (x << DIAMETER_SHIFT) + RADIUS;
 			centerZ = (z << DIAMETER_SHIFT) + RADIUS;
+			wind = new WindRegion(this);
 		}
 		
-		public static long scale(double c) {
-			return (long) c >> DIAMETER_SHIFT;
+		/**
+		 * Pack region coordinates into a map key
+		 */
+		public static long key(long x, long z) {
+			return x & 0xFFFFFFFFL | z << 32;
 		}
 		
-		public static int mod(long c) {
-			return (int) (c - (scale(c) << DIAMETER_SHIFT));
+		
+		public static long scale(double c) {
+			return (long) c >> DIAMETER_SHIFT;
 		}
 		
-		public static Set<WeatherRegion> of(Player player) {
-			return of(player.level(), player.getX(), player.getZ());
+		/**
+		 * Coordinate of the first of the two regions whose centers
+		 * surround a block coordinate, along one axis
+		 */
+		public static long blendOrigin(double c) {
+			return (long) Math.floor((c - RADIUS) / DIAMETER);
 		}
 		
-		public static Set<WeatherRegion> of(Level world, double x, double z) {
-			long dX = scale(x), dZ = scale(z);
-			double rX = x - (dX << DIAMETER_SHIFT), rZ = z - (dZ << DIAMETER_SHIFT);
-			Set<WeatherRegion> adj = new HashSet<>();
-			adj.add(WeatherRegion.of(world, dX, dZ));
-			if (rX < BORDER) {
-				adj.add(WeatherRegion.of(world, dX - 1, dZ));
-				if (rZ < BORDER) {
-					adj.add(WeatherRegion.of(world, dX, dZ - 1));
-					adj.add(WeatherRegion.of(world, dX - 1, dZ - 1));
-				} else if (DIAMETER - rZ < BORDER) {
-					adj.add(WeatherRegion.of(world, dX, dZ + 1));
-					adj.add(WeatherRegion.of(world, dX - 1, dZ + 1));
-				}
-			} else if (DIAMETER - rX < BORDER) {
-				adj.add(WeatherRegion.of(world, dX + 1, dZ));
-				if (rZ < BORDER) {
-					adj.add(WeatherRegion.of(world, dX, dZ - 1));
-					adj.add(WeatherRegion.of(world, dX + 1, dZ - 1));
-				} else if (DIAMETER - rZ < BORDER) {
-					adj.add(WeatherRegion.of(world, dX, dZ + 1));
-					adj.add(WeatherRegion.of(world, dX + 1, dZ + 1));
-				}
-			} else if (rZ < BORDER) {
-				adj.add(WeatherRegion.of(world, dX, dZ - 1));
-			} else if (DIAMETER - rZ < BORDER) {
-				adj.add(WeatherRegion.of(world, dX, dZ + 1));
-			}
-			return adj;
+		public static int mod(long c) {
+			return (int) (c - (scale(c) << DIAMETER_SHIFT));
 		}
 		
+		/**
+		 * Get or load a region<br>
+		 * Only from the thread of the level.
+		 */
 		public static WeatherRegion of(Level world, long x, long z) {
-			Pair<Long, Long> xz = Pair.of(x, z);
-			if (weatherRegions.containsKey(world)) {
-				if (weatherRegions.get(world).containsKey(xz))
-					return weatherRegions.get(world).get(xz);
-				else {
-					WeatherRegion reg = new WeatherRegion(world, x, z);
-					reg.tempTicket = TEMP_TICKET_TICKS;
-					weatherRegions.get(world).put(xz, reg);
-					return reg;
-				}
-			} else {
-				weatherRegions.put(world, synchronizedMap(new HashMap<>()));
-				WeatherRegion reg = new WeatherRegion(world, x, z);
-				reg.tempTicket = TEMP_TICKET_TICKS;
-				weatherRegions.get(world).put(xz, reg);
-				return reg;
-			}
+			return LevelWeather.of(world).region(x, z);
 		}
 		
 		public static WeatherRegion of(ChunkUpdateTask task) {
 			final long x = scale(task.x), z = scale(task.z);
-			final Pair<Long, Long> xz = Pair.of(x, z);
-			if (weatherRegions.containsKey(task.world)) {
-				final Map<Pair<Long, Long>, WeatherRegion> worldRegions = weatherRegions.get(task.world);
-				if (worldRegions.containsKey(xz))
-					return worldRegions.get(xz);
-				else {
-					WeatherRegion reg = new WeatherRegion(task.world, x, z);
-					worldRegions.put(xz, reg);
-					return reg;
-				}
-			} else {
-				weatherRegions.put(task.world, synchronizedMap(new HashMap<>()));
-				WeatherRegion reg = new WeatherRegion(task.world, x, z);
-				weatherRegions.get(task.world).put(xz, reg);
-				return reg;
-			}
-		}
-		
-		public static void handleChunkTasks() {
-			ChunkUpdateTask task = CHUNK_UPDATE_TASKS.poll();
-			while (task != null) {
-				onChunkTask(task);
-				task = CHUNK_UPDATE_TASKS.poll();
+			final Long2ObjectMap<WeatherRegion> regions = LevelWeather.of(task.world).regions;
+			final long key = key(x, z);
+			WeatherRegion reg = regions.get(key);
+			if (reg == null) {
+				reg = new WeatherRegion(task.world, x, z);
+				regions.put(key, reg);
 			}
+			return reg;
 		}
 		
 		public static void onChunkTask(ChunkUpdateTask task) {
@@ -195,32 +434,28 @@ public class WeatherData {
 		
 		@SubscribeEvent
 		public static void onChunkLoad(ChunkEvent.Load event) {
-			if (!(event.getLevel() instanceof Level))
+			if (!(event.getLevel() instanceof Level world))
 				return;
-			CHUNK_UPDATE_TASKS.add(ChunkUpdateTask.load(event.getChunk()));
+			final ChunkUpdateTask task = ChunkUpdateTask.load(event.getChunk());
+			LevelWeather.of(world).submit(w -> onChunkTask(task));
 		}
 		
 		@SubscribeEvent
 		public static void onChunkUnload(ChunkEvent.Unload event) {
-			if (!(event.getLevel() instanceof Level))
+			if (!(event.getLevel() instanceof Level world))
 				return;
-			CHUNK_UPDATE_TASKS.add(ChunkUpdateTask.unload(event.getChunk()));
+			// Unloaded chunks don't need to be tracked for levels without weather state
+			final LevelWeather weather = levelWeather.get(world);
+			if (weather == null) return;
+			final ChunkUpdateTask task = ChunkUpdateTask.unload(event.getChunk());
+			weather.submit(w -> onChunkTask(task));
 		}
 		
 		@SubscribeEvent
 		public static void onWorldUnload(LevelEvent.Unload event) {
 			if (!(event.getLevel() instanceof Level world))
 				return;
-			if (weatherRegions.containsKey(world)) {
-				final Map<Pair<Long, Long>, WeatherRegion> worldRegions = weatherRegions.get(world);
-				weatherRegions.remove(world);
-				//noinspection SynchronizationOnLocalVariableOrMethodParameter
-				synchronized (worldRegions) {
-					for (WeatherRegion region : worldRegions.values()) {
-						windRegions.remove(region);
-					}
-				}
-			}
+			levelWeather.remove(world);
 		}
 		
 		private void chunkUpdate(ChunkUpdateTask task) {
@@ -239,10 +474,13 @@ public class WeatherData {
 		}
 		
 		private void unload() {
-			weatherRegions.get(world).remove(Pair.of(x, z));
-			windRegions.remove(this);
-			if (weatherRegions.get(world).isEmpty())
-				weatherRegions.remove(world);
+			final LevelWeather weather = levelWeather.get(world);
+			if (weather != null) weather.regions.remove(key(x, z));
+		}
+		
+		private int chunkCount() {
+			return Long.bitCount(chunks[0]) + Long.bitCount(chunks[1])
+			       + Long.bitCount(chunks[2]) + Long.bitCount(chunks[3]);
 		}
 		
 		public boolean contains(Player player) {
@@ -262,8 +500,8 @@ public class WeatherData {
 		
 		public boolean affectsNoWorldCheck(Player player) {
 			return EntitySelector.NO_SPECTATORS.test(player)
-			       && abs(player.getX() - centerX) < RADIUS + BORDER
-			       && abs(player.getZ() - centerZ) < RADIUS + BORDER;
+			       && abs(player.getX() - centerX) < DIAMETER
+			       && abs(player.getZ() - centerZ) < DIAMETER;
 		}
 		
 		public boolean contains(double x, double z) {
@@ -274,29 +512,49 @@ public class WeatherData {
 			return x == this.x && z == this.z;
 		}
 		
-		public Set<? extends Player> affectedPlayers() {
-			return world.players().stream().filter(
-			  this::affectsNoWorldCheck).collect(Collectors.toSet());
+		/**
+		 * Players whose wind is blended from this region<br>
+		 * Only from the thread of the level. The returned list must
+		 * not be modified.
+		 * @see LevelWeather#playersAffectedBy
+		 */
+		public List<Player> affectedPlayers() {
+			return LevelWeather.of(world).playersAffectedBy(x, z);
 		}
 		
-		public void tick() {
-			WindRegion.of(this).tick();
+		/**
+		 * @return True if the region should be unloaded
+		 */
+		public boolean tick() {
+			if (affectedPlayers().isEmpty()) {
+				if (sleepingSince == AWAKE) sleepingSince = world.getGameTime();
+			} else {
+				if (sleepingSince != AWAKE) {
+					wind.wake(world.getGameTime() - sleepingSince);
+					sleepingSince = AWAKE;
+				}
+				wind.tick();
+			}
 			if (tempTicket != 0) {
 				tempTicket--;
-				if (tempTicket == 0 && ((chunks[0] | chunks[1] | chunks[2] | chunks[3]) == 0L))
-					unload();
+				return tempTicket == 0 && ((chunks[0] | chunks[1] | chunks[2] | chunks[3]) == 0L);
 			}
+			return false;
+		}
+		
+		public boolean isSleeping() {
+			return sleepingSince != AWAKE;
 		}
 		
 		@Override
 		public String toString() {
-			int chunkCount = Long.bitCount(chunks[0]) + Long.bitCount(chunks[1])
-			  + Long.bitCount(chunks[2]) + Long.bitCount(chunks[3]);
+			int chunkCount = chunkCount();
 			return format(
 			  "<Region: ⟨%+4d, %+4d⟩→⟨%+6d, %+6d⟩, %s>",
 			  x, z, (long)centerX, (long)centerZ,
 			  (chunkCount > 0? format("chunks: %3d, ", chunkCount) : "")
 			  + (tempTicket > 0? format("temp: %3d, ", tempTicket) : "")
+			  + (isSleeping()? "sleeping, " : "")
 			  + format("affects: %2d", affectedPlayers().size())
 			  );
 		}
@@ -306,40 +564,38 @@ public class WeatherData {
 	 * Wind data attached to a {@link WeatherRegion}.<br>
 	 * Contains two wind vectors, which are updated every tick on the
 	 * server<br>
-	 * When the wind is non-zero, wind updates are sent to clients
-	 * affected by the region.
+	 * Wind updates are sent periodically to the affected players, in
+	 * a single {@link SWindUpdatePacket} per player. Between updates,
+	 * clients extrapolate the wind at the rate it last changed.
 	 */
 	public static class WindRegion {
 		protected static final Random RANDOM = new Random();
+		/**
+		 * Ticks after which the wind forgets its previous state
+		 */
+		protected static final long RESEED_TICKS = 20L;
 		
 		public final WeatherRegion region;
 		public final Vec3f wind = Vec3f.ZERO.get();
 		public final Vec3f angularWind = Vec3f.ZERO.get();
 		
+		// Client extrapolation
+		private final Vec3f windVelocity = Vec3f.ZERO.get();
+		private final Vec3f angularWindVelocity = Vec3f.ZERO.get();
+		private final float[] received = new float[6];
+		private boolean hasReceived = false;
+		private int extrapolationTicks = 0;
+		
 		private WindRegion(WeatherRegion region) {
 			this.region = region;
 		}
 		
-		public static Set<WindRegion> of(Player player) {
-			return of(player.level(), player.getX(), player.getZ());
-		}
-		
-		public static Set<WindRegion> of(Level world, double x, double z) {
-			return WeatherRegion.of(world, x, z).stream().map(WindRegion::of).collect(Collectors.toSet());
-		}
-		
 		public static WindRegion of(Level world, long x, long z) {
-			return of(WeatherRegion.of(world, x, z));
+			return WeatherRegion.of(world, x, z).wind;
 		}
 		
 		public static WindRegion of(WeatherRegion region) {
-			if (windRegions.containsKey(region)) {
-				return windRegions.get(region);
-			} else {
-				WindRegion node = new WindRegion(region);
-				windRegions.put(region, node);
-				return node;
-			}
+			return region.wind;
 		}
 		
 		public Vec3f getWind() {
@@ -355,7 +611,7 @@ public class WeatherData {
 		private static final Vec3f last = Vec3f.ZERO.get();
 		
 		protected void tick() {
-			if (!weather.enabled)
+			if (!weather.enabled || weather.coherent_wind)
 				return;
 			float rain = region.world.getRainLevel(1F);
 			float storm = region.world.getThunderLevel(1F);
@@ -387,13 +643,78 @@ public class WeatherData {
 					  rain * weather.rain.wind_angular_strength_tick
 					  + storm * weather.storm.wind_angular_strength_tick);
 				}
-				new SWindNodePacket(this).sendTracking();
 			}
 		}
 		
-		public void update(SWindNodePacket packet) {
-			this.wind.set(packet.wind);
-			this.angularWind.set(packet.angularWind);
+		/**
+		 * Catch up after sleeping, in constant time<br>
+		 * Each tick the wind keeps little of its previous state, so
+		 * instead of simulating the skipped ticks, it's re-seeded
+		 * from the current weather if it slept longer than
+		 * {@link #RESEED_TICKS}.
+		 * @param ticks Ticks slept
+		 */
+		protected void wake(long ticks) {
+			if (ticks < RESEED_TICKS) return;
+			float rain = region.world.getRainLevel(1F);
+			float storm = region.world.getThunderLevel(1F);
+			float strength = rain * weather.rain.wind_strength_tick + storm * weather.storm.wind_strength_tick;
+			float angularStrength = rain * weather.rain.wind_angular_strength_tick
+			                        + storm * weather.storm.wind_angular_strength_tick;
+			if (strength > 0F) {
+				wind.set(RANDOM.nextFloat() * 2F - 1F, 0F, RANDOM.nextFloat() * 2F - 1F);
+				if (wind.isZero(1E-5))
+					wind.set(1F, 0F, 0F);
+				wind.unitary();
+				wind.mul(strength * (RANDOM.nextFloat() * 0.4F + 0.8F));
+			} else wind.set(0F, 0F, 0F);
+			if (angularStrength > 0F) {
+				angularWind.setRandom(angularStrength);
+				angularWind.clamp(angularStrength);
+			} else angularWind.set(0F, 0F, 0F);
+		}
+		
+		/**
+		 * Whether the wind of the region should be sent to clients
+		 */
+		public boolean isActive() {
+			return region.world.getRainLevel(1F) > 0F || !wind.isZero(1E-5);
+		}
+		
+		/**
+		 * Apply a wind update, in clients
+		 * @param data Wind and angular wind components
+		 * @param offset Offset of the components in data
+		 * @param interval Ticks until the next update
+		 */
+		public void receive(float[] data, int offset, int interval) {
+			if (hasReceived) {
+				final float f = 1F / interval;
+				windVelocity.set(
+				  (data[offset] - received[0]) * f,
+				  (data[offset + 1] - received[1]) * f,
+				  (data[offset + 2] - received[2]) * f);
+				angularWindVelocity.set(
+				  (data[offset + 3] - received[3]) * f,
+				  (data[offset + 4] - received[4]) * f,
+				  (data[offset + 5] - received[5]) * f);
+			}
+			System.arraycopy(data, offset, received, 0, 6);
+			hasReceived = true;
+			wind.set(received[0], received[1], received[2]);
+			angularWind.set(received[3], received[4], received[5]);
+			extrapolationTicks = interval - 1;
+		}
+		
+		/**
+		 * Advance the wind at the rate it last changed, for at most
+		 * the interval between updates
+		 */
+		protected void extrapolate() {
+			if (extrapolationTicks <= 0) return;
+			extrapolationTicks--;
+			wind.add(windVelocity);
+			angularWind.add(angularWindVelocity);
 		}
 		
 		@Override
@@ -405,18 +726,43 @@ public class WeatherData {
 	
 	@SubscribeEvent
 	public static void tick(LevelTickEvent event) {
-		WeatherRegion.handleChunkTasks();
+		final LevelWeather state = levelWeather.get(event.level);
+		if (state == null) return;
+		state.runTasks();
+		if (event.phase == Phase.END)
+			state.indexPlayers();
 		if (event.side.isServer()) {
-			Level world = event.level;
-			if (weatherRegions.containsKey(world)) {
-				final Map<Pair<Long, Long>, WeatherRegion> worldRegions = weatherRegions.get(world);
-				//noinspection SynchronizationOnLocalVariableOrMethodParameter
-				synchronized (worldRegions) {
-					for (WeatherRegion region : worldRegions.values()) {
-						region.tick();
-					}
-				}
+			state.tickRegions();
+			if (event.phase == Phase.END && event.level instanceof ServerLevel level
+			    && weather.enabled && !weather.coherent_wind)
+				sendWindUpdates(level);
+		} else if (event.phase == Phase.END) state.extrapolateRegions();
+		if (event.phase == Phase.END)
+			state.publish();
+	}
+	
+	/**
+	 * Send the wind of the regions affecting each player, every
+	 * {@code weather.wind_sync_interval} ticks<br>
+	 * Each player receives at most one packet, with the regions it
+	 * samples its wind from.
+	 * @see #sampleWind
+	 */
+	private static void sendWindUpdates(ServerLevel level) {
+		final int interval = weather.wind_sync_interval;
+		if (level.getGameTime() % interval != 0) return;
+		for (ServerPlayer player: level.players()) {
+			if (player.isSpectator()) continue;
+			final long x = WeatherRegion.blendOrigin(player.getX());
+			final long z = WeatherRegion.blendOrigin(player.getZ());
+			SWindUpdatePacket packet = null;
+			for (int i = 0; i < 4; i++) {
+				final WindRegion region = WindRegion.of(level, x + (i & 1), z + (i >> 1));
+				if (!region.isActive()) continue;
+				if (packet == null) packet = new SWindUpdatePacket(level, x, z, interval);
+				packet.set(i, region);
 			}
+			if (packet != null) packet.sendTo(player);
 		}
 	}
 	
@@ -428,13 +774,43 @@ public class WeatherData {
 		};
 	}
 	
-	public static Vec3f getWindVector(Player player) {
-		return Vec3f.average(
-		  WindRegion.of(player).stream().map(WindRegion::getWind).collect(Collectors.toSet()));
+	/**
+	 * Send the seed of the wind field of the level of a player
+	 */
+	public static void syncWindField(ServerPlayer player) {
+		final WindField field = LevelWeather.of(player.level()).getWindField();
+		if (field != null) new SWindFieldPacket(player.serverLevel(), field.seed).sendTo(player);
+	}
+	
+	/**
+	 * Sample the wind affecting a player<br>
+	 * With the coherent wind model, the {@link WindField} of the level
+	 * is evaluated at the player. Otherwise, the wind of the four regions
+	 * whose centers are closest to it is blended bilinearly.<br>
+	 * Doesn't allocate, besides loading missing regions.
+	 * @param wind Set to the sampled wind, if not null
+	 * @param angularWind Set to the sampled angular wind, if not null
+	 */
+	public static void sampleWind(Player player, @Nullable Vec3f wind, @Nullable Vec3f angularWind) {
+		final Level world = player.level();
+		if (weather.coherent_wind) {
+			final WindField field = LevelWeather.of(world).getWindField();
+			if (field != null) {
+				field.sample(
+				  player.getX(), player.getZ(), world.getGameTime(),
+				  world.getRainLevel(1F), world.getThunderLevel(1F), wind, angularWind);
+			} else {
+				if (wind != null) wind.set(0F, 0F, 0F);
+				if (angularWind != null) angularWind.set(0F, 0F, 0F);
+			}
+			return;
+		}
+		LevelWeather.of(world).blendWind(player.getX(), player.getZ(), wind, angularWind);
 	}
 	
-	public static Vec3f getAngularWindVector(Player player) {
-		return Vec3f.average(
-		  WindRegion.of(player).stream().map(WindRegion::getAngularWind).collect(Collectors.toSet()));
+	private static float bilerp(float v00, float v10, float v01, float v11, float tx, float tz) {
+		final float v0 = v00 + (v10 - v00) * tx;
+		final float v1 = v01 + (v11 - v01) * tx;
+		return v0 + (v1 - v0) * tz;
 	}
 }
@@ -0,0 +1,104 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.config.Config.weather;
+import endorh.lazulib.math.Vec3f;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.synth.SimplexNoise;
+import org.jetbrains.annotations.Nullable;
+
+import static java.lang.Math.*;
+
+/**
+ * Deterministic wind field of a level, used by the coherent wind model<br>
+ * Wind is evaluated from layered simplex noise over the horizontal
+ * position and the game time, and scaled by the rain and thunder levels.
+ * It changes smoothly across space and time, without seams between
+ * regions, and since it only depends on its seed, the server and the
+ * clients evaluate it independently.<br>
+ * The direction of the wind drifts at about {@code weather.rain.wind_randomness},
+ * with faster gusts during storms, and changes noticeably over
+ * {@link #SPATIAL_SCALE} blocks, so nearby players feel the same wind.<br>
+ * Immutable, so it may be sampled from any thread.
+ * @see WeatherData#sampleWind
+ */
+public class WindField {
+	/**
+	 * Blocks over which the wind changes noticeably
+	 */
+	private static final double SPATIAL_SCALE = 512D;
+	/**
+	 * Maximum inclination of the wind, in radians
+	 */
+	private static final double MAX_PITCH = 0.15D;
+	/**
+	 * Offset between the noise sampled by each channel, so they're uncorrelated
+	 */
+	private static final double CHANNEL_OFFSET = 1024.5D;
+	private static final int YAW = 0, YAW_DETAIL = 1, GUST = 2, PITCH = 3, STRENGTH = 4;
+	private static final int ANGULAR_X = 5, ANGULAR_Y = 6, ANGULAR_Z = 7;
+	
+	public final long seed;
+	private final SimplexNoise noise;
+	
+	public WindField(long seed) {
+		this.seed = seed;
+		noise = new SimplexNoise(RandomSource.create(seed));
+	}
+	
+	/**
+	 * Seed of the wind field of a level, different for each dimension
+	 */
+	public static long seedFor(ServerLevel level) {
+		return level.getSeed() ^ level.dimension().location().hashCode() * 0x9E3779B97F4A7C15L;
+	}
+	
+	/**
+	 * Ticks over which the wind direction changes noticeably
+	 */
+	private static double timeScale() {
+		return 90D / max(weather.rain.wind_randomness_tick, 1E-3F);
+	}
+	
+	private double noise(double x, double z, double t, int channel) {
+		final double offset = channel * CHANNEL_OFFSET;
+		return noise.getValue(x + offset, t, z + offset);
+	}
+	
+	/**
+	 * Sample the wind at a position
+	 * @param wind Set to the wind, if not null
+	 * @param angularWind Set to the angular wind, if not null
+	 */
+	public void sample(
+	  double x, double z, long time, float rain, float storm,
+	  @Nullable Vec3f wind, @Nullable Vec3f angularWind
+	) {
+		final double px = x / SPATIAL_SCALE, pz = z / SPATIAL_SCALE;
+		final double pt = time / timeScale();
+		if (wind != null) {
+			final float strength = rain * weather.rain.wind_strength_tick
+			                       + storm * weather.storm.wind_strength_tick;
+			if (strength > 0F) {
+				final double yaw = PI * (
+				  noise(px, pz, pt, YAW) + 0.5D * noise(2D * px, 2D * pz, 2D * pt, YAW_DETAIL)
+				  + storm * 0.25D * noise(4D * px, 4D * pz, 4D * pt, GUST));
+				final double pitch = MAX_PITCH * noise(px, pz, pt, PITCH);
+				final double m = strength * (1D + 0.2D * noise(2D * px, 2D * pz, 2D * pt, STRENGTH));
+				final double h = m * cos(pitch);
+				wind.set((float) (h * cos(yaw)), (float) (m * sin(pitch)), (float) (h * sin(yaw)));
+			} else wind.set(0F, 0F, 0F);
+		}
+		if (angularWind != null) {
+			final float strength = rain * weather.rain.wind_angular_strength_tick
+			                       + storm * weather.storm.wind_angular_strength_tick;
+			if (strength > 0F) {
+				angularWind.set(
+				  (float) (strength * noise(px, pz, pt, ANGULAR_X)),
+				  (float) (strength * noise(px, pz, pt, ANGULAR_Y)),
+				  (float) (strength * noise(px, pz, pt, ANGULAR_Z)));
+				angularWind.clamp(strength);
+			} else angularWind.set(0F, 0F, 0F);
+		}
+	}
+}
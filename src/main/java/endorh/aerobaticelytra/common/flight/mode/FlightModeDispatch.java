@@ -0,0 +1,97 @@
+package endorh.aerobaticelytra.common.flight.mode;
+
+import endorh.aerobaticelytra.common.registry.AerobaticElytraRegistries;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Non-flight handlers to run for players in a given flight mode<br>
+ * Built for every mode when the flight mode registry is baked, holding
+ * only the non-null handlers of the other modes, so the travel tick
+ * doesn't need to iterate the whole registry.<br>
+ * Handlers whose mode reports them as {@link IFlightMode#isNonFlightIdle idle}
+ * for a player are skipped.
+ */
+public final class FlightModeDispatch {
+	private static volatile Map<IFlightMode, FlightModeDispatch> DISPATCH = Map.of();
+	
+	private final IFlightMode[] nonFlightModes;
+	private final BiConsumer<Player, Vec3>[] nonFlightHandlers;
+	private final IFlightMode[] remoteNonFlightModes;
+	private final Consumer<Player>[] remoteNonFlightHandlers;
+	
+	@SuppressWarnings("unchecked")
+	private FlightModeDispatch(IFlightMode mode, Collection<IFlightMode> modes) {
+		final List<IFlightMode> local = new ArrayList<>();
+		final List<BiConsumer<Player, Vec3>> localHandlers = new ArrayList<>();
+		final List<IFlightMode> remote = new ArrayList<>();
+		final List<Consumer<Player>> remoteHandlers = new ArrayList<>();
+		for (IFlightMode m : modes) {
+			if (m == mode) continue;
+			final BiConsumer<Player, Vec3> handler = m.getNonFlightHandler();
+			if (handler != null) {
+				local.add(m);
+				localHandlers.add(handler);
+			}
+			final Consumer<Player> remoteHandler = m.getRemoteNonFlightHandler();
+			if (remoteHandler != null) {
+				remote.add(m);
+				remoteHandlers.add(remoteHandler);
+			}
+		}
+		nonFlightModes = local.toArray(IFlightMode[]::new);
+		nonFlightHandlers = localHandlers.toArray(BiConsumer[]::new);
+		remoteNonFlightModes = remote.toArray(IFlightMode[]::new);
+		remoteNonFlightHandlers = remoteHandlers.toArray(Consumer[]::new);
+	}
+	
+	/**
+	 * Rebuild the dispatch tables for all modes
+	 */
+	public static void bake(Collection<IFlightMode> modes) {
+		final Map<IFlightMode, FlightModeDispatch> dispatch = new Reference2ObjectOpenHashMap<>(modes.size());
+		for (IFlightMode mode : modes)
+			dispatch.put(mode, new FlightModeDispatch(mode, modes));
+		DISPATCH = dispatch;
+	}
+	
+	/**
+	 * Dispatch table for players in a given mode
+	 */
+	public static FlightModeDispatch of(IFlightMode mode) {
+		final FlightModeDispatch dispatch = DISPATCH.get(mode);
+		// Only unregistered modes may miss the table
+		return dispatch != null? dispatch : new FlightModeDispatch(
+		  mode, AerobaticElytraRegistries.FLIGHT_MODE_REGISTRY.getValues());
+	}
+	
+	/**
+	 * Run the non-flight handlers of the other modes
+	 */
+	public void handleNonFlight(Player player, Vec3 travelVector) {
+		final IFlightMode[] modes = nonFlightModes;
+		final BiConsumer<Player, Vec3>[] handlers = nonFlightHandlers;
+		for (int i = 0; i < handlers.length; i++)
+			if (!modes[i].isNonFlightIdle(player))
+				handlers[i].accept(player, travelVector);
+	}
+	
+	/**
+	 * Run the remote non-flight handlers of the other modes
+	 */
+	public void handleRemoteNonFlight(Player player) {
+		final IFlightMode[] modes = remoteNonFlightModes;
+		final Consumer<Player>[] handlers = remoteNonFlightHandlers;
+		for (int i = 0; i < handlers.length; i++)
+			if (!modes[i].isNonFlightIdle(player))
+				handlers[i].accept(player);
+	}
+}
@@ -16,13 +16,14 @@ import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public enum FlightModes implements IFlightMode {
 	ELYTRA_FLIGHT(
 	  () -> modes.enable_normal_elytra_mode, -4000,
 	  Const.FLIGHT_MODE_TOAST_U_OFFSET, Const.FLIGHT_MODE_TOAST_V_OFFSET,
-	  ElytraFlight::onElytraTravel, null, null, null,
+	  ElytraFlight::onElytraTravel, null, null, null, null,
 	  FlightModeTags.ELYTRA),
 	AEROBATIC_FLIGHT(
 	  () -> true, -3000,
@@ -30,6 +31,7 @@ public enum FlightModes implements IFlightMode {
 	  Const.FLIGHT_MODE_TOAST_V_OFFSET,
 	  AerobaticFlight::onAerobaticTravel, AerobaticFlight::onOtherModeTravel,
 	  AerobaticFlight::onRemoteFlightTravel, AerobaticFlight::onRemoteOtherModeTravel,
+	  AerobaticFlight::isOtherModeIdle,
 	  FlightModeTags.ELYTRA, FlightModeTags.AEROBATIC);
 	
 	private final Supplier<Boolean> shouldCycle;
@@ -43,6 +45,7 @@ public enum FlightModes implements IFlightMode {
 	private final BiConsumer<Player, Vec3> nonFlightHandler;
 	private final Consumer<Player> remoteFlightHandler;
 	private final Consumer<Player> remoteNonFlightHandler;
+	private final Predicate<Player> nonFlightIdle;
 	
 	FlightModes(
 	  Supplier<Boolean> shouldCycle, int order, int u, int v,
@@ -50,6 +53,7 @@ public enum FlightModes implements IFlightMode {
 	  @Nullable BiConsumer<Player, Vec3> nonFlightHandler,
 	  @Nullable Consumer<Player> remoteFlightHandler,
 	  @Nullable Consumer<Player> remoteNonFlightHandler,
+	  @Nullable Predicate<Player> nonFlightIdle,
 	  ResourceLocation... tags
 	) {
 		this.shouldCycle = shouldCycle;
@@ -58,6 +62,7 @@ public enum FlightModes implements IFlightMode {
 		this.nonFlightHandler = nonFlightHandler;
 		this.remoteFlightHandler = remoteFlightHandler;
 		this.remoteNonFlightHandler = remoteNonFlightHandler;
+		this.nonFlightIdle = nonFlightIdle;
 		this.u = u;
 		this.v = v;
 		Collections.addAll(this.tags, tags);
@@ -88,6 +93,9 @@ public enum FlightModes implements IFlightMode {
 	@Override public @Nullable Consumer<Player> getRemoteNonFlightHandler() {
 		return remoteNonFlightHandler;
 	}
+	@Override public boolean isNonFlightIdle(Player player) {
+		return nonFlightIdle != null && nonFlightIdle.test(player);
+	}
 	
 	
 	@Override public ResourceLocation getToastIconLocation() {
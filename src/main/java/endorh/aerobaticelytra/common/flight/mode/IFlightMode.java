@@ -63,7 +63,10 @@ public interface IFlightMode {
 	BiPredicate<Player, Vec3> getFlightHandler();
 	
 	/**
-	 * @return The method used to handle a non-flight tick for a player
+	 * @return The method used to handle a non-flight tick for a player<br>
+	 * Non-flight handlers are collected when the registry is baked,
+	 * so they must not change afterwards
+	 * @see FlightModeDispatch
 	 */
 	@Nullable default BiConsumer<Player, Vec3> getNonFlightHandler() {
 		return null;
@@ -85,6 +88,16 @@ public interface IFlightMode {
 		return null;
 	}
 	
+	/**
+	 * Whether the non-flight handlers of this mode would do nothing
+	 * for a player in another mode, so they can be skipped<br>
+	 * Called every tick for every player in another mode, so it should
+	 * be cheaper than the handlers themselves
+	 */
+	default boolean isNonFlightIdle(Player player) {
+		return false;
+	}
+	
 	/**
 	 * @return The texture location of the toast displaying the flight mode icon
 	 */
@@ -0,0 +1,187 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.VectorBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Flyers of a level, stepped together by {@link FlightKernel#step}<br>
+ * Each flyer is stepped from copies of its state, inputs and rotation
+ * owned by the batch, and only touches its own slot, so disjoint ranges
+ * can be stepped concurrently, with results identical to stepping each
+ * flyer on its own. Rotations are written back to the flyers by
+ * {@link #commit}, on the thread that owns them.<br>
+ * Slots are reused across ticks, so the batch stops allocating once it
+ * has grown to the number of flyers.
+ */
+public class FlightBatch {
+	private final List<Slot> slots = new ArrayList<>();
+	private int size;
+	
+	public int size() {
+		return size;
+	}
+	
+	public void clear() {
+		for (int i = 0; i < size; i++)
+			slots.get(i).release();
+		size = 0;
+	}
+	
+	/**
+	 * Append a flyer to the batch
+	 * @return The index of the flyer in the batch
+	 */
+	public int add(FlightState s, FlightInput in) {
+		if (size == slots.size()) slots.add(new Slot());
+		final Slot slot = slots.get(size);
+		slot.state.set(s);
+		slot.input.set(in);
+		return size++;
+	}
+	
+	/**
+	 * Integrate the rotation of a flyer as part of its step, replacing
+	 * its look and normal inputs with those of the rotated base<br>
+	 * A copy of the base is integrated, the base and the integrator
+	 * are only updated by {@link #commit}.
+	 *
+	 * @param steps Steps returned by {@link RotationIntegrator#advance}
+	 * @see RotationIntegrator#integrate
+	 */
+	public void setRotation(
+	  int i, VectorBase base, RotationIntegrator integrator, int steps,
+	  float windPitch, float windYaw, float windRoll
+	) {
+		final Slot slot = slots.get(i);
+		slot.target = base;
+		slot.targetIntegrator = integrator;
+		slot.base.set(base);
+		slot.steps = steps;
+		slot.windPitch = windPitch;
+		slot.windYaw = windYaw;
+		slot.windRoll = windRoll;
+	}
+	
+	/**
+	 * Copy the state of a flyer out of the batch
+	 */
+	public void get(int i, FlightState s) {
+		s.set(slots.get(i).state);
+	}
+	
+	/**
+	 * Check that a stepped flyer started from the given motion and
+	 * input flags, to detect if its state changed after being batched
+	 */
+	public boolean matches(
+	  int i, float mX, float mY, float mZ,
+	  boolean inWater, boolean crouching, boolean sprinting, boolean jumping
+	) {
+		final FlightState s = slots.get(i).state;
+		final FlightInput in = slots.get(i).input;
+		return s.prevMotionX == mX && s.prevMotionY == mY && s.prevMotionZ == mZ
+		       && in.inWater == inWater && in.crouching == crouching
+		       && in.sprinting == sprinting && in.jumping == jumping;
+	}
+	
+	/**
+	 * Advance all flyers by a single flight tick
+	 */
+	public void step(FlightProfile c) {
+		step(0, size, c);
+	}
+	
+	/**
+	 * Advance the flyers in the range {@code [from, to)} by a single flight tick<br>
+	 * Each flyer is independent, so disjoint ranges may be stepped concurrently
+	 */
+	public void step(int from, int to, FlightProfile c) {
+		for (int i = from; i < to; i++)
+			slots.get(i).step(c);
+	}
+	
+	/**
+	 * Advance all flyers by a single flight tick, split in ranges of
+	 * at least {@code grain} flyers across a pool
+	 */
+	public void step(FlightProfile c, ForkJoinPool pool, int grain) {
+		pool.invoke(new StepTask(this, 0, size, c, grain));
+	}
+	
+	/**
+	 * Write the integrated rotations back to the bases and integrators
+	 * passed to {@link #setRotation}<br>
+	 * Must be called after stepping, from the thread that owns them.
+	 */
+	public void commit() {
+		for (int i = 0; i < size; i++)
+			slots.get(i).commit();
+	}
+	
+	private static class Slot {
+		private final FlightState state = new FlightState();
+		private final FlightInput input = new FlightInput();
+		private final VectorBase base = new VectorBase();
+		private final RotationIntegrator integrator = new RotationIntegrator();
+		private VectorBase target;
+		private RotationIntegrator targetIntegrator;
+		private int steps;
+		private float windPitch;
+		private float windYaw;
+		private float windRoll;
+		
+		private void step(FlightProfile c) {
+			// Rotation goes first, since it determines the look and normal vectors
+			if (target != null) {
+				integrator.integrate(
+				  base, steps, state.motionX, state.motionY, state.motionZ,
+				  state.tiltPitch, state.tiltRoll, state.tiltYaw,
+				  windPitch, windYaw, windRoll, input.inWater);
+				input.setBase(base);
+			}
+			FlightKernel.step(state, input, c);
+		}
+		
+		private void commit() {
+			if (target == null || steps == 0) return;
+			target.set(base);
+			targetIntegrator.setPrevious(integrator);
+		}
+		
+		private void release() {
+			target = null;
+			targetIntegrator = null;
+		}
+	}
+	
+	private static class StepTask extends RecursiveAction {
+		private final FlightBatch batch;
+		private final int from;
+		private final int to;
+		private final FlightProfile profile;
+		private final int grain;
+		
+		private StepTask(FlightBatch batch, int from, int to, FlightProfile profile, int grain) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+			this.profile = profile;
+			this.grain = grain;
+		}
+		
+		@Override protected void compute() {
+			if (to - from <= grain) {
+				batch.step(from, to, profile);
+			} else {
+				final int mid = (from + to) >>> 1;
+				invokeAll(
+				  new StepTask(batch, from, mid, profile, grain),
+				  new StepTask(batch, mid, to, profile, grain));
+			}
+		}
+	}
+}
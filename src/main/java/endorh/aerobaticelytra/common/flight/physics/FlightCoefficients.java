@@ -0,0 +1,140 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.config.Config.aerobatic.braking;
+import endorh.aerobaticelytra.common.config.Config.aerobatic.physics;
+import endorh.aerobaticelytra.common.config.Config.aerobatic.propulsion;
+import endorh.aerobaticelytra.common.config.Config.aerobatic.tilt;
+import endorh.aerobaticelytra.common.config.Config.network;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Config coefficients of the flight physics, compiled into a
+ * {@link FlightProfile} to be used by {@link FlightKernel#step}<br>
+ * Can be filled from the config with {@link #load()}, or by hand
+ * when running the kernel outside Minecraft
+ */
+public class FlightCoefficients {
+	public float propMin;
+	public float propMax;
+	public float propAccStrength;
+	
+	public boolean brakingEnabled;
+	public float brakeMaxTimeTicks;
+	public float brakeFriction;
+	public float brakeAddedGravity;
+	
+	public float tiltRangePondered;
+	
+	public float gravityMultiplier;
+	public float glideMultiplier;
+	public float frictionBase;
+	public float frictionAngular;
+	public float frictionWater;
+	public float frictionWaterNerf;
+	public float motorlessFriction;
+	public float motorlessGravity;
+	public float inertia;
+	
+	public float speedCap;
+	
+	/**
+	 * Read the coefficients from the current config values
+	 */
+	public FlightCoefficients load() {
+		propMin = propulsion.range_tick.getFloatMin();
+		propMax = propulsion.range_tick.getFloatMax();
+		propAccStrength = propulsion.range_length / 20F; // 1 second
+		brakingEnabled = braking.enabled;
+		brakeMaxTimeTicks = braking.max_time_ticks;
+		brakeFriction = braking.friction;
+		brakeAddedGravity = braking.added_gravity_tick;
+		tiltRangePondered = tilt.range_pondered;
+		gravityMultiplier = physics.gravity_multiplier;
+		glideMultiplier = physics.glide_multiplier;
+		frictionBase = physics.friction_base;
+		frictionAngular = physics.friction_angular;
+		frictionWater = physics.friction_water;
+		frictionWaterNerf = physics.friction_water_nerf;
+		motorlessFriction = physics.motorless_friction;
+		motorlessGravity = physics.motorless_gravity_tick;
+		inertia = physics.inertia;
+		speedCap = network.speed_cap_tick;
+		return this;
+	}
+	
+	public FlightCoefficients copy() {
+		final FlightCoefficients c = new FlightCoefficients();
+		c.propMin = propMin;
+		c.propMax = propMax;
+		c.propAccStrength = propAccStrength;
+		c.brakingEnabled = brakingEnabled;
+		c.brakeMaxTimeTicks = brakeMaxTimeTicks;
+		c.brakeFriction = brakeFriction;
+		c.brakeAddedGravity = brakeAddedGravity;
+		c.tiltRangePondered = tiltRangePondered;
+		c.gravityMultiplier = gravityMultiplier;
+		c.glideMultiplier = glideMultiplier;
+		c.frictionBase = frictionBase;
+		c.frictionAngular = frictionAngular;
+		c.frictionWater = frictionWater;
+		c.frictionWaterNerf = frictionWaterNerf;
+		c.motorlessFriction = motorlessFriction;
+		c.motorlessGravity = motorlessGravity;
+		c.inertia = inertia;
+		c.speedCap = speedCap;
+		return c;
+	}
+	
+	/**
+	 * Write the coefficients, so they can be restored without the config
+	 * @see #read(DataInput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeFloat(propMin);
+		out.writeFloat(propMax);
+		out.writeFloat(propAccStrength);
+		out.writeBoolean(brakingEnabled);
+		out.writeFloat(brakeMaxTimeTicks);
+		out.writeFloat(brakeFriction);
+		out.writeFloat(brakeAddedGravity);
+		out.writeFloat(tiltRangePondered);
+		out.writeFloat(gravityMultiplier);
+		out.writeFloat(glideMultiplier);
+		out.writeFloat(frictionBase);
+		out.writeFloat(frictionAngular);
+		out.writeFloat(frictionWater);
+		out.writeFloat(frictionWaterNerf);
+		out.writeFloat(motorlessFriction);
+		out.writeFloat(motorlessGravity);
+		out.writeFloat(inertia);
+		out.writeFloat(speedCap);
+	}
+	
+	/**
+	 * Read coefficients written by {@link #write(DataOutput)}
+	 */
+	public FlightCoefficients read(DataInput in) throws IOException {
+		propMin = in.readFloat();
+		propMax = in.readFloat();
+		propAccStrength = in.readFloat();
+		brakingEnabled = in.readBoolean();
+		brakeMaxTimeTicks = in.readFloat();
+		brakeFriction = in.readFloat();
+		brakeAddedGravity = in.readFloat();
+		tiltRangePondered = in.readFloat();
+		gravityMultiplier = in.readFloat();
+		glideMultiplier = in.readFloat();
+		frictionBase = in.readFloat();
+		frictionAngular = in.readFloat();
+		frictionWater = in.readFloat();
+		frictionWaterNerf = in.readFloat();
+		motorlessFriction = in.readFloat();
+		motorlessGravity = in.readFloat();
+		inertia = in.readFloat();
+		speedCap = in.readFloat();
+		return this;
+	}
+}
@@ -0,0 +1,94 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.VectorBase;
+
+/**
+ * Per-tick inputs of a single aerobatic flyer, consumed by
+ * {@link FlightKernel#step}<br>
+ * Gathering the inputs is the responsibility of the caller, so
+ * the kernel never needs to access the world or the player
+ */
+public class FlightInput {
+	/**
+	 * Gravity acceleration, already scaled by the lift/aquatic abilities
+	 */
+	public float gravity;
+	public boolean inWater;
+	public boolean crouching;
+	public boolean sprinting;
+	public boolean jumping;
+	
+	/**
+	 * Whether {@link #travelZ} is known (it's not for remote players)
+	 */
+	public boolean hasTravelInput;
+	public float travelZ;
+	
+	public float speedAbility;
+	public float aquaticAbility;
+	
+	public float lookX;
+	public float lookY;
+	public float lookZ;
+	public float normalX;
+	public float normalY;
+	public float normalZ;
+	
+	public boolean useWeather;
+	public float windX;
+	public float windY;
+	public float windZ;
+	public float rainAcc;
+	
+	/**
+	 * Whether to apply the speed cap, which is only enforced by the server
+	 */
+	public boolean speedCapped;
+	/**
+	 * Whether to apply simulated inertia
+	 */
+	public boolean inertia = true;
+	
+	/**
+	 * Copy the look and normal vectors of a rotation base
+	 */
+	public void setBase(VectorBase base) {
+		lookX = base.getLookX();
+		lookY = base.getLookY();
+		lookZ = base.getLookZ();
+		normalX = base.getNormalX();
+		normalY = base.getNormalY();
+		normalZ = base.getNormalZ();
+	}
+	
+	public void setWind(float x, float y, float z) {
+		windX = x;
+		windY = y;
+		windZ = z;
+	}
+	
+	public void set(FlightInput in) {
+		gravity = in.gravity;
+		inWater = in.inWater;
+		crouching = in.crouching;
+		sprinting = in.sprinting;
+		jumping = in.jumping;
+		hasTravelInput = in.hasTravelInput;
+		travelZ = in.travelZ;
+		speedAbility = in.speedAbility;
+		aquaticAbility = in.aquaticAbility;
+		lookX = in.lookX;
+		lookY = in.lookY;
+		lookZ = in.lookZ;
+		normalX = in.normalX;
+		normalY = in.normalY;
+		normalZ = in.normalZ;
+		useWeather = in.useWeather;
+		windX = in.windX;
+		windY = in.windY;
+		windZ = in.windZ;
+		rainAcc = in.rainAcc;
+		speedCapped = in.speedCapped;
+		inertia = in.inertia;
+	}
+}
@@ -0,0 +1,194 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.config.Const;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Pure aerobatic flight physics<br>
+ * Advances a {@link FlightState} by one tick given a {@link FlightInput}
+ * and a {@link FlightProfile}, without accessing the world, posting
+ * events or allocating.<br>
+ * Side effects (sounds, stats, warnings) are requested through
+ * {@link FlightState#events} and must be performed by the caller.
+ */
+public final class FlightKernel {
+	/**
+	 * Half a second to brake completely
+	 */
+	public static final float BRAKE_ACC = 0.1F;
+	public static final float BOOST_STRENGTH = 0.04F;
+	
+	private FlightKernel() {}
+	
+	/**
+	 * Advance the state by a single flight tick (20Hz)
+	 */
+	public static void step(FlightState s, FlightInput in, FlightProfile c) {
+		s.events = 0;
+		float mX = s.motionX;
+		float mY = s.motionY;
+		float mZ = s.motionZ;
+		final float pX = mX;
+		final float pY = mY;
+		final float pZ = mZ;
+		s.prevMotionX = pX;
+		s.prevMotionY = pY;
+		s.prevMotionZ = pZ;
+		
+		// Update boost
+		if (!s.boosted && s.propStrength == c.propMax && in.sprinting && s.boostHeat <= 0.2F) {
+			s.boosted = true;
+			s.events |= FlightState.BOOST_STARTED;
+		} else if (s.boosted && (!in.sprinting || s.boostHeat == 1F)) {
+			s.boosted = false;
+			s.events |= FlightState.BOOST_ENDED;
+		}
+		s.boostHeat = clamp(s.boostHeat + (s.boosted? 0.01F : -0.0075F), 0F, 1F);
+		
+		// Update acceleration
+		final float propAcc = s.propAcc;
+		s.propStrength = clamp(s.propStrength + propAcc * c.propAccStrength, c.propMin, c.propMax);
+		if (in.hasTravelInput)
+			s.propAcc = (float) clamp((propAcc + 2 * Math.signum((double) in.travelZ)) / 3, -1D, 1D);
+		
+		// Update braking
+		final boolean braking = in.crouching && !s.brakeCooling;
+		s.braking = braking;
+		if (c.brakeMaxTimeTicks > 0) {
+			s.brakeHeat = clamp(s.brakeHeat + (braking? c.brakeHeatStep : -c.brakeHeatStep), 0F, 1F);
+			if (s.brakeHeat >= 1F) {
+				s.brakeCooling = true;
+			} else if (s.brakeHeat <= 0F)
+				s.brakeCooling = false;
+		} else {
+			s.brakeHeat = 0F;
+			s.brakeCooling = false;
+		}
+		final float brakeStrength = c.brakingEnabled? clamp(
+		  s.brakeStrength + (braking? BRAKE_ACC : -BRAKE_ACC), 0F, 1F) : 0F;
+		s.brakeStrength = brakeStrength;
+		
+		// Underwater rotation friction
+		float tiltPitch = s.tiltPitch;
+		float tiltRoll = s.tiltRoll;
+		float tiltYaw = s.tiltYaw;
+		if (in.inWater) {
+			final float underwaterTiltFriction = clampedLerp(
+			  Const.UNDERWATER_CONTROLS_TILT_FRICTION_MAX, Const.UNDERWATER_CONTROLS_TILT_FRICTION_MIN,
+			  (float) Math.sqrt(mX * mX + mY * mY + mZ * mZ) / Const.UNDERWATER_CONTROLS_SPEED_THRESHOLD);
+			tiltPitch *= underwaterTiltFriction;
+			tiltRoll *= underwaterTiltFriction;
+			tiltYaw *= underwaterTiltFriction;
+		}
+		if (in.jumping) {
+			tiltPitch *= Const.JUMP_TILT_DECAY;
+			tiltRoll *= Const.JUMP_TILT_DECAY;
+			tiltYaw *= Const.JUMP_TILT_DECAY;
+		}
+		s.tiltPitch = tiltPitch;
+		s.tiltRoll = tiltRoll;
+		s.tiltYaw = tiltYaw;
+		
+		// Angular friction
+		final float angFriction =
+		  1F - (tiltPitch * tiltPitch + tiltRoll * tiltRoll + 0.5F * tiltYaw * tiltYaw)
+		       * c.angularFrictionScale;
+		
+		float propStrength = s.propStrength * in.speedAbility;
+		if (s.boosted)
+			propStrength += BOOST_STRENGTH;
+		
+		// Gravity acceleration
+		float gravAcc = -in.gravity * c.gravityMultiplier - brakeStrength * c.brakeAddedGravity;
+		final float stasis = in.inWater? 0F : c.stasis(propStrength);
+		gravAcc -= stasis * c.motorlessGravity;
+		
+		// Friction
+		float friction;
+		if (in.inWater) {
+			friction = lerp(in.aquaticAbility, c.frictionWaterNerf, c.frictionWater);
+			friction *= lerp(brakeStrength, 1F, c.brakeFriction) * angFriction;
+		} else {
+			friction = c.frictionBase + stasis * c.stasisFrictionSpan;
+			friction = lerp(brakeStrength, friction, c.brakeFriction) * angFriction;
+		}
+		
+		// Glide acceleration
+		final float glideAcc = -(mX * in.normalX + mY * in.normalY + mZ * in.normalZ) * c.glideMultiplier;
+		
+		// Apply lift cut
+		final float liftCut = s.liftCut;
+		gravAcc *= 1F + liftCut * 0.8F;
+		final float glideCut = 1F - liftCut;
+		final float motionCut = 1F - liftCut * 0.8F;
+		mX *= motionCut;
+		mY *= motionCut;
+		mZ *= motionCut;
+		
+		// Apply acceleration
+		mX += in.normalX * glideAcc * glideCut;
+		mY += in.normalY * glideAcc * glideCut;
+		mZ += in.normalZ * glideAcc * glideCut;
+		mY += gravAcc;
+		mX += in.lookX * propStrength;
+		mY += in.lookY * propStrength;
+		mZ += in.lookZ * propStrength;
+		if (in.useWeather) {
+			mX += in.windX;
+			mY += in.windY;
+			mZ += in.windZ;
+			mY += in.rainAcc;
+		}
+		
+		// Apply friction
+		mX *= friction;
+		mY *= friction;
+		mZ *= friction;
+		if (in.useWeather) {
+			// Wind drags more when braking
+			mX += in.windX * (1F - friction);
+			mY += in.windY * (1F - friction);
+			mZ += in.windZ * (1F - friction);
+		}
+		
+		// Speed cap
+		final float cap = c.speedCap;
+		if (in.speedCapped && cap > 0 && (mX > cap || mY > cap || mZ > cap)) {
+			s.uncappedSpeed = max(max(mX, mY), mZ);
+			s.events |= FlightState.SPEED_CAPPED;
+			mX = min(mX, cap);
+			mY = min(mY, cap);
+			mZ = min(mZ, cap);
+		}
+		
+		// Apply simulated inertia
+		if (in.inertia) {
+			final float inertia = c.inertia;
+			mX += (pX - mX) * inertia;
+			mY += (pY - mY) * inertia;
+			mZ += (pZ - mZ) * inertia;
+		}
+		
+		s.motionX = mX;
+		s.motionY = mY;
+		s.motionZ = mZ;
+	}
+	
+	static float clamp(float value, float min, float max) {
+		return value < min? min : min(value, max);
+	}
+	
+	static double clamp(double value, double min, double max) {
+		return value < min? min : min(value, max);
+	}
+	
+	static float lerp(float t, float start, float end) {
+		return start + t * (end - start);
+	}
+	
+	static float clampedLerp(float start, float end, float t) {
+		return t < 0F? start : t > 1F? end : lerp(t, start, end);
+	}
+}
@@ -0,0 +1,114 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.lazulib.animation.Easing;
+
+/**
+ * Immutable coefficients used by {@link FlightKernel#step}, compiled
+ * once from a set of {@link FlightCoefficients}<br>
+ * Besides the raw coefficients, holds the terms derived from them, and
+ * a lookup table for the stasis curve over the propulsion strength,
+ * which determines both the motorless gravity and friction.<br>
+ * Being immutable, a profile can be shared across threads, and replaced
+ * by publishing a new one.
+ */
+public final class FlightProfile {
+	/**
+	 * Number of linear segments of the stasis curve
+	 */
+	static final int CURVE_SEGMENTS = 1024;
+	
+	public final float propMin;
+	public final float propMax;
+	public final float propAccStrength;
+	
+	public final boolean brakingEnabled;
+	public final float brakeMaxTimeTicks;
+	/**
+	 * Brake heat gained or lost per tick, only meaningful if
+	 * {@link #brakeMaxTimeTicks} is positive
+	 */
+	public final float brakeHeatStep;
+	public final float brakeFriction;
+	public final float brakeAddedGravity;
+	
+	/**
+	 * Angular friction lost per unit of pondered tilt
+	 */
+	public final float angularFrictionScale;
+	
+	public final float gravityMultiplier;
+	public final float glideMultiplier;
+	public final float frictionBase;
+	/**
+	 * Friction change from no stasis to full stasis
+	 */
+	public final float stasisFrictionSpan;
+	public final float frictionWater;
+	public final float frictionWaterNerf;
+	public final float motorlessGravity;
+	public final float inertia;
+	
+	public final float speedCap;
+	
+	private final float curveScale;
+	private final float[] stasisCurve;
+	private final FlightCoefficients coefficients;
+	
+	private FlightProfile(FlightCoefficients c) {
+		coefficients = c.copy();
+		propMin = c.propMin;
+		propMax = c.propMax;
+		propAccStrength = c.propAccStrength;
+		brakingEnabled = c.brakingEnabled;
+		brakeMaxTimeTicks = c.brakeMaxTimeTicks;
+		brakeHeatStep = 1F / c.brakeMaxTimeTicks;
+		brakeFriction = c.brakeFriction;
+		brakeAddedGravity = c.brakeAddedGravity;
+		angularFrictionScale = (1F - c.frictionAngular) / c.tiltRangePondered;
+		gravityMultiplier = c.gravityMultiplier;
+		glideMultiplier = c.glideMultiplier;
+		frictionBase = c.frictionBase;
+		stasisFrictionSpan = c.motorlessFriction - c.frictionBase;
+		frictionWater = c.frictionWater;
+		frictionWaterNerf = c.frictionWaterNerf;
+		motorlessGravity = c.motorlessGravity;
+		inertia = c.inertia;
+		speedCap = c.speedCap;
+		
+		curveScale = CURVE_SEGMENTS / c.propMax;
+		// The extra sample saves a bounds check for the last segment
+		stasisCurve = new float[CURVE_SEGMENTS + 2];
+		for (int i = 0; i <= CURVE_SEGMENTS; i++)
+			stasisCurve[i] = Easing.quadInOut(i / (float) CURVE_SEGMENTS);
+		stasisCurve[CURVE_SEGMENTS + 1] = stasisCurve[CURVE_SEGMENTS];
+	}
+	
+	/**
+	 * Compile a profile from a set of coefficients, which are copied
+	 */
+	public static FlightProfile compile(FlightCoefficients coefficients) {
+		return new FlightProfile(coefficients);
+	}
+	
+	/**
+	 * Stasis of a flyer given its effective propulsion strength<br>
+	 * Interpolated from the lookup table between no propulsion and
+	 * {@link #propMax}, and computed exactly outside that range
+	 */
+	public float stasis(float propStrength) {
+		final float x = (propMax - propStrength) * curveScale;
+		if (x >= 0F && x <= CURVE_SEGMENTS) {
+			final int i = (int) x;
+			final float a = stasisCurve[i];
+			return a + (x - i) * (stasisCurve[i + 1] - a);
+		}
+		return Easing.quadInOut(1F - propStrength / propMax);
+	}
+	
+	/**
+	 * Copy of the coefficients this profile was compiled from
+	 */
+	public FlightCoefficients getCoefficients() {
+		return coefficients.copy();
+	}
+}
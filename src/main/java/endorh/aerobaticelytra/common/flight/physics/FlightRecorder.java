@@ -0,0 +1,199 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed size ring buffer of the last flight ticks of a flyer<br>
+ * Each tick is stored as a {@link #RECORD_SIZE} bytes record with the
+ * state before the step, the inputs, and the result of the step, so
+ * it can be replayed through the {@link FlightKernel} by a
+ * {@link FlightReplay}.<br>
+ * Look and normal vectors are quantized to 16 bits per component,
+ * and booleans packed into flags. Everything else is kept as floats,
+ * since the state must be restored exactly to detect divergences.<br>
+ * Recording only copies fields into a preallocated buffer, so it's
+ * cheap enough to be left enabled.<br>
+ * All held records are from the same profile. Recording a step with a
+ * different profile discards the previous records, so a recording is
+ * always saved with the coefficients it was flown with.
+ */
+public class FlightRecorder {
+	static final int MAGIC = 0x41455243; // AERC
+	static final short VERSION = 1;
+	static final int RECORD_SIZE = 128;
+	static final float UNIT_SCALE = Short.MAX_VALUE;
+	
+	// Input flags
+	static final int IN_WATER = 1;
+	static final int CROUCHING = 1 << 1;
+	static final int SPRINTING = 1 << 2;
+	static final int JUMPING = 1 << 3;
+	static final int HAS_TRAVEL_INPUT = 1 << 4;
+	static final int USE_WEATHER = 1 << 5;
+	static final int SPEED_CAPPED = 1 << 6;
+	static final int INERTIA = 1 << 7;
+	
+	// State flags
+	static final int BOOSTED = 1;
+	static final int BRAKING = 1 << 1;
+	static final int BRAKE_COOLING = 1 << 2;
+	
+	// Record layout
+	static final int TICK = 0;
+	static final int INPUT_FLAGS = 4;
+	static final int PRE_FLAGS = 5;
+	static final int POST_FLAGS = 6;
+	static final int POST_EVENTS = 7;
+	static final int BASE = 8;
+	static final int INPUT = 20;
+	static final int PRE = 52;
+	static final int POST = 100;
+	
+	private final ByteBuffer buffer;
+	private final int capacity;
+	private int head = 0;
+	private int size = 0;
+	private FlightProfile profile = null;
+	
+	/**
+	 * @param capacity Number of ticks kept
+	 */
+	public FlightRecorder(int capacity) {
+		if (capacity <= 0) throw new IllegalArgumentException(
+		  "Recorder capacity must be positive: " + capacity);
+		this.capacity = capacity;
+		buffer = ByteBuffer.allocate(capacity * RECORD_SIZE);
+	}
+	
+	/**
+	 * Record a single step of the kernel, overwriting the oldest record if full<br>
+	 * If the profile isn't the one of the held records, they're discarded first.
+	 * @param profile Profile the step was made with
+	 * @param pre State before the step
+	 * @param in Inputs of the step
+	 * @param post State after the step
+	 */
+	public void record(
+	  int tick, FlightProfile profile, FlightState pre, FlightInput in, FlightState post
+	) {
+		if (profile != this.profile) {
+			clear();
+			this.profile = profile;
+		}
+		final ByteBuffer b = buffer;
+		final int o = head * RECORD_SIZE;
+		b.putInt(o + TICK, tick);
+		b.put(o + INPUT_FLAGS, (byte) (
+		  (in.inWater? IN_WATER : 0) | (in.crouching? CROUCHING : 0)
+		  | (in.sprinting? SPRINTING : 0) | (in.jumping? JUMPING : 0)
+		  | (in.hasTravelInput? HAS_TRAVEL_INPUT : 0) | (in.useWeather? USE_WEATHER : 0)
+		  | (in.speedCapped? SPEED_CAPPED : 0) | (in.inertia? INERTIA : 0)));
+		b.put(o + PRE_FLAGS, stateFlags(pre));
+		b.put(o + POST_FLAGS, stateFlags(post));
+		b.put(o + POST_EVENTS, (byte) post.events);
+		
+		int p = o + BASE;
+		b.putShort(p, quantize(in.lookX));
+		b.putShort(p + 2, quantize(in.lookY));
+		b.putShort(p + 4, quantize(in.lookZ));
+		b.putShort(p + 6, quantize(in.normalX));
+		b.putShort(p + 8, quantize(in.normalY));
+		b.putShort(p + 10, quantize(in.normalZ));
+		
+		p = o + INPUT;
+		b.putFloat(p, in.gravity);
+		b.putFloat(p + 4, in.travelZ);
+		b.putFloat(p + 8, in.speedAbility);
+		b.putFloat(p + 12, in.aquaticAbility);
+		b.putFloat(p + 16, in.windX);
+		b.putFloat(p + 20, in.windY);
+		b.putFloat(p + 24, in.windZ);
+		b.putFloat(p + 28, in.rainAcc);
+		
+		p = o + PRE;
+		b.putFloat(p, pre.motionX);
+		b.putFloat(p + 4, pre.motionY);
+		b.putFloat(p + 8, pre.motionZ);
+		b.putFloat(p + 12, pre.tiltPitch);
+		b.putFloat(p + 16, pre.tiltRoll);
+		b.putFloat(p + 20, pre.tiltYaw);
+		b.putFloat(p + 24, pre.propStrength);
+		b.putFloat(p + 28, pre.propAcc);
+		b.putFloat(p + 32, pre.boostHeat);
+		b.putFloat(p + 36, pre.brakeStrength);
+		b.putFloat(p + 40, pre.brakeHeat);
+		b.putFloat(p + 44, pre.liftCut);
+		
+		p = o + POST;
+		b.putFloat(p, post.motionX);
+		b.putFloat(p + 4, post.motionY);
+		b.putFloat(p + 8, post.motionZ);
+		b.putFloat(p + 12, post.tiltPitch);
+		b.putFloat(p + 16, post.tiltRoll);
+		b.putFloat(p + 20, post.tiltYaw);
+		b.putFloat(p + 24, post.propStrength);
+		
+		head = head + 1 == capacity? 0 : head + 1;
+		if (size < capacity) size++;
+	}
+	
+	private static byte stateFlags(FlightState s) {
+		return (byte) ((s.boosted? BOOSTED : 0) | (s.braking? BRAKING : 0)
+		               | (s.brakeCooling? BRAKE_COOLING : 0));
+	}
+	
+	private static short quantize(float unit) {
+		return (short) Math.round(FlightKernel.clamp(unit, -1F, 1F) * UNIT_SCALE);
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Number of records currently held
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Profile of the held records, or null if nothing has been recorded
+	 */
+	public FlightProfile getProfile() {
+		return profile;
+	}
+	
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+	
+	/**
+	 * Write the held records, oldest first, preceded by a header with
+	 * the coefficients they were recorded with, so they can be replayed
+	 * without the config
+	 * @throws IllegalStateException if nothing has been recorded
+	 * @see FlightReplay#read
+	 */
+	public void write(OutputStream out) throws IOException {
+		if (profile == null) throw new IllegalStateException(
+		  "Nothing has been recorded");
+		final FlightCoefficients coefficients = profile.getCoefficients();
+		final DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeShort(VERSION);
+		data.writeShort(RECORD_SIZE);
+		data.writeInt(size);
+		coefficients.write(data);
+		final byte[] array = buffer.array();
+		final int start = size < capacity? 0 : head;
+		final int first = Math.min(size, capacity - start);
+		data.write(array, start * RECORD_SIZE, first * RECORD_SIZE);
+		data.write(array, 0, (size - first) * RECORD_SIZE);
+		data.flush();
+	}
+}
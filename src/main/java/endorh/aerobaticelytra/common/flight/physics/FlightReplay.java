@@ -0,0 +1,234 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static endorh.aerobaticelytra.common.flight.physics.FlightRecorder.*;
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+
+/**
+ * Replays the records written by a {@link FlightRecorder} through
+ * the {@link FlightKernel}, without Minecraft<br>
+ * Each record is stepped from its own recorded state, since the motion
+ * of consecutive ticks is also affected by collisions, which are not
+ * part of the kernel. The results are compared with the recorded ones
+ * to report divergences, and stepped repeatedly to measure throughput.<br>
+ * Can be run from the command line with the recording path, and
+ * optionally the number of timed passes.
+ */
+public class FlightReplay {
+	/**
+	 * Default error tolerated before a tick is considered divergent,
+	 * which accounts for the quantization of the rotation base
+	 */
+	public static final float DEFAULT_TOLERANCE = 1E-4F;
+	
+	private final FlightProfile profile;
+	private final ByteBuffer records;
+	private final int size;
+	
+	private FlightReplay(FlightProfile profile, ByteBuffer records, int size) {
+		this.profile = profile;
+		this.records = records;
+		this.size = size;
+	}
+	
+	/**
+	 * Read a recording written by {@link FlightRecorder#write}
+	 */
+	public static FlightReplay read(InputStream in) throws IOException {
+		final DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC)
+			throw new IOException("Not a flight recording");
+		final short version = data.readShort();
+		if (version != VERSION)
+			throw new IOException("Unsupported flight recording version: " + version);
+		if (data.readShort() != RECORD_SIZE)
+			throw new IOException("Unexpected flight record size");
+		final int size = data.readInt();
+		if (size < 0)
+			throw new IOException("Invalid flight record count: " + size);
+		final FlightProfile profile = FlightProfile.compile(new FlightCoefficients().read(data));
+		final byte[] array = new byte[size * RECORD_SIZE];
+		data.readFully(array);
+		return new FlightReplay(profile, ByteBuffer.wrap(array), size);
+	}
+	
+	public static FlightReplay read(Path path) throws IOException {
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+			return read(in);
+		}
+	}
+	
+	/**
+	 * Profile the recording was made with
+	 */
+	public FlightProfile getProfile() {
+		return profile;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int getTick(int i) {
+		return records.getInt(i * RECORD_SIZE + TICK);
+	}
+	
+	/**
+	 * Load the state before the step and the inputs of a record
+	 */
+	public void load(int i, FlightState state, FlightInput in) {
+		final ByteBuffer b = records;
+		final int o = i * RECORD_SIZE;
+		final int inputFlags = b.get(o + INPUT_FLAGS);
+		in.inWater = (inputFlags & IN_WATER) != 0;
+		in.crouching = (inputFlags & CROUCHING) != 0;
+		in.sprinting = (inputFlags & SPRINTING) != 0;
+		in.jumping = (inputFlags & JUMPING) != 0;
+		in.hasTravelInput = (inputFlags & HAS_TRAVEL_INPUT) != 0;
+		in.useWeather = (inputFlags & USE_WEATHER) != 0;
+		in.speedCapped = (inputFlags & SPEED_CAPPED) != 0;
+		in.inertia = (inputFlags & INERTIA) != 0;
+		
+		int p = o + BASE;
+		in.lookX = b.getShort(p) / UNIT_SCALE;
+		in.lookY = b.getShort(p + 2) / UNIT_SCALE;
+		in.lookZ = b.getShort(p + 4) / UNIT_SCALE;
+		in.normalX = b.getShort(p + 6) / UNIT_SCALE;
+		in.normalY = b.getShort(p + 8) / UNIT_SCALE;
+		in.normalZ = b.getShort(p + 10) / UNIT_SCALE;
+		
+		p = o + INPUT;
+		in.gravity = b.getFloat(p);
+		in.travelZ = b.getFloat(p + 4);
+		in.speedAbility = b.getFloat(p + 8);
+		in.aquaticAbility = b.getFloat(p + 12);
+		in.windX = b.getFloat(p + 16);
+		in.windY = b.getFloat(p + 20);
+		in.windZ = b.getFloat(p + 24);
+		in.rainAcc = b.getFloat(p + 28);
+		
+		final int preFlags = b.get(o + PRE_FLAGS);
+		state.boosted = (preFlags & BOOSTED) != 0;
+		state.braking = (preFlags & BRAKING) != 0;
+		state.brakeCooling = (preFlags & BRAKE_COOLING) != 0;
+		p = o + PRE;
+		state.motionX = b.getFloat(p);
+		state.motionY = b.getFloat(p + 4);
+		state.motionZ = b.getFloat(p + 8);
+		state.tiltPitch = b.getFloat(p + 12);
+		state.tiltRoll = b.getFloat(p + 16);
+		state.tiltYaw = b.getFloat(p + 20);
+		state.propStrength = b.getFloat(p + 24);
+		state.propAcc = b.getFloat(p + 28);
+		state.boostHeat = b.getFloat(p + 32);
+		state.brakeStrength = b.getFloat(p + 36);
+		state.brakeHeat = b.getFloat(p + 40);
+		state.liftCut = b.getFloat(p + 44);
+		state.events = 0;
+	}
+	
+	/**
+	 * Replay every record once, comparing the results with the recorded ones,
+	 * and then time {@code passes} replays of the whole recording
+	 * @param tolerance Error tolerated before a tick is considered divergent
+	 */
+	public Report run(float tolerance, int passes) {
+		final FlightState state = new FlightState();
+		final FlightInput in = new FlightInput();
+		final FlightProfile c = profile;
+		final ByteBuffer b = records;
+		final Report report = new Report();
+		report.records = size;
+		for (int i = 0; i < size; i++) {
+			load(i, state, in);
+			FlightKernel.step(state, in, c);
+			final int p = i * RECORD_SIZE + POST;
+			final float motionError = max(abs(state.motionX - b.getFloat(p)), max(
+			  abs(state.motionY - b.getFloat(p + 4)), abs(state.motionZ - b.getFloat(p + 8))));
+			final float tiltError = max(abs(state.tiltPitch - b.getFloat(p + 12)), max(
+			  abs(state.tiltRoll - b.getFloat(p + 16)), abs(state.tiltYaw - b.getFloat(p + 20))));
+			final float propError = abs(state.propStrength - b.getFloat(p + 24));
+			final boolean flagsMatch =
+			  (((state.boosted? BOOSTED : 0) | (state.braking? BRAKING : 0)
+			    | (state.brakeCooling? BRAKE_COOLING : 0)) == b.get(i * RECORD_SIZE + POST_FLAGS))
+			  && (byte) state.events == b.get(i * RECORD_SIZE + POST_EVENTS);
+			report.maxMotionError = max(report.maxMotionError, motionError);
+			report.maxTiltError = max(report.maxTiltError, tiltError);
+			report.maxPropulsionError = max(report.maxPropulsionError, propError);
+			if (!flagsMatch) report.flagMismatches++;
+			if (!flagsMatch || motionError > tolerance || tiltError > tolerance || propError > tolerance) {
+				if (report.divergentTicks++ == 0) report.firstDivergentTick = getTick(i);
+			}
+		}
+		
+		if (size > 0 && passes > 0) {
+			// Warm up with a single untimed pass
+			replay(state, in);
+			final long start = System.nanoTime();
+			for (int k = 0; k < passes; k++)
+				replay(state, in);
+			report.steps = (long) passes * size;
+			report.nanos = System.nanoTime() - start;
+		}
+		return report;
+	}
+	
+	private void replay(FlightState state, FlightInput in) {
+		for (int i = 0; i < size; i++) {
+			load(i, state, in);
+			FlightKernel.step(state, in, profile);
+		}
+	}
+	
+	/**
+	 * Result of {@link #run}
+	 */
+	public static class Report {
+		public int records;
+		public int divergentTicks;
+		public int firstDivergentTick = -1;
+		public int flagMismatches;
+		public float maxMotionError;
+		public float maxTiltError;
+		public float maxPropulsionError;
+		public long steps;
+		public long nanos;
+		
+		/**
+		 * Replayed steps per second, including the cost of loading each record
+		 */
+		public double getStepsPerSecond() {
+			return nanos > 0? steps * 1E9D / nanos : 0D;
+		}
+		
+		@Override public String toString() {
+			return String.format(
+			  "Replayed %d records: %d divergent (first at tick %d), %d flag mismatches%n"
+			  + "  Max errors: motion %.3g, tilt %.3g, propulsion %.3g%n"
+			  + "  Throughput: %.0f steps/s (%.1f ns/step)",
+			  records, divergentTicks, firstDivergentTick, flagMismatches,
+			  maxMotionError, maxTiltError, maxPropulsionError,
+			  getStepsPerSecond(), steps > 0? (double) nanos / steps : 0D);
+		}
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 3) {
+			System.err.println("Usage: FlightReplay <recording> [passes] [tolerance]");
+			System.exit(2);
+		}
+		final FlightReplay replay = read(Paths.get(args[0]));
+		final int passes = args.length > 1? Integer.parseInt(args[1]) : 1000;
+		final float tolerance = args.length > 2? Float.parseFloat(args[2]) : DEFAULT_TOLERANCE;
+		System.out.println(replay.run(tolerance, passes));
+	}
+}
@@ -0,0 +1,129 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.capability.IAerobaticData;
+
+/**
+ * Mutable physics state of a single aerobatic flyer, advanced
+ * by {@link FlightKernel#step}<br>
+ * Holds only primitive fields, so it can be reused across ticks
+ * without allocating
+ */
+public class FlightState {
+	/**
+	 * Set by {@link FlightKernel#step} when the boost was started
+	 */
+	public static final int BOOST_STARTED = 1;
+	/**
+	 * Set by {@link FlightKernel#step} when the boost was stopped
+	 */
+	public static final int BOOST_ENDED = 1 << 1;
+	/**
+	 * Set by {@link FlightKernel#step} when the motion exceeded the speed cap
+	 */
+	public static final int SPEED_CAPPED = 1 << 2;
+	
+	public float motionX;
+	public float motionY;
+	public float motionZ;
+	
+	public float prevMotionX;
+	public float prevMotionY;
+	public float prevMotionZ;
+	
+	public float tiltPitch;
+	public float tiltRoll;
+	public float tiltYaw;
+	
+	public float propStrength;
+	public float propAcc;
+	
+	public boolean boosted;
+	public float boostHeat;
+	
+	public boolean braking;
+	public boolean brakeCooling;
+	public float brakeStrength;
+	public float brakeHeat;
+	
+	public float liftCut;
+	
+	/**
+	 * Bit flags of the side effects the last step requires, see
+	 * {@link #BOOST_STARTED}, {@link #BOOST_ENDED} and {@link #SPEED_CAPPED}
+	 */
+	public int events;
+	/**
+	 * Largest motion component before applying the speed cap, only
+	 * meaningful if {@link #SPEED_CAPPED} is set
+	 */
+	public float uncappedSpeed;
+	
+	public boolean hasEvent(int event) {
+		return (events & event) != 0;
+	}
+	
+	public void setMotion(double x, double y, double z) {
+		motionX = (float) x;
+		motionY = (float) y;
+		motionZ = (float) z;
+	}
+	
+	/**
+	 * Load the state stored in the aerobatic data of a player
+	 */
+	public void load(IAerobaticData data) {
+		tiltPitch = data.getTiltPitch();
+		tiltRoll = data.getTiltRoll();
+		tiltYaw = data.getTiltYaw();
+		propStrength = data.getPropulsionStrength();
+		propAcc = data.getPropulsionAcceleration();
+		boosted = data.isBoosted();
+		boostHeat = data.getBoostHeat();
+		braking = data.isBraking();
+		brakeCooling = data.isBrakeCooling();
+		brakeStrength = data.getBrakeStrength();
+		brakeHeat = data.getBrakeHeat();
+		liftCut = data.getLiftCut();
+	}
+	
+	/**
+	 * Store the state into the aerobatic data of a player<br>
+	 * The lift cut is not stored, since it depends on collisions
+	 */
+	public void store(IAerobaticData data) {
+		data.setTiltPitch(tiltPitch);
+		data.setTiltRoll(tiltRoll);
+		data.setTiltYaw(tiltYaw);
+		data.setPropulsionStrength(propStrength);
+		data.setPropulsionAcceleration(propAcc);
+		data.setBoosted(boosted);
+		data.setBoostHeat(boostHeat);
+		data.setBraking(braking);
+		data.setBrakeCooling(brakeCooling);
+		data.setBrakeStrength(brakeStrength);
+		data.setBrakeHeat(brakeHeat);
+	}
+	
+	public void set(FlightState state) {
+		motionX = state.motionX;
+		motionY = state.motionY;
+		motionZ = state.motionZ;
+		prevMotionX = state.prevMotionX;
+		prevMotionY = state.prevMotionY;
+		prevMotionZ = state.prevMotionZ;
+		tiltPitch = state.tiltPitch;
+		tiltRoll = state.tiltRoll;
+		tiltYaw = state.tiltYaw;
+		propStrength = state.propStrength;
+		propAcc = state.propAcc;
+		boosted = state.boosted;
+		boostHeat = state.boostHeat;
+		braking = state.braking;
+		brakeCooling = state.brakeCooling;
+		brakeStrength = state.brakeStrength;
+		brakeHeat = state.brakeHeat;
+		liftCut = state.liftCut;
+		events = state.events;
+		uncappedSpeed = state.uncappedSpeed;
+	}
+}
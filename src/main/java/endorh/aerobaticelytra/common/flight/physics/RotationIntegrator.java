@@ -0,0 +1,136 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.VectorBase;
+
+/**
+ * Fixed timestep accumulator for the rotation of an aerobatic flyer<br>
+ * Time is measured in ticks, rather than wall-clock time, and advanced
+ * in {@link #SUBSTEPS} fixed steps per tick, so the rotation only
+ * depends on the inputs, not on the frame rate or the server load.<br>
+ * Frames between steps only interpolate between the last two steps,
+ * using {@link #interpolate}.
+ */
+public class RotationIntegrator {
+	/**
+	 * Fixed steps per tick
+	 */
+	public static final int SUBSTEPS = 4;
+	/**
+	 * Duration of a single step, in ticks
+	 */
+	public static final float STEP = 1F / SUBSTEPS;
+	/**
+	 * Maximum number of steps to catch up with in a single call<br>
+	 * Longer gaps (e.g., lag spikes) are skipped
+	 */
+	public static final int MAX_STEPS = 20 * SUBSTEPS;
+	
+	private final VectorBase prevBase = new VectorBase();
+	private long step;
+	private float alpha;
+	private boolean started;
+	
+	/**
+	 * Advance the accumulator to the given time.<br>
+	 * The caller must then perform the returned number of steps,
+	 * calling {@link #savePrevious} before each one.
+	 *
+	 * @param time Target time, in ticks
+	 * @param base Rotation base, used to initialize the accumulator
+	 * @return The number of fixed steps to perform
+	 */
+	public int advance(double time, VectorBase base) {
+		final double scaled = time * SUBSTEPS;
+		final long target = (long) Math.floor(scaled);
+		alpha = (float) (scaled - target);
+		if (!started || target < step) {
+			// Start (or restart after the time went backwards)
+			started = true;
+			step = target;
+			prevBase.set(base);
+			return 0;
+		}
+		final long steps = Math.min(target - step, MAX_STEPS);
+		step = target;
+		return (int) steps;
+	}
+	
+	/**
+	 * Perform fixed rotation steps on the base, as returned by {@link #advance}<br>
+	 * Only touches this integrator and the base, so different flyers
+	 * may be integrated concurrently.
+	 *
+	 * @param steps Number of steps to perform
+	 * @param windPitch Angular wind around the pitch axis (likewise for yaw/roll)
+	 */
+	public void integrate(
+	  VectorBase base, int steps,
+	  float motionX, float motionY, float motionZ,
+	  float tiltPitch, float tiltRoll, float tiltYaw,
+	  float windPitch, float windYaw, float windRoll, boolean inWater
+	) {
+		for (int i = 0; i < steps; i++) {
+			savePrevious(base);
+			float strength = motionX * base.getLookX() + motionY * base.getLookY() + motionZ * base.getLookZ();
+			if (inWater)
+				strength = strength * strength / (Math.abs(strength) + 2) + 0.5F;
+			final float pitch = (-tiltPitch * strength - windPitch) * STEP;
+			float yaw = (tiltYaw * strength - windYaw) * STEP;
+			final float roll = (tiltRoll * strength + windRoll) * STEP;
+			if (inWater) yaw *= 4F;
+			
+			base.rotate(pitch, yaw, roll);
+		}
+	}
+	
+	/**
+	 * Store the state of the base before performing a step
+	 */
+	public void savePrevious(VectorBase base) {
+		prevBase.set(base);
+	}
+	
+	/**
+	 * Copy the base stored by the last step of another integrator,
+	 * after it integrated a copy of the base of this one
+	 */
+	public void setPrevious(RotationIntegrator integrator) {
+		prevBase.set(integrator.prevBase);
+	}
+	
+	/**
+	 * Interpolate between the previous step and the current step
+	 * of the base, according to the time passed to the last call to
+	 * {@link #advance}
+	 *
+	 * @param base Current rotation base
+	 * @param out Destination base
+	 */
+	public void interpolate(VectorBase base, VectorBase out) {
+		if (alpha <= 0F) {
+			out.set(base);
+		} else out.lerp(prevBase, base, alpha);
+	}
+	
+	/**
+	 * Interpolation factor between the last two steps
+	 */
+	public float getAlpha() {
+		return alpha;
+	}
+	
+	/**
+	 * Current step time, in ticks
+	 */
+	public double getTime() {
+		return step / (double) SUBSTEPS;
+	}
+	
+	/**
+	 * Restart the accumulator on the next call to {@link #advance}
+	 */
+	public void reset() {
+		started = false;
+		alpha = 0F;
+	}
+}
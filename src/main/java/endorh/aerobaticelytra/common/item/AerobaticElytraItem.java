@@ -52,12 +52,11 @@ import org.jetbrains.annotations.Nullable;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
 import static endorh.aerobaticelytra.common.capability.ElytraSpecCapability.getElytraSpec;
 import static endorh.aerobaticelytra.common.capability.ElytraSpecCapability.getElytraSpecOrDefault;
-import static endorh.aerobaticelytra.common.capability.FlightDataCapability.getFlightData;
+import static endorh.aerobaticelytra.common.capability.FlightDataCapability.getFlightDataOrNull;
 import static endorh.lazulib.common.ForgeUtil.getSerializedCaps;
 import static endorh.lazulib.text.TextUtil.stc;
 import static endorh.lazulib.text.TextUtil.ttc;
@@ -283,10 +282,9 @@ public class AerobaticElytraItem extends ElytraItem implements Equipable, Dyeabl
 	@Override
 	public boolean canElytraFly(@NotNull ItemStack stack, @NotNull LivingEntity entity) {
 		if (entity instanceof Player player) {
-			Optional<IFlightData> dat = getFlightData(player);
-			if (dat.isEmpty())
+			IFlightData fd = getFlightDataOrNull(player);
+			if (fd == null)
 				return false;
-			IFlightData fd = dat.get();
 			if (!fd.getFlightMode().is(FlightModeTags.ELYTRA))
 				return false;
 			if (player.isCreative())
@@ -299,9 +297,9 @@ public class AerobaticElytraItem extends ElytraItem implements Equipable, Dyeabl
 	public boolean elytraFlightTick(@NotNull ItemStack stack, LivingEntity entity, int flightTicks) {
 		if (!entity.level().isClientSide && (flightTicks + 1) % 20 == 0 && !Config.item.undamageable)
 			stack.hurtAndBreak(1, entity, e -> e.broadcastBreakEvent(EquipmentSlot.CHEST));
-		if (entity instanceof Player) {
-			IAerobaticData data = getAerobaticDataOrDefault((Player) entity);
-			if (data.isFlying() && !((Player) entity).isCreative()) {
+		if (entity instanceof Player player) {
+			IAerobaticData data = getAerobaticDataOrDefault(player);
+			if (data.isFlying() && !player.isCreative()) {
 				float rel_prop = abs(data.getPropulsionStrength()) /
 				                 max(
 				                   abs(propulsion.range_tick.getFloatMax()),
@@ -311,7 +309,7 @@ public class AerobaticElytraItem extends ElytraItem implements Equipable, Dyeabl
 				                   Mth.sqrt(rel_prop) * Config.fuel.usage_sqrt_tick;
 				if (data.isBoosted())
 					fuel_usage *= Config.fuel.usage_boost_multiplier;
-				IElytraSpec spec = getElytraSpecOrDefault(stack);
+				IElytraSpec spec = data.getFlightContext().update().getSpec(stack);
 				spec.setAbility(
 				  Ability.FUEL, max(0F, min(spec.getAbility(Ability.MAX_FUEL), spec.getAbility(
 					 Ability.FUEL) - fuel_usage)));
@@ -0,0 +1,74 @@
+package endorh.aerobaticelytra.common.registry;
+
+import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.item.IAbility;
+import endorh.aerobaticelytra.common.item.IAbility.Ability;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import java.util.Collection;
+
+/**
+ * Dense indices of all registered abilities, built on each ability bake<br>
+ * Built-in {@link Ability}s always take the indices given by their
+ * ordinals, so they can be indexed without hashing. Mod and datapack
+ * abilities follow.<br>
+ * Layouts are immutable, and a new one is created on every bake, so holders
+ * of dense ability arrays can detect they must remap them by identity.
+ */
+public final class AbilityLayout {
+	/**
+	 * Layout with only the built-in abilities, used before the registry is baked
+	 */
+	public static final AbilityLayout BUILTIN = new AbilityLayout(new IAbility[0]);
+	
+	private final IAbility[] abilities;
+	private final String[] names;
+	private final Reference2IntOpenHashMap<IAbility> indices;
+	
+	private AbilityLayout(IAbility[] extra) {
+		final Ability[] builtIn = Ability.values();
+		abilities = new IAbility[builtIn.length + extra.length];
+		System.arraycopy(builtIn, 0, abilities, 0, builtIn.length);
+		System.arraycopy(extra, 0, abilities, builtIn.length, extra.length);
+		names = new String[abilities.length];
+		for (int i = 0; i < builtIn.length; i++)
+			names[i] = AerobaticElytra.MOD_ID + ':' + builtIn[i].getName();
+		indices = new Reference2IntOpenHashMap<>(extra.length);
+		indices.defaultReturnValue(-1);
+		for (int i = builtIn.length; i < abilities.length; i++) {
+			indices.put(abilities[i], i);
+			names[i] = abilities[i].fullName();
+		}
+	}
+	
+	static AbilityLayout of(Collection<IAbility> abilities) {
+		return new AbilityLayout(abilities.stream()
+		  .filter(a -> !(a instanceof Ability))
+		  .distinct().toArray(IAbility[]::new));
+	}
+	
+	/**
+	 * Index of an ability, or -1 if it's not part of this layout
+	 */
+	public int indexOf(IAbility ability) {
+		if (ability instanceof Ability builtIn)
+			return builtIn.ordinal();
+		return indices.getInt(ability);
+	}
+	
+	public IAbility get(int index) {
+		return abilities[index];
+	}
+	
+	/**
+	 * Full name of the ability at an index, as it was when this layout
+	 * was built, so it's available even after the ability is unregistered
+	 */
+	public String getName(int index) {
+		return names[index];
+	}
+	
+	public int size() {
+		return abilities.length;
+	}
+}
@@ -2,6 +2,7 @@ package endorh.aerobaticelytra.common.registry;
 
 import endorh.aerobaticelytra.AerobaticElytra;
 import endorh.aerobaticelytra.common.event.AerobaticElytraAbilitiesReloadedEvent;
+import endorh.aerobaticelytra.common.flight.mode.FlightModeDispatch;
 import endorh.aerobaticelytra.common.flight.mode.FlightModes;
 import endorh.aerobaticelytra.common.flight.mode.IFlightMode;
 import endorh.aerobaticelytra.common.item.AbilityReloadManager;
@@ -53,6 +54,7 @@ public class AerobaticElytraRegistries {
 	private static final Map<IAbility, ResourceLocation> ABILITY_NAMES = new HashMap<>();
 	private static final Map<String, IAbility> JSON_TO_ABILITY = new HashMap<>();
 	private static final Set<IDatapackAbility> OUTDATED_ABILITIES = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+	private static volatile AbilityLayout ABILITY_LAYOUT = AbilityLayout.BUILTIN;
 	
 	public static @Nullable ResourceLocation getAbilityKey(IAbility ability) {
 		return ABILITY_NAMES.get(ability);
@@ -66,6 +68,14 @@ public class AerobaticElytraRegistries {
 		return Collections.unmodifiableMap(ABILITIES);
 	}
 	
+	/**
+	 * Dense indices of the currently registered abilities<br>
+	 * A new layout is created on every ability bake
+	 */
+	public static AbilityLayout getAbilityLayout() {
+		return ABILITY_LAYOUT;
+	}
+	
 	@SuppressWarnings("unused")
 	public static Map<ResourceLocation, IEffectAbility> getEffectAbilities() {
 		return Collections.unmodifiableMap(EFFECT_ABILITIES);
@@ -125,6 +135,7 @@ public class AerobaticElytraRegistries {
 	) {
 		FLIGHT_MODE_LIST = new ArrayList<>(owner.getValues());
 		FLIGHT_MODE_LIST.sort(Comparator.comparingInt(IFlightMode::getRegistryOrder));
+		FlightModeDispatch.bake(owner.getValues());
 	}
 	
 	public static void onAbilityRegistryBake(
@@ -157,6 +168,7 @@ public class AerobaticElytraRegistries {
 				ABILITY_NAMES.put(entry.getValue(), entry.getKey());
 			}
 		}
+		ABILITY_LAYOUT = AbilityLayout.of(ABILITIES.values());
 		// final Map<String, Map<String, IAbility>> namespaceSet = new HashMap<>();
 		final Map<String, ChatFormatting> abilityColors = new HashMap<>();
 		final Map<String, MutableComponent> abilityTranslations = new HashMap<>();
@@ -4,9 +4,8 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import endorh.aerobaticelytra.AerobaticElytra;
-import endorh.aerobaticelytra.common.AerobaticElytraLogic;
-import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
 import endorh.aerobaticelytra.common.capability.IElytraSpec;
+import endorh.aerobaticelytra.common.flight.FlightContext;
 import endorh.aerobaticelytra.common.item.IEffectAbility;
 import endorh.aerobaticelytra.common.item.IEffectAbility.EffectAbility;
 import endorh.aerobaticelytra.common.item.IEffectAbility.EffectAbility.Deserializer;
@@ -15,7 +14,6 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
-import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.storage.loot.Deserializers;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.LootParams;
@@ -55,13 +53,13 @@ public class JsonAbilityManager extends SimpleJsonResourceReloadListener {
 	
 	@SubscribeEvent
 	public static void onPlayerTick(PlayerTickEvent event) {
-		if (event.phase != Phase.END || !AerobaticElytraLogic.hasAerobaticElytra(event.player) || event.side != LogicalSide.SERVER)
+		if (event.phase != Phase.END || event.side != LogicalSide.SERVER)
 			return;
 		ServerPlayer player = ((ServerPlayer) event.player);
-		ItemStack elytra = AerobaticElytraLogic.getAerobaticElytra(player);
-		if (elytra.isEmpty())
+		final FlightContext context = FlightContext.of(player);
+		if (!context.hasElytra())
 			return;
-		final IElytraSpec spec = ElytraSpecCapability.getElytraSpecOrDefault(elytra);
+		final IElytraSpec spec = context.getSpec();
 		final Map<IEffectAbility, Boolean> abilities = spec.getEffectAbilities();
 		if (!abilities.isEmpty()) {
 			final LootContext ctx = createEffectAbilityLootContext(player);
@@ -3,19 +3,17 @@ package endorh.aerobaticelytra.debug;
 import endorh.aerobaticelytra.common.capability.IAerobaticData;
 import endorh.aerobaticelytra.common.flight.VectorBase;
 import endorh.aerobaticelytra.common.flight.WeatherData;
-import endorh.aerobaticelytra.common.flight.WeatherData.WeatherRegion;
-import endorh.aerobaticelytra.common.flight.WeatherData.WindRegion;
+import endorh.aerobaticelytra.common.flight.WeatherData.LevelWeather;
+import endorh.aerobaticelytra.common.flight.WeatherData.RegionSnapshot;
+import endorh.aerobaticelytra.common.flight.WeatherData.Snapshot;
 import endorh.lazulib.math.Vec3f;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.Level;
 import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static endorh.aerobaticelytra.common.capability.AerobaticDataCapability.getAerobaticDataOrDefault;
 import static java.lang.String.format;
@@ -40,19 +38,14 @@ public class DebugOverlay {
 		List<String> ret = new ArrayList<>();
 		
 		ret.add("Loaded regions: ");
-		synchronized (WeatherData.weatherRegions) {
-			for (Level world: WeatherData.weatherRegions.keySet()) {
-				final Map<Pair<Long, Long>, WeatherRegion> worldRegions =
-				  WeatherData.weatherRegions.get(world);
-				synchronized (worldRegions) {
-					ret.add(format("  World: %s: %d", world, worldRegions.size()));
-					/*if (Screen.hasAltDown()) {
-						for (WeatherRegion region : worldRegions.values()) {
-							ret.add(format("    %s", region));
-						}
-					}*/
+		for (LevelWeather weather: WeatherData.levelWeather.values()) {
+			final Snapshot snapshot = weather.getSnapshot();
+			ret.add(format("  World: %s: %d", weather.world, snapshot.regions().size()));
+			/*if (Screen.hasAltDown()) {
+				for (RegionSnapshot region : snapshot.regions().values()) {
+					ret.add(format("    %s", region));
 				}
-			}
+			}*/
 		}
 		
 		ret.add("");
@@ -95,9 +88,9 @@ public class DebugOverlay {
 		IAerobaticData data = getAerobaticDataOrDefault(player);
 		VectorBase rotation = data.getRotationBase();
 		
-		ret.add("Look: " + rotation.look.toString());
-		ret.add("Normal: " + rotation.normal.toString());
-		ret.add("Roll: " + rotation.roll.toString());
+		ret.add("Look: " + rotation.getLook());
+		ret.add("Normal: " + rotation.getNormal());
+		ret.add("Roll: " + rotation.getRoll());
 		
 		ret.add("");
 		
@@ -118,10 +111,10 @@ public class DebugOverlay {
 		
 		ret.add("");
 		
-		WindRegion node = WindRegion.of(
-		  player.level(), WeatherRegion.scale(player.getX()), WeatherRegion.scale(player.getZ()));
-		ret.add("Wind: " + node.wind);
-		ret.add("Angular Wind: " + node.angularWind);
+		final RegionSnapshot region = LevelWeather.of(player.level()).getSnapshot()
+		  .regionAt(player.getX(), player.getZ());
+		ret.add("Wind: " + (region != null? region.wind() : "-"));
+		ret.add("Angular Wind: " + (region != null? region.angularWind() : "-"));
 		
 		ret.add(format("Affected by weather: %b", data.isAffectedByWeather()));
 		
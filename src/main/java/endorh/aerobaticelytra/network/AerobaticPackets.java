@@ -15,14 +15,12 @@ import endorh.lazulib.network.DistributedPlayerPacket;
 import endorh.lazulib.network.ServerPlayerPacket;
 import endorh.lazulib.network.ValidatedDistributedPlayerPacket;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.network.NetworkEvent.Context;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -128,18 +126,13 @@ public class AerobaticPackets {
 		@Override protected void onServer(Player sender, Context ctx) {
 			IAerobaticData data = getAerobaticDataOrDefault(sender);
 			if (!Config.network.disable_aerobatic_elytra_rotation_check && !sender.isInWater()) {
-				MinecraftServer server = sender.getServer();
-				assert server != null;
-				long[] times = server.getTickTime(sender.level().dimension());
-				long mspt = times != null? max(Arrays.stream(times).sum() / times.length, 50L) : 50L;
+				// Rotation advances in fixed steps per tick on both sides, so only
+				//   network latency needs to be taken into account, plus extra tolerance
 				float lag = max(50F, ((ServerPlayer) sender).latency);
-				
-				// Take lag into account when validating packets, plus extra tolerance
-				float overlook =
-				  (mspt / 50F) * (lag / 50F) * Config.network.aerobatic_elytra_rotation_check_overlook;
+				float overlook = (lag / 50F) * Config.network.aerobatic_elytra_rotation_check_overlook;
 				// Multiply by motion strength, plus extra tolerance
 				float mul =
-				  overlook * max(0.2F, abs(new Vec3f(sender.getDeltaMovement()).dot(rotation.look)));
+				  overlook * max(0.2F, abs(new Vec3f(sender.getDeltaMovement()).dot(rotation.getLook())));
 				
 				float[] distance = data.getRotationBase().distance(rotation);
 				float tiltYaw = validateClose(distance[0], 0F, Config.aerobatic.tilt.range_yaw * mul);
@@ -0,0 +1,173 @@
+package endorh.aerobaticelytra.network;
+
+import endorh.aerobaticelytra.common.capability.BrokenLeavesCapability;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesCapability.BrokenLeaves;
+import endorh.aerobaticelytra.common.capability.BrokenLeavesSection;
+import endorh.aerobaticelytra.common.capability.IBrokenLeaves;
+import endorh.lazulib.network.ServerWorldPacket;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.network.NetworkEvent.Context;
+import net.minecraftforge.network.PacketDistributor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+public class BrokenLeavesPackets {
+	
+	public static void registerAll() {
+		ServerWorldPacket.with(NetworkHandler.CHANNEL, NetworkHandler.ID_GEN)
+		  .register(SBrokenLeavesSectionPacket::new)
+		  .register(SBrokenLeavesChunkPacket::new);
+	}
+	
+	/**
+	 * Request a single re-mesh of a chunk section
+	 */
+	private static void setSectionDirty(int x, int y, int z) {
+		Minecraft.getInstance().levelRenderer.setSectionDirty(x, y, z);
+	}
+	
+	/**
+	 * Sync the changes to the replaced leaves of a chunk section during a tick<br>
+	 * Changes are accumulated in the server until the end of the tick,
+	 * and encoded as a palette of the replaced leaves, followed by one
+	 * var int per change, packing its index within the section in its
+	 * lower 12 bits, and its palette index above them, with 0 standing
+	 * for removed leaves. Changes are applied in order.
+	 */
+	public static class SBrokenLeavesSectionPacket extends ServerWorldPacket {
+		protected SectionPos section;
+		protected BlockState[] palette = new BlockState[] {null};
+		protected int paletteSize = 1;
+		protected int[] changes = new int[16];
+		protected int size;
+		
+		private SBrokenLeavesSectionPacket() {}
+		
+		public SBrokenLeavesSectionPacket(ServerLevel level, SectionPos section) {
+			super(level);
+			this.section = section;
+		}
+		
+		/**
+		 * Add a change to the replaced leaves of a block
+		 * @param index Index within the section
+		 * @see BrokenLeavesSection#index
+		 */
+		public void add(int index, @Nullable BlockState state) {
+			if (size == changes.length) changes = Arrays.copyOf(changes, size * 2);
+			changes[size++] = paletteIndex(state) << 12 | index;
+		}
+		
+		private int paletteIndex(@Nullable BlockState state) {
+			if (state == null) return 0;
+			for (int i = 1; i < paletteSize; i++)
+				if (palette[i] == state) return i;
+			if (paletteSize == palette.length)
+				palette = Arrays.copyOf(palette, paletteSize * 2);
+			palette[paletteSize] = state;
+			return paletteSize++;
+		}
+		
+		public SectionPos getSection() {
+			return section;
+		}
+		
+		@Override public void onClient(Level world, Context ctx) {
+			final LevelChunk chunk = world.getChunkSource().getChunkNow(section.x(), section.z());
+			if (chunk == null) return;
+			final IBrokenLeaves leaves = BrokenLeavesCapability.getBrokenLeavesOrNull(chunk);
+			if (leaves == null) return;
+			final int x = section.minBlockX(), y = section.minBlockY(), z = section.minBlockZ();
+			for (int i = 0; i < size; i++) {
+				final int change = changes[i];
+				final int p = change >>> 12;
+				leaves.setReplacedLeaves(
+				  x + (change & 15), y + (change >> 8 & 15), z + (change >> 4 & 15),
+				  p < paletteSize? palette[p] : null);
+			}
+			setSectionDirty(section.x(), section.y(), section.z());
+		}
+		
+		@Override public void serialize(FriendlyByteBuf buf) {
+			buf.writeLong(section.asLong());
+			buf.writeVarInt(paletteSize - 1);
+			for (int i = 1; i < paletteSize; i++)
+				buf.writeVarInt(Block.getId(palette[i]));
+			buf.writeVarInt(size);
+			for (int i = 0; i < size; i++)
+				buf.writeVarInt(changes[i]);
+		}
+		
+		@Override public void deserialize(FriendlyByteBuf buf) {
+			section = SectionPos.of(buf.readLong());
+			paletteSize = buf.readVarInt() + 1;
+			palette = new BlockState[paletteSize];
+			for (int i = 1; i < paletteSize; i++)
+				palette[i] = Block.stateById(buf.readVarInt());
+			size = buf.readVarInt();
+			changes = new int[size];
+			for (int i = 0; i < size; i++)
+				changes[i] = buf.readVarInt();
+		}
+		
+		public void sendTracking(LevelChunk chunk) {
+			sendTarget(PacketDistributor.TRACKING_CHUNK.with(() -> chunk));
+		}
+	}
+	
+	/**
+	 * Sync all the broken leaves of a chunk, replacing the ones
+	 * known by the client
+	 */
+	public static class SBrokenLeavesChunkPacket extends ServerWorldPacket {
+		protected ChunkPos pos;
+		protected CompoundTag data;
+		
+		private SBrokenLeavesChunkPacket() {}
+		
+		public SBrokenLeavesChunkPacket(ServerLevel level, ChunkPos pos, IBrokenLeaves leaves) {
+			super(level);
+			this.pos = pos;
+			data = leaves.serializeCapability();
+			// Regrowth is only scheduled on the server
+			data.remove(BrokenLeaves.TAG_REGROWTH);
+		}
+		
+		@Override public void onClient(Level world, Context ctx) {
+			final LevelChunk chunk = world.getChunkSource().getChunkNow(pos.x, pos.z);
+			if (chunk == null) return;
+			final IBrokenLeaves leaves = BrokenLeavesCapability.getBrokenLeavesOrNull(chunk);
+			if (leaves == null) return;
+			leaves.deserializeCapability(data);
+			for (int y = chunk.getMinSection(); y < chunk.getMaxSection(); y++)
+				if (leaves.getSection(y) != null)
+					setSectionDirty(pos.x, y, pos.z);
+		}
+		
+		@Override public void serialize(FriendlyByteBuf buf) {
+			buf.writeChunkPos(pos);
+			buf.writeNbt(data);
+		}
+		
+		@Override public void deserialize(FriendlyByteBuf buf) {
+			pos = buf.readChunkPos();
+			data = buf.readNbt();
+			if (data == null) data = new CompoundTag();
+		}
+		
+		public void sendToTracker(ServerPlayer player) {
+			sendTarget(PacketDistributor.PLAYER.with(() -> player));
+		}
+	}
+}
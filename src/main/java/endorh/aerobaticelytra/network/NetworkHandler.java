@@ -16,7 +16,7 @@ import java.util.function.Supplier;
  */
 @EventBusSubscriber(bus = Bus.MOD, modid = AerobaticElytra.MOD_ID)
 public class NetworkHandler {
-	protected static final String PROTOCOL_VERSION = "1";
+	protected static final String PROTOCOL_VERSION = "5";
 	protected static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
 	  AerobaticElytra.prefix("main"),
 	  () -> PROTOCOL_VERSION,
@@ -32,6 +32,7 @@ public class NetworkHandler {
 		AerobaticPackets.registerAll();
 		UpgradeRecipePacket.register();
 		WeatherPackets.registerAll();
+		BrokenLeavesPackets.registerAll();
 		DebugPackets.registerAll();
 		AerobaticElytra.logRegistered("Packets");
 	}
@@ -1,12 +1,16 @@
 package endorh.aerobaticelytra.network;
 
 import endorh.aerobaticelytra.common.flight.WeatherData;
+import endorh.aerobaticelytra.common.flight.WeatherData.LevelWeather;
+import endorh.aerobaticelytra.common.flight.WindField;
 import endorh.aerobaticelytra.common.flight.WeatherData.WindRegion;
-import endorh.lazulib.math.Vec3f;
 import endorh.lazulib.network.ServerWorldPacket;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.network.NetworkEvent.Context;
+import net.minecraftforge.network.PacketDistributor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,48 +20,132 @@ public class WeatherPackets {
 	
 	public static void registerAll() {
 		ServerWorldPacket.with(NetworkHandler.CHANNEL, NetworkHandler.ID_GEN)
-		  .register(SWindNodePacket::new);
+		  .register(SWindUpdatePacket::new)
+		  .register(SWindFieldPacket::new);
 	}
 	
-	public static class SWindNodePacket extends ServerWorldPacket {
-		protected WindRegion node = null;
+	/**
+	 * Wind of the regions a player samples its wind from<br>
+	 * Sent to each player every {@code weather.wind_sync_interval} ticks,
+	 * instead of one packet per region. Only regions with wind are
+	 * included, marked in a mask, where bit {@code i} stands for the
+	 * region at {@code (x + (i & 1), z + (i >> 1))}.<br>
+	 * Vector components are quantized to 16 bits, relative to the
+	 * largest component of the same kind in the packet.
+	 * @see WeatherData#sampleWind
+	 */
+	public static class SWindUpdatePacket extends ServerWorldPacket {
+		private static final float QUANTUM = Short.MAX_VALUE;
 		protected long x;
 		protected long z;
-		public Vec3f wind;
-		public Vec3f angularWind;
+		protected int interval;
+		protected int mask;
+		/**
+		 * Wind and angular wind components of each region, in mask order
+		 */
+		protected final float[] data = new float[4 * 6];
 		
-		private SWindNodePacket() {}
+		private SWindUpdatePacket() {}
 		
-		public SWindNodePacket(WindRegion node) {
-			super(node.region.world);
-			this.node = node;
-			x = node.region.x;
-			z = node.region.z;
-			wind = node.wind;
-			angularWind = node.angularWind;
+		public SWindUpdatePacket(ServerLevel level, long x, long z, int interval) {
+			super(level);
+			this.x = x;
+			this.z = z;
+			this.interval = interval;
+		}
+		
+		/**
+		 * Include a region
+		 * @param i Index of the region in the mask
+		 */
+		public void set(int i, WindRegion region) {
+			mask |= 1 << i;
+			final int o = i * 6;
+			data[o] = region.wind.x;
+			data[o + 1] = region.wind.y;
+			data[o + 2] = region.wind.z;
+			data[o + 3] = region.angularWind.x;
+			data[o + 4] = region.angularWind.y;
+			data[o + 5] = region.angularWind.z;
+		}
+		
+		@Override public void onClient(Level world, Context ctx) {
+			LevelWeather.of(world).submit(w -> {
+				for (int i = 0; i < 4; i++) if ((mask & 1 << i) != 0)
+					WindRegion.of(w.world, x + (i & 1), z + (i >> 1)).receive(data, i * 6, interval);
+			});
+		}
+		
+		private float scale(int offset) {
+			float max = 0F;
+			for (int i = 0; i < 4; i++) if ((mask & 1 << i) != 0)
+				for (int j = 0; j < 3; j++)
+					max = Math.max(max, Math.abs(data[i * 6 + offset + j]));
+			return max;
+		}
+		
+		@Override public void serialize(FriendlyByteBuf buf) {
+			buf.writeInt((int) x);
+			buf.writeInt((int) z);
+			buf.writeByte(interval);
+			buf.writeByte(mask);
+			final float windScale = scale(0), angularScale = scale(3);
+			buf.writeFloat(windScale);
+			buf.writeFloat(angularScale);
+			for (int i = 0; i < 4; i++) if ((mask & 1 << i) != 0) {
+				for (int j = 0; j < 6; j++) {
+					final float s = j < 3? windScale : angularScale;
+					buf.writeShort(s > 0F? Math.round(data[i * 6 + j] / s * QUANTUM) : 0);
+				}
+			}
+		}
+		
+		@Override public void deserialize(FriendlyByteBuf buf) {
+			x = buf.readInt();
+			z = buf.readInt();
+			interval = buf.readUnsignedByte();
+			mask = buf.readUnsignedByte();
+			final float windScale = buf.readFloat(), angularScale = buf.readFloat();
+			for (int i = 0; i < 4; i++) if ((mask & 1 << i) != 0) {
+				for (int j = 0; j < 6; j++)
+					data[i * 6 + j] = buf.readShort() / QUANTUM * (j < 3? windScale : angularScale);
+			}
+		}
+		
+		public void sendTo(ServerPlayer player) {
+			sendTarget(PacketDistributor.PLAYER.with(() -> player));
+		}
+	}
+	
+	/**
+	 * Sync the seed of the wind field of a level, for the coherent wind model<br>
+	 * Clients evaluate the field on their own, so this is all they need.
+	 */
+	public static class SWindFieldPacket extends ServerWorldPacket {
+		protected long seed;
+		
+		private SWindFieldPacket() {}
+		
+		public SWindFieldPacket(ServerLevel level, long seed) {
+			super(level);
+			this.seed = seed;
 		}
 		
 		@Override public void onClient(Level world, Context ctx) {
-			WindRegion node = WindRegion.of(world, x, z);
-			node.update(this);
+			final WindField field = new WindField(seed);
+			LevelWeather.of(world).submit(w -> w.setWindField(field));
 		}
 		
 		@Override public void serialize(FriendlyByteBuf buf) {
-			buf.writeLong(x);
-			buf.writeLong(z);
-			wind.write(buf);
-			angularWind.write(buf);
+			buf.writeLong(seed);
 		}
 		
 		@Override public void deserialize(FriendlyByteBuf buf) {
-			x = buf.readLong();
-			z = buf.readLong();
-			wind = Vec3f.read(buf);
-			angularWind = Vec3f.read(buf);
+			seed = buf.readLong();
 		}
 		
-		public void sendTracking() {
-			sendTarget(WeatherData.TRACKING_WEATHER_REGION.with(() -> node.region));
+		public void sendTo(ServerPlayer player) {
+			sendTarget(PacketDistributor.PLAYER.with(() -> player));
 		}
 	}
 }
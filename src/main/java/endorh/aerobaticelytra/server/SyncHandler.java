@@ -1,6 +1,7 @@
 package endorh.aerobaticelytra.server;
 
 import endorh.aerobaticelytra.AerobaticElytra;
+import endorh.aerobaticelytra.common.flight.WeatherData;
 import endorh.aerobaticelytra.network.AerobaticPackets.SAerobaticDataPacket;
 import endorh.aerobaticelytra.network.AerobaticPackets.SFlightDataPacket;
 import net.minecraft.server.level.ServerPlayer;
@@ -42,16 +43,19 @@ public class SyncHandler {
 	@SubscribeEvent
 	public static void onPlayerChangedDimension(PlayerChangedDimensionEvent event) {
 		// reset((ServerPlayerEntity) event.getEntity());
+		WeatherData.syncWindField((ServerPlayer) event.getEntity());
 	}
 	
 	private static void update(ServerPlayer player) {
 		new SFlightDataPacket(player).sendTo(player);
 		new SAerobaticDataPacket(player).sendTo(player);
+		WeatherData.syncWindField(player);
 	}
 	private static void reset(ServerPlayer player) {
 		getFlightDataOrDefault(player).reset();
 		getAerobaticDataOrDefault(player).reset();
 		new SFlightDataPacket(player).sendTo(player);
 		new SAerobaticDataPacket(player).sendTo(player);
+		WeatherData.syncWindField(player);
 	}
 }
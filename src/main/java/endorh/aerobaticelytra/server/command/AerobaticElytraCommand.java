@@ -17,6 +17,9 @@ import endorh.aerobaticelytra.AerobaticElytra;
 import endorh.aerobaticelytra.common.AerobaticElytraLogic;
 import endorh.aerobaticelytra.common.capability.ElytraSpecCapability;
 import endorh.aerobaticelytra.common.capability.IElytraSpec;
+import endorh.aerobaticelytra.common.flight.FlightRecording;
+import endorh.aerobaticelytra.common.flight.WeatherData;
+import endorh.aerobaticelytra.common.flight.WeatherData.LevelWeather;
 import endorh.aerobaticelytra.common.item.AerobaticElytraWingItem;
 import endorh.aerobaticelytra.common.item.IAbility;
 import endorh.aerobaticelytra.common.registry.AerobaticElytraRegistries;
@@ -29,6 +32,7 @@ import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.network.chat.*;
 import net.minecraft.network.chat.ClickEvent.Action;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.packs.PackResources;
 import net.minecraft.server.packs.PackType;
@@ -71,7 +75,9 @@ import static endorh.lazulib.text.TextUtil.ttc;
 import static net.minecraft.commands.Commands.argument;
 import static net.minecraft.commands.Commands.literal;
 import static net.minecraft.commands.arguments.EntityArgument.getPlayer;
+import static net.minecraft.commands.arguments.EntityArgument.getPlayers;
 import static net.minecraft.commands.arguments.EntityArgument.player;
+import static net.minecraft.commands.arguments.EntityArgument.players;
 
 @EventBusSubscriber(modid = AerobaticElytra.MOD_ID)
 public class AerobaticElytraCommand {
@@ -143,6 +149,15 @@ public class AerobaticElytraCommand {
 								d.targetPlayer = player.getUUID();
 							} else d.targetPlayer = null;
 						}))))
+			     .then(
+					 literal("record")
+					   .then(literal("start").then(
+							argument("targets", players()).executes(AerobaticElytraCommand::startRecording)))
+					   .then(literal("stop").then(
+							argument("targets", players()).executes(AerobaticElytraCommand::stopRecording)))
+					   .then(literal("save").then(
+							argument("targets", players()).executes(AerobaticElytraCommand::saveRecording))))
+			     .then(literal("weather").executes(AerobaticElytraCommand::weatherRegions))
 		  ).then(
 			   literal("ability").then(
 				  literal("get").then(
@@ -463,6 +478,60 @@ public class AerobaticElytraCommand {
 		}
 	}
 	
+	public static int startRecording(CommandContext<CommandSourceStack> cc) throws CommandSyntaxException {
+		final Collection<ServerPlayer> players = getPlayers(cc, "targets");
+		for (ServerPlayer player : players)
+			FlightRecording.start(player);
+		cc.getSource().sendSuccess(() ->
+		  ttc("commands.aerobaticelytra.debug.record.start.success", players.size()), true);
+		return players.size();
+	}
+	
+	public static int stopRecording(CommandContext<CommandSourceStack> cc) throws CommandSyntaxException {
+		int count = 0;
+		for (ServerPlayer player : getPlayers(cc, "targets"))
+			if (FlightRecording.stop(player)) count++;
+		final int stopped = count;
+		cc.getSource().sendSuccess(() ->
+		  ttc("commands.aerobaticelytra.debug.record.stop.success", stopped), true);
+		return stopped;
+	}
+	
+	public static int saveRecording(CommandContext<CommandSourceStack> cc) throws CommandSyntaxException {
+		final CommandSourceStack source = cc.getSource();
+		int count = 0;
+		try {
+			for (ServerPlayer player : getPlayers(cc, "targets"))
+				if (FlightRecording.save(player) != null) count++;
+		} catch (IOException e) {
+			LOGGER.error("Error saving flight recording", e);
+			source.sendFailure(ttc(
+			  "commands.aerobaticelytra.debug.record.save.failure", e.getLocalizedMessage()));
+			return -1;
+		}
+		if (count == 0) {
+			source.sendFailure(ttc("commands.aerobaticelytra.debug.record.save.empty"));
+			return 0;
+		}
+		final int saved = count;
+		final Path folder = FlightRecording.getRecordingsFolder(source.getServer());
+		source.sendSuccess(() -> ttc(
+		  "commands.aerobaticelytra.debug.record.save.success", saved, stc(folder.toString())), true);
+		return saved;
+	}
+	
+	public static int weatherRegions(CommandContext<CommandSourceStack> cc) {
+		final CommandSourceStack source = cc.getSource();
+		final ServerLevel level = source.getLevel();
+		final LevelWeather weather = WeatherData.levelWeather.get(level);
+		final int active = weather != null? weather.getActiveRegionCount() : 0;
+		final int sleeping = weather != null? weather.getSleepingRegionCount() : 0;
+		source.sendSuccess(() -> ttc(
+		  "commands.aerobaticelytra.debug.weather.regions",
+		  stc(level.dimension().location().toString()), active, sleeping), false);
+		return active;
+	}
+	
 	public static int listPacks(CommandContext<CommandSourceStack> context) {
 		CommandSourceStack source = context.getSource();
 		final List<BundledDatapack> packs = getAvailablePacks(source)
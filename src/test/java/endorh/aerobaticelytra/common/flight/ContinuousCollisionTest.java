@@ -0,0 +1,121 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.common.flight.ContinuousCollision.ShapeReader;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.Shapes.DoubleLineConsumer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Slides of a flyer sized box against a one block thick wall, without
+ * a level<br>
+ * The wall fills the blocks at {@code x = 10}, and is read through a
+ * {@link WallReader}.
+ */
+class ContinuousCollisionTest {
+	private static final int WALL = 10;
+	private static final double SIZE = 0.6D;
+	private static final double EPSILON = 1E-6D;
+	
+	private final ContinuousCollision collision = new ContinuousCollision(
+	  new WallReader(Integer.MIN_VALUE, Integer.MAX_VALUE));
+	
+	private static AABB box(double x, double y, double z) {
+		return new AABB(x, y, z, x + SIZE, y + SIZE, z + SIZE);
+	}
+	
+	/**
+	 * Slide a box like {@link ContinuousCollision#move}
+	 */
+	private AABB slide(AABB box, double x, double y, double z) {
+		return slide(box, x, y, z, collision);
+	}
+	
+	private static AABB slide(AABB box, double x, double y, double z, ContinuousCollision collision) {
+		collision.startSlide(x, y, z);
+		int steps = 0;
+		while (collision.nextSlide(null, null, box)) {
+			box = box.move(collision.getStep());
+			assertTrue(++steps <= 4, "Too many slides");
+		}
+		return move(box, collision.getRest(), collision);
+	}
+	
+	/**
+	 * Move a box one axis at a time, stopping each axis at its first
+	 * contact, like vanilla movement
+	 */
+	private static AABB move(AABB box, Vec3 motion, ContinuousCollision collision) {
+		box = box.move(0D, motion.y * collision.sweep(null, null, box, new Vec3(0D, motion.y, 0D)), 0D);
+		box = box.move(motion.x * collision.sweep(null, null, box, new Vec3(motion.x, 0D, 0D)), 0D, 0D);
+		return box.move(0D, 0D, motion.z * collision.sweep(null, null, box, new Vec3(0D, 0D, motion.z)));
+	}
+	
+	@Test void stopsAtWallHeadOn() {
+		final AABB box = slide(box(0D, 64D, 0D), 25D, 0D, 0D);
+		assertEquals(WALL, box.maxX, EPSILON);
+		assertEquals(0D, box.minZ, EPSILON);
+	}
+	
+	@Test void slidesAlongWall() {
+		final AABB box = slide(box(0D, 64D, 0D), 20D, 0D, 15D);
+		assertEquals(WALL, box.maxX, EPSILON);
+		// The motion along the wall is kept
+		assertEquals(15D, box.minZ, EPSILON);
+		assertEquals(64D, box.minY, EPSILON);
+	}
+	
+	@Test void slidesFromTouchingWall() {
+		final AABB box = slide(box(WALL - SIZE, 64D, 0D), 20D, -3D, -15D);
+		assertEquals(WALL, box.maxX, EPSILON);
+		assertEquals(-15D, box.minZ, EPSILON);
+		assertEquals(61D, box.minY, EPSILON);
+	}
+	
+	@Test void passesAwayFromWall() {
+		final AABB box = slide(box(WALL + 1D, 64D, 0D), 20D, 0D, 5D);
+		assertEquals(WALL + 21D, box.minX, EPSILON);
+		assertEquals(5D, box.minZ, EPSILON);
+	}
+	
+	@Test void stopsAtNarrowWall() {
+		// The wall is only crossed by the straight path, which vanilla movement doesn't follow
+		final ContinuousCollision collision = new ContinuousCollision(new WallReader(5, 8));
+		final AABB start = box(0D, 64D, 0D);
+		assertTrue(move(start, new Vec3(30D, 0D, 20D), collision).minX > WALL + 1);
+		
+		final double t = collision.sweep(null, null, start, new Vec3(30D, 0D, 20D));
+		assertNotNull(collision.getContactAxis());
+		assertEquals((WALL - SIZE) / 30D, t, EPSILON);
+		final AABB box = slide(start, 30D, 0D, 20D, collision);
+		assertEquals(WALL, box.maxX, EPSILON);
+		assertEquals(20D, box.minZ, EPSILON);
+	}
+	
+	/**
+	 * Reads a wall of full blocks at {@link #WALL}, between two z coordinates
+	 */
+	private static final class WallReader extends ShapeReader {
+		private final int minZ;
+		private final int maxZ;
+		
+		private WallReader(int minZ, int maxZ) {
+			this.minZ = minZ;
+			this.maxZ = maxZ;
+		}
+		
+		@Override void begin(Level world, Entity entity) {}
+		@Override void end() {}
+		
+		@Override boolean read(int x, int y, int z, boolean edge, DoubleLineConsumer boxes) {
+			// Full blocks don't have large collision shapes
+			if (edge) return false;
+			if (x == WALL && z >= minZ && z < maxZ) boxes.consume(0D, 0D, 0D, 1D, 1D, 1D);
+			return true;
+		}
+	}
+}
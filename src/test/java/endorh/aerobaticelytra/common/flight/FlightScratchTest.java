@@ -0,0 +1,166 @@
+package endorh.aerobaticelytra.common.flight;
+
+import endorh.aerobaticelytra.client.trail.AerobaticTrail.Rockets;
+import endorh.aerobaticelytra.common.flight.physics.FlightFixtures;
+import endorh.aerobaticelytra.common.flight.physics.FlightInput;
+import endorh.aerobaticelytra.common.flight.physics.FlightKernel;
+import endorh.aerobaticelytra.common.flight.physics.FlightProfile;
+import endorh.aerobaticelytra.common.flight.physics.FlightState;
+import endorh.aerobaticelytra.common.flight.physics.RotationIntegrator;
+import endorh.lazulib.math.Vec3d;
+import endorh.lazulib.math.Vec3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test of the per-thread {@link FlightScratch}<br>
+ * Many threads fly the same scripted flight at once, running every
+ * user of the scratch state (the flight kernel, the rotation and camera
+ * interpolation, and the trail rockets), and must get bit-for-bit the
+ * same results as a single thread.
+ */
+class FlightScratchTest {
+	private static final int THREADS = 16;
+	private static final int ROUNDS = 8;
+	private static final int STEPS = 4_000;
+	private static final int FRAMES = 3;
+	private static final int BOUNCE_PERIOD = 150;
+	
+	/**
+	 * Fly the scripted flight with the scratch of the current thread
+	 * @return The digest of every step, followed by the bits of the last state
+	 */
+	private static long[] fly(FlightProfile profile) {
+		final FlightScratch scratch = FlightScratch.get();
+		final FlightState state = FlightFixtures.start(scratch.state);
+		final FlightInput input = scratch.input;
+		final RotationIntegrator integrator = new RotationIntegrator();
+		final VectorBase rotationBase = new VectorBase();
+		final VectorBase cameraBase = new VectorBase();
+		final VectorBase preBounceBase = new VectorBase();
+		final VectorBase posBounceBase = new VectorBase();
+		final Vec3f bounceAxis = new Vec3f(0.3F, 0.9F, -0.3F);
+		final Vec3d lastPos = Vec3d.ZERO.get();
+		final Vec3d pos = Vec3d.ZERO.get();
+		final float[] spherical = new float[3];
+		final float[] distance = new float[3];
+		rotationBase.update(30F, -10F, 0F);
+		bounceAxis.unitary();
+		long lastBounce = -BOUNCE_PERIOD;
+		long digest = 0L;
+		for (int i = 0; i < STEPS; i++) {
+			FlightFixtures.input(input, i).setBase(rotationBase);
+			FlightKernel.step(state, input, profile);
+			digest = FlightFixtures.digest(digest, state);
+			
+			// Several frames per tick, like AerobaticFlight#applyRotationAcceleration
+			for (int f = 1; f <= FRAMES; f++) {
+				final double time = i + f / (double) FRAMES;
+				final int steps = integrator.advance(time, rotationBase);
+				if (steps > 0) {
+					final Vec3f wind = scratch.angularWindVec;
+					wind.set(input.windX, input.windY * 10F, input.windZ);
+					integrator.integrate(
+					  rotationBase, steps, state.motionX, state.motionY, state.motionZ,
+					  state.tiltPitch, state.tiltRoll, state.tiltYaw,
+					  wind.x, wind.y, wind.z, input.inWater);
+				}
+				final long now = i * 50L + f * 50L / FRAMES;
+				if (i % BOUNCE_PERIOD == 0 && f == 1) {
+					preBounceBase.set(cameraBase);
+					posBounceBase.set(cameraBase);
+					posBounceBase.mirror(bounceAxis);
+					lastBounce = now;
+				}
+				AerobaticFlight.interpolateCameraBase(
+				  integrator, rotationBase, preBounceBase, posBounceBase,
+				  now - lastBounce, cameraBase);
+				cameraBase.toSpherical(spherical[0], spherical);
+				cameraBase.distance(rotationBase, distance);
+				digest = digest(digest, cameraBase, spherical, distance);
+			}
+			
+			// Trail segment, like AerobaticTrail#addParticles
+			lastPos.set(pos);
+			pos.x += state.motionX;
+			pos.y += state.motionY;
+			pos.z += state.motionZ;
+			final Rockets rockets = FlightScratch.get().rockets;
+			rockets.base.set(cameraBase);
+			rockets.prevBase.set(preBounceBase);
+			rockets.place(lastPos, pos, state.tiltYaw, state.tiltPitch, state.tiltRoll);
+			digest = digest(
+			  digest, rockets.left, rockets.right, rockets.centerLeft, rockets.centerRight,
+			  rockets.leftTarget, rockets.rightTarget,
+			  rockets.centerLeftTarget, rockets.centerRightTarget);
+		}
+		final int[] bits = FlightFixtures.bits(state);
+		final long[] result = new long[bits.length + 1];
+		result[0] = digest;
+		for (int i = 0; i < bits.length; i++)
+			result[i + 1] = bits[i];
+		return result;
+	}
+	
+	private static long digest(long hash, VectorBase base, float[]... values) {
+		hash = hash * 0x100000001B3L ^ Float.floatToRawIntBits(base.getQuaternionW());
+		hash = hash * 0x100000001B3L ^ Float.floatToRawIntBits(base.getQuaternionX());
+		hash = hash * 0x100000001B3L ^ Float.floatToRawIntBits(base.getQuaternionY());
+		hash = hash * 0x100000001B3L ^ Float.floatToRawIntBits(base.getQuaternionZ());
+		for (float[] array: values) for (float v: array)
+			hash = hash * 0x100000001B3L ^ Float.floatToRawIntBits(v);
+		return hash;
+	}
+	
+	private static long digest(long hash, Vec3d... vectors) {
+		for (Vec3d v: vectors) {
+			hash = hash * 0x100000001B3L ^ Double.doubleToRawLongBits(v.x);
+			hash = hash * 0x100000001B3L ^ Double.doubleToRawLongBits(v.y);
+			hash = hash * 0x100000001B3L ^ Double.doubleToRawLongBits(v.z);
+		}
+		return hash;
+	}
+	
+	@Test void scratchIsConfinedToItsThread() throws Exception {
+		final FlightScratch scratch = FlightScratch.get();
+		assertSame(scratch, FlightScratch.get());
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertNotSame(scratch, executor.submit(FlightScratch::get).get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test void concurrentFlightsMatchSingleThread() throws Exception {
+		final FlightProfile profile = FlightFixtures.profile();
+		final long[] expected = fly(profile);
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+			final List<Future<List<long[]>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) futures.add(executor.submit(() -> {
+				final List<long[]> results = new ArrayList<>();
+				for (int r = 0; r < ROUNDS; r++) {
+					// Start every round together, so the threads interleave
+					barrier.await();
+					results.add(fly(profile));
+				}
+				return results;
+			}));
+			for (Future<List<long[]>> future: futures)
+				for (long[] result: future.get())
+					assertArrayEquals(expected, result);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
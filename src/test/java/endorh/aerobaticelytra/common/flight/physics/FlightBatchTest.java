@@ -0,0 +1,180 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.VectorBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * {@link FlightBatch} must match {@link FlightKernel#step} exactly,
+ * whether stepped serially, in concurrent ranges, or on a pool with
+ * rotations
+ */
+class FlightBatchTest {
+	private static final int FLYERS = 257;
+	private static final int STEPS = 2_000;
+	private static final int THREADS = 4;
+	
+	/**
+	 * Each flyer runs the scripted flight at its own offset
+	 */
+	private static FlightInput input(FlightInput in, int flyer, int step) {
+		return FlightFixtures.input(in, step + flyer * 37);
+	}
+	
+	private static int[][] flyKernel(FlightProfile profile) {
+		final FlightState state = new FlightState();
+		final FlightInput in = new FlightInput();
+		final int[][] result = new int[FLYERS][];
+		for (int f = 0; f < FLYERS; f++) {
+			FlightFixtures.start(state);
+			for (int i = 0; i < STEPS; i++)
+				FlightKernel.step(state, input(in, f, i), profile);
+			result[f] = FlightFixtures.bits(state);
+		}
+		return result;
+	}
+	
+	private static int[][] flyBatch(FlightProfile profile, ExecutorService executor) throws Exception {
+		final FlightBatch batch = new FlightBatch();
+		final FlightState[] states = new FlightState[FLYERS];
+		final FlightInput in = new FlightInput();
+		for (int f = 0; f < FLYERS; f++)
+			states[f] = FlightFixtures.start(new FlightState());
+		for (int i = 0; i < STEPS; i++) {
+			batch.clear();
+			for (int f = 0; f < FLYERS; f++)
+				batch.add(states[f], input(in, f, i));
+			if (executor != null) {
+				final List<Future<?>> futures = new ArrayList<>();
+				final int chunk = (FLYERS + THREADS - 1) / THREADS;
+				for (int from = 0; from < FLYERS; from += chunk) {
+					final int start = from, end = Math.min(FLYERS, from + chunk);
+					futures.add(executor.submit(() -> batch.step(start, end, profile)));
+				}
+				for (Future<?> future: futures) future.get();
+			} else batch.step(profile);
+			for (int f = 0; f < FLYERS; f++)
+				batch.get(f, states[f]);
+		}
+		final int[][] result = new int[FLYERS][];
+		for (int f = 0; f < FLYERS; f++)
+			result[f] = FlightFixtures.bits(states[f]);
+		return result;
+	}
+	
+	private static VectorBase startBase(int flyer) {
+		final VectorBase base = new VectorBase();
+		base.update(flyer * 7F, flyer % 60 - 30F, flyer * 11F);
+		return base;
+	}
+	
+	/**
+	 * Bits of the rotation of a flyer, including the base stored by its
+	 * integrator, through an interpolation between the last two steps
+	 */
+	private static int[] rotationBits(VectorBase base, RotationIntegrator integrator) {
+		final VectorBase frame = new VectorBase();
+		integrator.advance(STEPS - 1 + 0.6D, base);
+		integrator.interpolate(base, frame);
+		return new int[] {
+		  Float.floatToRawIntBits(base.getQuaternionW()), Float.floatToRawIntBits(base.getQuaternionX()),
+		  Float.floatToRawIntBits(base.getQuaternionY()), Float.floatToRawIntBits(base.getQuaternionZ()),
+		  Float.floatToRawIntBits(frame.getQuaternionW()), Float.floatToRawIntBits(frame.getQuaternionX()),
+		  Float.floatToRawIntBits(frame.getQuaternionY()), Float.floatToRawIntBits(frame.getQuaternionZ())};
+	}
+	
+	private static int[][] flyKernelRotating(FlightProfile profile) {
+		final FlightState state = new FlightState();
+		final FlightInput in = new FlightInput();
+		final int[][] result = new int[FLYERS * 2][];
+		for (int f = 0; f < FLYERS; f++) {
+			FlightFixtures.start(state);
+			final VectorBase base = startBase(f);
+			final RotationIntegrator integrator = new RotationIntegrator();
+			for (int i = 0; i < STEPS; i++) {
+				final int steps = integrator.advance(i, base);
+				input(in, f, i);
+				integrator.integrate(
+				  base, steps, state.motionX, state.motionY, state.motionZ,
+				  state.tiltPitch, state.tiltRoll, state.tiltYaw, 0.1F, -0.2F, 0.3F, in.inWater);
+				in.setBase(base);
+				FlightKernel.step(state, in, profile);
+			}
+			result[f * 2] = FlightFixtures.bits(state);
+			result[f * 2 + 1] = rotationBits(base, integrator);
+		}
+		return result;
+	}
+	
+	private static int[][] flyBatchRotating(FlightProfile profile, ForkJoinPool pool) {
+		final FlightBatch batch = new FlightBatch();
+		final FlightState[] states = new FlightState[FLYERS];
+		final VectorBase[] bases = new VectorBase[FLYERS];
+		final RotationIntegrator[] integrators = new RotationIntegrator[FLYERS];
+		final FlightInput in = new FlightInput();
+		for (int f = 0; f < FLYERS; f++) {
+			states[f] = FlightFixtures.start(new FlightState());
+			bases[f] = startBase(f);
+			integrators[f] = new RotationIntegrator();
+		}
+		final VectorBase before = new VectorBase();
+		for (int i = 0; i < STEPS; i++) {
+			batch.clear();
+			for (int f = 0; f < FLYERS; f++) {
+				final int steps = integrators[f].advance(i, bases[f]);
+				final int b = batch.add(states[f], input(in, f, i));
+				batch.setRotation(b, bases[f], integrators[f], steps, 0.1F, -0.2F, 0.3F);
+			}
+			before.set(bases[i % FLYERS]);
+			batch.step(profile, pool, 16);
+			// Workers must not touch the flyers until the batch is committed
+			assertArrayEquals(
+			  new float[] {before.getQuaternionW(), before.getQuaternionX(),
+			               before.getQuaternionY(), before.getQuaternionZ()},
+			  new float[] {bases[i % FLYERS].getQuaternionW(), bases[i % FLYERS].getQuaternionX(),
+			               bases[i % FLYERS].getQuaternionY(), bases[i % FLYERS].getQuaternionZ()});
+			batch.commit();
+			for (int f = 0; f < FLYERS; f++)
+				batch.get(f, states[f]);
+		}
+		final int[][] result = new int[FLYERS * 2][];
+		for (int f = 0; f < FLYERS; f++) {
+			result[f * 2] = FlightFixtures.bits(states[f]);
+			result[f * 2 + 1] = rotationBits(bases[f], integrators[f]);
+		}
+		return result;
+	}
+	
+	@Test void batchMatchesKernel() throws Exception {
+		final FlightProfile profile = FlightFixtures.profile();
+		assertArrayEquals(flyKernel(profile), flyBatch(profile, null));
+	}
+	
+	@Test void concurrentRangesMatchKernel() throws Exception {
+		final FlightProfile profile = FlightFixtures.profile();
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			assertArrayEquals(flyKernel(profile), flyBatch(profile, executor));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test void pooledRotationsMatchKernel() {
+		final FlightProfile profile = FlightFixtures.profile();
+		final ForkJoinPool pool = new ForkJoinPool(THREADS);
+		try {
+			assertArrayEquals(flyKernelRotating(profile), flyBatchRotating(profile, pool));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+/**
+ * Deterministic flight inputs for tests and benchmarks<br>
+ * Coefficients match the default config values, and inputs follow a
+ * scripted flight that exercises boosting, braking, water and wind,
+ * so the kernel can be run without Minecraft.
+ */
+public final class FlightFixtures {
+	private FlightFixtures() {}
+	
+	/**
+	 * Coefficients of the default config
+	 */
+	public static FlightCoefficients coefficients() {
+		final FlightCoefficients c = new FlightCoefficients();
+		c.propMin = 0F;
+		c.propMax = 2.4F * 0.05F;
+		c.propAccStrength = c.propMax / 20F;
+		c.brakingEnabled = true;
+		c.brakeMaxTimeTicks = 2F * 20F;
+		c.brakeFriction = 0.8F;
+		c.brakeAddedGravity = 2F * 0.05F;
+		c.tiltRangePondered = 7F * 7F + 9F * 9F + 0.5F * 0.7F * 0.7F;
+		c.gravityMultiplier = 0.8F;
+		c.glideMultiplier = 1F;
+		c.frictionBase = 0.95F;
+		c.frictionAngular = 0.94F;
+		c.frictionWater = 0.85F;
+		c.frictionWaterNerf = 0.78F;
+		c.motorlessFriction = 0.99F;
+		c.motorlessGravity = 1.4F * 0.05F;
+		c.inertia = 0.15F;
+		c.speedCap = 200F * 0.05F;
+		return c;
+	}
+	
+	public static FlightProfile profile() {
+		return FlightProfile.compile(coefficients());
+	}
+	
+	/**
+	 * Reset a state to a flyer that just took off
+	 */
+	public static FlightState start(FlightState s) {
+		s.set(new FlightState());
+		s.setMotion(0.4D, 0.2D, 0.1D);
+		return s;
+	}
+	
+	/**
+	 * Fill the inputs of a step of the scripted flight<br>
+	 * Only uses {@link StrictMath}, so inputs are the same in every thread
+	 */
+	public static FlightInput input(FlightInput in, int step) {
+		final double t = step * 0.05D;
+		final double yaw = t * 0.3D, pitch = 0.6D * StrictMath.sin(t * 0.7D);
+		final float cosPitch = (float) StrictMath.cos(pitch);
+		in.lookX = (float) -StrictMath.sin(yaw) * cosPitch;
+		in.lookY = (float) -StrictMath.sin(pitch);
+		in.lookZ = (float) StrictMath.cos(yaw) * cosPitch;
+		in.normalX = (float) -StrictMath.sin(yaw) * (float) StrictMath.sin(pitch);
+		in.normalY = cosPitch;
+		in.normalZ = (float) StrictMath.cos(yaw) * (float) StrictMath.sin(pitch);
+		in.gravity = 0.08F;
+		final int phase = step % 400;
+		in.inWater = phase >= 360;
+		in.crouching = phase >= 200 && phase < 240;
+		in.sprinting = phase < 120;
+		in.jumping = phase % 97 == 0;
+		in.hasTravelInput = true;
+		in.travelZ = phase < 160? 1F : phase < 280? 0F : -1F;
+		in.speedAbility = 1F;
+		in.aquaticAbility = 0.5F;
+		in.useWeather = phase >= 100 && phase < 300;
+		in.setWind(
+		  0.02F * (float) StrictMath.cos(t), 0.005F * (float) StrictMath.sin(t * 3D),
+		  0.02F * (float) StrictMath.sin(t));
+		in.rainAcc = in.useWeather? -0.01F : 0F;
+		in.speedCapped = true;
+		in.inertia = true;
+		return in;
+	}
+	
+	/**
+	 * Raw bits of every field of a state, to compare states exactly
+	 */
+	public static int[] bits(FlightState s) {
+		return new int[] {
+		  Float.floatToRawIntBits(s.motionX), Float.floatToRawIntBits(s.motionY),
+		  Float.floatToRawIntBits(s.motionZ), Float.floatToRawIntBits(s.prevMotionX),
+		  Float.floatToRawIntBits(s.prevMotionY), Float.floatToRawIntBits(s.prevMotionZ),
+		  Float.floatToRawIntBits(s.tiltPitch), Float.floatToRawIntBits(s.tiltRoll),
+		  Float.floatToRawIntBits(s.tiltYaw), Float.floatToRawIntBits(s.propStrength),
+		  Float.floatToRawIntBits(s.propAcc), s.boosted? 1 : 0,
+		  Float.floatToRawIntBits(s.boostHeat), s.braking? 1 : 0, s.brakeCooling? 1 : 0,
+		  Float.floatToRawIntBits(s.brakeStrength), Float.floatToRawIntBits(s.brakeHeat),
+		  Float.floatToRawIntBits(s.liftCut), s.events,
+		  Float.floatToRawIntBits(s.uncappedSpeed)};
+	}
+	
+	/**
+	 * Fold the bits of a state into a running hash, to compare whole runs
+	 */
+	public static long digest(long hash, FlightState s) {
+		for (int b: bits(s)) hash = hash * 0x100000001B3L ^ b;
+		return hash;
+	}
+}
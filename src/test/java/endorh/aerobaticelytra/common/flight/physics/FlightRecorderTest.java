@@ -0,0 +1,70 @@
+package endorh.aerobaticelytra.common.flight.physics;
+
+import endorh.aerobaticelytra.common.flight.physics.FlightReplay.Report;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderTest {
+	private static final int CAPACITY = 64;
+	
+	/**
+	 * Fly the scripted flight, recording every step
+	 */
+	private static void fly(FlightRecorder recorder, FlightProfile profile, int from, int to) {
+		final FlightState state = FlightFixtures.start(new FlightState());
+		final FlightState pre = new FlightState();
+		final FlightInput in = new FlightInput();
+		for (int i = from; i < to; i++) {
+			FlightFixtures.input(in, i);
+			pre.set(state);
+			FlightKernel.step(state, in, profile);
+			recorder.record(i, profile, pre, in, state);
+		}
+	}
+	
+	private static FlightReplay save(FlightRecorder recorder) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		recorder.write(out);
+		return FlightReplay.read(new ByteArrayInputStream(out.toByteArray()));
+	}
+	
+	@Test void replayMatchesRecording() throws IOException {
+		final FlightRecorder recorder = new FlightRecorder(CAPACITY);
+		fly(recorder, FlightFixtures.profile(), 0, CAPACITY * 3 / 2);
+		assertEquals(CAPACITY, recorder.size());
+		final FlightReplay replay = save(recorder);
+		assertEquals(CAPACITY, replay.size());
+		assertEquals(CAPACITY / 2, replay.getTick(0));
+		final Report report = replay.run(FlightReplay.DEFAULT_TOLERANCE, 1);
+		assertEquals(0, report.divergentTicks, report::toString);
+	}
+	
+	@Test void profileChangeDiscardsRecords() throws IOException {
+		final FlightRecorder recorder = new FlightRecorder(CAPACITY);
+		final FlightCoefficients changed = FlightFixtures.coefficients();
+		changed.gravityMultiplier *= 2F;
+		changed.frictionBase = 0.9F;
+		final FlightProfile profile = FlightProfile.compile(changed);
+		fly(recorder, FlightFixtures.profile(), 0, 40);
+		fly(recorder, profile, 40, 50);
+		assertSame(profile, recorder.getProfile());
+		assertEquals(10, recorder.size());
+		
+		// Saved with the coefficients the records were flown with
+		final FlightReplay replay = save(recorder);
+		assertEquals(40, replay.getTick(0));
+		assertEquals(changed.gravityMultiplier, replay.getProfile().getCoefficients().gravityMultiplier);
+		assertEquals(changed.frictionBase, replay.getProfile().getCoefficients().frictionBase);
+		final Report report = replay.run(FlightReplay.DEFAULT_TOLERANCE, 1);
+		assertEquals(0, report.divergentTicks, report::toString);
+	}
+	
+	@Test void emptyRecorderCantBeWritten() {
+		assertThrows(IllegalStateException.class, () -> save(new FlightRecorder(CAPACITY)));
+	}
+}